@@ -0,0 +1,55 @@
+package com.rookies3.myspringbootlab.benchmark;
+
+import com.rookies3.myspringbootlab.entity.Book;
+import com.rookies3.myspringbootlab.entity.BookDetail;
+import com.rookies3.myspringbootlab.entity.Publisher;
+
+import java.time.LocalDate;
+
+/**
+ * 벤치마크에서 공통으로 사용하는 엔티티 샘플 데이터.
+ * 영속성 컨텍스트 없이 만든 객체이므로 지연 로딩 비용은 포함되지 않습니다.
+ */
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    static Publisher publisher(int bookCount) {
+        Publisher publisher = Publisher.builder()
+                .id(1L)
+                .name("Hanbit Media")
+                .establishedDate(LocalDate.of(1993, 6, 1))
+                .address("Seoul, Mapo-gu")
+                .build();
+        for (int i = 0; i < bookCount; i++) {
+            publisher.getBooks().add(book(i + 1L, publisher, false));
+        }
+        return publisher;
+    }
+
+    static Book book(long id, Publisher publisher, boolean withDetail) {
+        Book book = Book.builder()
+                .id(id)
+                .title("Clean Code " + id)
+                .author("Robert C. Martin")
+                .isbn(String.format("978%010d", id))
+                .price(33000)
+                .publishDate(LocalDate.of(2013, 12, 24))
+                .publisher(publisher)
+                .build();
+        if (withDetail) {
+            book.setBookDetail(BookDetail.builder()
+                    .id(id)
+                    .description("애자일 소프트웨어 장인 정신을 다룬 책입니다. ".repeat(8))
+                    .language("Korean")
+                    .pageCount(584)
+                    .publisher("인사이트")
+                    .coverImageUrl("https://example.com/covers/" + id + ".jpg")
+                    .edition("1st")
+                    .book(book)
+                    .build());
+        }
+        return book;
+    }
+}
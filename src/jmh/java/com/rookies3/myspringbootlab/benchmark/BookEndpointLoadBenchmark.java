@@ -0,0 +1,160 @@
+package com.rookies3.myspringbootlab.benchmark;
+
+import com.rookies3.myspringbootlab.MySpringBootLabApplication;
+import com.rookies3.myspringbootlab.entity.Isbn;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 도서 API 를 플랫폼 스레드 모드와 가상 스레드 모드로 각각 띄워 같은 부하를 주고 처리량/지연을 비교합니다.
+ * <p>
+ * JMH 벤치마크와 같은 benchmark 프로필 소스(src/jmh/java)에 있지만 JMH 가 아니라 main 으로 실행합니다.
+ * (IDE 또는 ./mvnw -q -Pbenchmark test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.rookies3.myspringbootlab.benchmark.BookEndpointLoadBenchmark)
+ * <pre>
+ * 인자: [profile=test] [concurrency=400] [requests=40000] [books=2000] [tomcatThreads=200]
+ * </pre>
+ * 기본 test 프로필은 인메모리 H2 를 사용하므로 DB 대기 시간이 거의 없습니다.
+ * 실제 차이를 보려면 profile=prod 로 MariaDB 에 대해 실행하세요. 캐시는 꺼서 매 요청이 DB 를 거치게 합니다.
+ */
+public class BookEndpointLoadBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        String profile = arg(args, 0, "test");
+        int concurrency = Integer.parseInt(arg(args, 1, "400"));
+        int requests = Integer.parseInt(arg(args, 2, "40000"));
+        int books = Integer.parseInt(arg(args, 3, "2000"));
+        String tomcatThreads = arg(args, 4, "200");
+
+        List<Result> results = new ArrayList<>();
+        for (boolean virtual : new boolean[]{false, true}) {
+            try (ConfigurableApplicationContext context = start(profile, virtual, tomcatThreads)) {
+                String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+                HttpClient client = HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .connectTimeout(Duration.ofSeconds(5))
+                        .build();
+                seed(client, baseUrl, books, virtual);
+                // 워밍업 후 측정
+                run(client, baseUrl, concurrency, Math.max(requests / 10, 1), books, virtual ? "virtual" : "platform");
+                results.add(run(client, baseUrl, concurrency, requests, books, virtual ? "virtual" : "platform"));
+            }
+        }
+
+        System.out.printf("%n%-10s %12s %10s %10s %10s %8s%n", "mode", "req/s", "p50(ms)", "p99(ms)", "max(ms)", "errors");
+        for (Result result : results) {
+            System.out.printf("%-10s %12.0f %10.2f %10.2f %10.2f %8d%n", result.mode, result.throughput,
+                    result.p50, result.p99, result.max, result.errors);
+        }
+    }
+
+    private static ConfigurableApplicationContext start(String profile, boolean virtual, String tomcatThreads) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.profiles.active=" + profile,
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtual,
+                "--server.tomcat.threads.max=" + tomcatThreads,
+                "--spring.jpa.show-sql=false",
+                "--spring.boot.admin.client.enabled=false",
+                "--logging.level.root=WARN",
+                // 캐시를 꺼서 모든 요청이 DB 를 거치도록 합니다.
+                "--book.cache.lookup-maximum-size=0",
+                "--book.cache.search-maximum-size=0",
+                "--book.cache.json-maximum-bytes=0B"));
+        if ("test".equals(profile)) {
+            args.add("--spring.datasource.url=jdbc:h2:mem:bench-" + (virtual ? "virtual" : "platform")
+                    + ";DB_CLOSE_DELAY=-1");
+            args.add("--spring.jpa.hibernate.ddl-auto=create-drop");
+        }
+        return new SpringApplicationBuilder(MySpringBootLabApplication.class).run(args.toArray(String[]::new));
+    }
+
+    private static void seed(HttpClient client, String baseUrl, int books, boolean virtual) throws Exception {
+        String suffix = virtual ? "v" : "p";
+        send(client, HttpRequest.newBuilder(URI.create(baseUrl + "/api/publishers"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("""
+                        {"name":"Bench Press %s","establishedDate":"2000-01-01","address":"Seoul"}
+                        """.formatted(suffix)))
+                .build());
+
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < books; i++) {
+            ndjson.append("""
+                    {"title":"Benchmark Book %d","author":"Author %d","isbn":"%s","price":10000,"publisher":1}
+                    """.formatted(i, i % 100, Isbn.withCheckDigit(String.format("979%09d", i))).strip()).append('\n');
+        }
+        send(client, HttpRequest.newBuilder(URI.create(baseUrl + "/api/books/import"))
+                .header("Content-Type", "application/x-ndjson")
+                .POST(HttpRequest.BodyPublishers.ofString(ndjson.toString()))
+                .build());
+    }
+
+    private static Result run(HttpClient client, String baseUrl, int concurrency, int requests,
+                              int books, String mode) throws InterruptedException {
+        long[] latencies = new long[requests];
+        AtomicInteger next = new AtomicInteger();
+        AtomicLong errors = new AtomicLong();
+
+        long started = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int worker = 0; worker < concurrency; worker++) {
+                executor.submit(() -> {
+                    int i;
+                    while ((i = next.getAndIncrement()) < requests) {
+                        long bookId = 1 + (i % books);
+                        String path = switch (i % 3) {
+                            case 0 -> "/api/books/" + bookId;
+                            case 1 -> "/api/books/search/title?title=Book%20" + (i % 10);
+                            default -> "/api/publishers/1/books?limit=20&after=" + (bookId - 1);
+                        };
+                        long begin = System.nanoTime();
+                        try {
+                            int status = send(client, HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build());
+                            if (status >= 400) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        latencies[i] = System.nanoTime() - begin;
+                    }
+                    return null;
+                });
+            }
+        }
+        long elapsed = System.nanoTime() - started;
+
+        Arrays.sort(latencies);
+        return new Result(mode,
+                requests / (elapsed / 1_000_000_000.0),
+                latencies[(int) (requests * 0.50)] / 1_000_000.0,
+                latencies[Math.min((int) (requests * 0.99), requests - 1)] / 1_000_000.0,
+                latencies[requests - 1] / 1_000_000.0,
+                errors.get());
+    }
+
+    private static int send(HttpClient client, HttpRequest request) throws Exception {
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private static String arg(String[] args, int index, String defaultValue) {
+        return args.length > index ? args[index] : defaultValue;
+    }
+
+    private record Result(String mode, double throughput, double p50, double p99, double max, long errors) {
+    }
+}
@@ -0,0 +1,126 @@
+package com.rookies3.myspringbootlab.benchmark;
+
+import com.rookies3.myspringbootlab.MySpringBootLabApplication;
+import com.rookies3.myspringbootlab.entity.Book;
+import com.rookies3.myspringbootlab.entity.BookDetail;
+import com.rookies3.myspringbootlab.entity.Isbn;
+import com.rookies3.myspringbootlab.repository.BookRepository;
+import com.rookies3.myspringbootlab.service.BookDescriptionMigrator;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 도서 상세 설명 압축 저장(book.compression.enabled)에 따른 findByIdWithBookDetail 비용.
+ * <p>
+ * 인메모리 H2 라 디스크/네트워크 I/O 는 지연 시간에 드러나지 않으므로, 절약되는 저장 크기는 Setup 에서
+ * /actuator/bookcompression 과 같은 통계(storedLength)로 출력합니다. 지연 시간과 -prof gc 의 호출당 할당량은
+ * 압축 해제에 드는 CPU/메모리 비용을 보여 줍니다. MariaDB 에서는 행 크기만큼 버퍼 풀/전송량이 줄어듭니다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DescriptionCompressionBenchmark {
+
+    private static final int BOOKS = 200;
+    private static final String[] WORDS = {"소프트웨어", "장인", "정신", "clean", "code", "refactoring",
+            "테스트", "design", "agile", "책", "개발자", "pattern", "구조", "architecture", "the", "of"};
+
+    @Param({"false", "true"})
+    private boolean compression;
+
+    @Param({"512", "4096", "16384"})
+    private int descriptionLength;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate readOnly;
+    private BookRepository bookRepository;
+    private long firstId;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(MySpringBootLabApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.profiles.active=test",
+                        "--spring.datasource.url=jdbc:h2:mem:compression-" + compression + "-" + descriptionLength
+                                + ";DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.generate_statistics=false",
+                        "--book.compression.enabled=" + compression,
+                        "--book.compression.threshold=256B",
+                        "--app.slow-query.enabled=false",
+                        "--book.search.index-enabled=false",
+                        "--spring.boot.admin.client.enabled=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.rookies3.myspringbootlab=WARN");
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        bookRepository = context.getBean(BookRepository.class);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        firstId = new TransactionTemplate(transactionManager).execute(status -> seed());
+        System.out.printf("%ncompression=%s descriptionLength=%d stored: %s%n", compression, descriptionLength,
+                context.getBean(BookDescriptionMigrator.class).stats());
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int findByIdWithBookDetail() {
+        long id = firstId + (next++ % BOOKS);
+        return readOnly.execute(status -> bookRepository.findByIdWithBookDetail(id)
+                .orElseThrow()
+                .getBookDetail()
+                .getDescription()
+                .length());
+    }
+
+    private long seed() {
+        Random random = new Random(42);
+        Long first = null;
+        for (int i = 0; i < BOOKS; i++) {
+            Book book = Book.builder()
+                    .title("Benchmark Book " + i)
+                    .author("Author " + i)
+                    .isbn(Isbn.withCheckDigit(String.format("979%09d", i)))
+                    .price(10000)
+                    .publishDate(LocalDate.of(2020, 1, 1))
+                    .build();
+            book.setBookDetail(BookDetail.builder()
+                    .description(prose(random, descriptionLength))
+                    .language("Korean")
+                    .pageCount(300)
+                    .book(book)
+                    .build());
+            Long id = bookRepository.save(book).getId();
+            if (first == null) {
+                first = id;
+            }
+        }
+        return first;
+    }
+
+    // 같은 문장을 반복하면 비현실적으로 잘 압축되므로 단어를 무작위로 섞어 만듭니다.
+    private static String prose(Random random, int length) {
+        StringBuilder text = new StringBuilder(length + 16);
+        while (text.length() < length) {
+            text.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+        }
+        return text.substring(0, length);
+    }
+}
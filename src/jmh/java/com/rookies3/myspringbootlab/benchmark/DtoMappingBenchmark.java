@@ -0,0 +1,63 @@
+package com.rookies3.myspringbootlab.benchmark;
+
+import com.rookies3.myspringbootlab.controller.dto.BookDTO;
+import com.rookies3.myspringbootlab.controller.dto.PublisherDTO;
+import com.rookies3.myspringbootlab.entity.Book;
+import com.rookies3.myspringbootlab.entity.Publisher;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 엔티티 → 응답 DTO 변환 비용.
+ * SimpleResponse.fromEntity(Publisher) 는 books 컬렉션 크기를 세므로 도서 수를 파라미터로 둡니다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DtoMappingBenchmark {
+
+    @Param({"0", "20"})
+    private int publisherBooks;
+
+    private Publisher publisher;
+    private Book book;
+    private Book bookWithoutDetail;
+    private PublisherDTO.SimpleResponse publisherResponse;
+
+    @Setup
+    public void setUp() {
+        publisher = BenchmarkFixtures.publisher(publisherBooks);
+        book = BenchmarkFixtures.book(1L, publisher, true);
+        bookWithoutDetail = BenchmarkFixtures.book(2L, publisher, false);
+        publisherResponse = PublisherDTO.SimpleResponse.fromEntity(publisher);
+    }
+
+    @Benchmark
+    public BookDTO.Response bookResponse() {
+        return BookDTO.Response.fromEntity(book);
+    }
+
+    @Benchmark
+    public BookDTO.Response bookResponseWithoutDetail() {
+        return BookDTO.Response.fromEntity(bookWithoutDetail);
+    }
+
+    @Benchmark
+    public BookDTO.Response bookResponseWithPrecomputedPublisher() {
+        return BookDTO.Response.fromEntity(book, publisherResponse);
+    }
+
+    @Benchmark
+    public PublisherDTO.SimpleResponse publisherSimpleResponse() {
+        return PublisherDTO.SimpleResponse.fromEntity(publisher);
+    }
+
+    @Benchmark
+    public PublisherDTO.SimpleResponse publisherSimpleResponseWithCount() {
+        return PublisherDTO.SimpleResponse.fromEntity(publisher, (long) publisherBooks);
+    }
+}
@@ -0,0 +1,53 @@
+package com.rookies3.myspringbootlab.benchmark;
+
+import com.rookies3.myspringbootlab.exception.BusinessException;
+import com.rookies3.myspringbootlab.exception.ErrorCode;
+import com.rookies3.myspringbootlab.exception.advice.ErrorObject;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 오류 응답 경로의 비용.
+ * ErrorCode.formatMessage 의 String.format, BusinessException 생성(스택 트레이스 포함),
+ * ErrorObject.getTimestamp 의 DateTimeFormatter 생성을 각각 측정합니다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ErrorPathBenchmark {
+
+    private final Long bookId = 42L;
+    private final String isbn = "9780132350884";
+    private ErrorObject errorObject;
+
+    @Setup
+    public void setUp() {
+        errorObject = new ErrorObject();
+        errorObject.setStatusCode(404);
+        errorObject.setMessage("Book not found with id: 42");
+    }
+
+    @Benchmark
+    public String formatResourceNotFound() {
+        return ErrorCode.RESOURCE_NOT_FOUND.formatMessage("Book", "id", bookId);
+    }
+
+    @Benchmark
+    public String formatIsbnDuplicate() {
+        return ErrorCode.ISBN_DUPLICATE.formatMessage(isbn);
+    }
+
+    @Benchmark
+    public BusinessException newBusinessException() {
+        return new BusinessException(ErrorCode.RESOURCE_NOT_FOUND, "Book", "id", bookId);
+    }
+
+    @Benchmark
+    public String errorObjectTimestamp() {
+        return errorObject.getTimestamp();
+    }
+}
@@ -0,0 +1,69 @@
+package com.rookies3.myspringbootlab.benchmark;
+
+import com.rookies3.myspringbootlab.controller.dto.BookDTO;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * BookDTO.Request 의 ISBN @Pattern 검증 비용.
+ * 정규식 자체의 비용과 Bean Validation 을 거친 비용(속성 하나 / 요청 전체)을 나눠서 측정합니다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IsbnValidationBenchmark {
+
+    // BookDTO.Request.isbn 의 @Pattern 과 같은 정규식
+    private static final Pattern ISBN_PATTERN =
+            Pattern.compile("^(?=(?:\\D*\\d){10}(?:(?:\\D*\\d){3})?$|(?:\\D*\\d){9}\\D*[Xx]$)[\\d-]*[\\dXx]$");
+
+    @Param({"9780132350884", "978-0-13-235088-4", "978-0-13-23508"})
+    private String isbn;
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private BookDTO.Request request;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        request = BookDTO.Request.builder()
+                .title("Clean Code")
+                .author("Robert C. Martin")
+                .isbn(isbn)
+                .price(33000)
+                .publisher(1L)
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public boolean regexOnly() {
+        return ISBN_PATTERN.matcher(isbn).matches();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<BookDTO.Request>> validateIsbnProperty() {
+        return validator.validateProperty(request, "isbn");
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<BookDTO.Request>> validateRequest() {
+        return validator.validate(request);
+    }
+}
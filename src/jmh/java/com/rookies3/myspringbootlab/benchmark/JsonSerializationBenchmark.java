@@ -0,0 +1,65 @@
+package com.rookies3.myspringbootlab.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.rookies3.myspringbootlab.controller.dto.BookDTO;
+import com.rookies3.myspringbootlab.controller.dto.PublisherDTO;
+import com.rookies3.myspringbootlab.entity.Publisher;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * 응답 DTO 의 Jackson 직렬화 비용.
+ * Spring MVC 와 같은 설정을 쓰도록 Jackson2ObjectMapperBuilder 로 ObjectMapper 를 만듭니다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter bookWriter;
+    private BookDTO.Response book;
+    private PublisherDTO.SimpleResponse publisher;
+    private List<BookDTO.Response> bookPage;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        bookWriter = objectMapper.writerFor(BookDTO.Response.class);
+
+        Publisher entity = BenchmarkFixtures.publisher(0);
+        publisher = PublisherDTO.SimpleResponse.fromEntity(entity, 20L);
+        book = BookDTO.Response.fromEntity(BenchmarkFixtures.book(1L, entity, true), publisher);
+        bookPage = LongStream.rangeClosed(1, 20)
+                .mapToObj(id -> BookDTO.Response.fromEntity(BenchmarkFixtures.book(id, entity, true), publisher))
+                .toList();
+    }
+
+    @Benchmark
+    public byte[] bookResponse() throws Exception {
+        return objectMapper.writeValueAsBytes(book);
+    }
+
+    @Benchmark
+    public byte[] bookResponseWithTypedWriter() throws Exception {
+        return bookWriter.writeValueAsBytes(book);
+    }
+
+    @Benchmark
+    public byte[] publisherSimpleResponse() throws Exception {
+        return objectMapper.writeValueAsBytes(publisher);
+    }
+
+    @Benchmark
+    public byte[] bookPageOf20() throws Exception {
+        return objectMapper.writeValueAsBytes(bookPage);
+    }
+}
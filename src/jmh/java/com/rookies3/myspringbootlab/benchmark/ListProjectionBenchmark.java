@@ -0,0 +1,137 @@
+package com.rookies3.myspringbootlab.benchmark;
+
+import com.rookies3.myspringbootlab.MySpringBootLabApplication;
+import com.rookies3.myspringbootlab.controller.dto.BookDTO;
+import com.rookies3.myspringbootlab.controller.dto.PublisherDTO;
+import com.rookies3.myspringbootlab.entity.Book;
+import com.rookies3.myspringbootlab.entity.BookDetail;
+import com.rookies3.myspringbootlab.entity.Isbn;
+import com.rookies3.myspringbootlab.entity.Publisher;
+import com.rookies3.myspringbootlab.repository.BookRepository;
+import com.rookies3.myspringbootlab.repository.PublisherRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 목록 조회 경로 비교 - 엔티티 fetch join 후 DTO 변환(이전 방식) vs 생성자 표현식 프로젝션(BookDTO.ListRow).
+ * <p>
+ * 인메모리 H2 로 애플리케이션 컨텍스트를 띄우고, 출판사 한 곳에 도서를 채운 뒤 출판사별 목록을 읽습니다.
+ * 두 경로 모두 서비스와 같은 읽기 전용 트랜잭션 안에서 실행하며, 출판사의 도서 수 집계는 양쪽에서 제외했습니다.
+ * 메모리 차이는 -prof gc 의 gc.alloc.rate.norm (호출당 할당 바이트) 으로 확인합니다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ListProjectionBenchmark {
+
+    private static final String ENTITY_QUERY = "SELECT b FROM Book b LEFT JOIN FETCH b.bookDetail " +
+            "LEFT JOIN FETCH b.publisher WHERE b.publisher.id = :publisherId ORDER BY b.id";
+
+    @Param({"20", "200", "1000"})
+    private int books;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate readOnly;
+    private EntityManager entityManager;
+    private BookRepository bookRepository;
+    private Long publisherId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(MySpringBootLabApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.profiles.active=test",
+                        "--spring.datasource.url=jdbc:h2:mem:list-projection-" + books + ";DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.generate_statistics=false",
+                        "--app.slow-query.enabled=false",
+                        "--book.search.index-enabled=false",
+                        "--spring.boot.admin.client.enabled=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.rookies3.myspringbootlab=WARN");
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(
+                context.getBean(EntityManagerFactory.class));
+        bookRepository = context.getBean(BookRepository.class);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        publisherId = new TransactionTemplate(transactionManager).execute(status -> seed());
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<BookDTO.Response> entityFetchJoin() {
+        return readOnly.execute(status -> {
+            List<Book> result = entityManager.createQuery(ENTITY_QUERY, Book.class)
+                    .setParameter("publisherId", publisherId)
+                    .getResultList();
+            PublisherDTO.SimpleResponse publisher = PublisherDTO.SimpleResponse.fromEntity(
+                    result.get(0).getPublisher(), (long) books);
+            return result.stream()
+                    .map(book -> BookDTO.Response.fromEntity(book, publisher))
+                    .toList();
+        });
+    }
+
+    @Benchmark
+    public List<BookDTO.Response> constructorProjection() {
+        return readOnly.execute(status -> {
+            List<BookDTO.ListRow> rows = bookRepository.findRowsByPublisherId(publisherId);
+            PublisherDTO.SimpleResponse publisher = rows.get(0).toPublisherResponse((long) books);
+            return rows.stream()
+                    .map(row -> row.toResponse(publisher))
+                    .toList();
+        });
+    }
+
+    private Long seed() {
+        Publisher publisher = context.getBean(PublisherRepository.class).save(Publisher.builder()
+                .name("Bench Press")
+                .establishedDate(LocalDate.of(2000, 1, 1))
+                .address("Seoul")
+                .build());
+        List<Book> entities = new ArrayList<>(books);
+        for (int i = 0; i < books; i++) {
+            Book book = Book.builder()
+                    .title("Benchmark Book " + i)
+                    .author("Author " + (i % 100))
+                    .isbn(Isbn.withCheckDigit(String.format("979%09d", i)))
+                    .price(10000)
+                    .publishDate(LocalDate.of(2020, 1, 1).plusDays(i))
+                    .publisher(publisher)
+                    .build();
+            book.setBookDetail(BookDetail.builder()
+                    .description("Description " + i)
+                    .language("Korean")
+                    .pageCount(300)
+                    .coverImageUrl("https://example.com/covers/" + i + ".jpg")
+                    .edition("1st")
+                    .book(book)
+                    .build());
+            entities.add(book);
+        }
+        bookRepository.saveAll(entities);
+        return publisher.getId();
+    }
+}
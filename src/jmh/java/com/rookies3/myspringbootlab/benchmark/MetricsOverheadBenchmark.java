@@ -0,0 +1,98 @@
+package com.rookies3.myspringbootlab.benchmark;
+
+import com.rookies3.myspringbootlab.config.MetricsConfig;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.aop.framework.ProxyFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 서비스/리포지토리 지연 시간 지표를 켰을 때 호출 한 번에 더해지는 비용.
+ * <p>
+ * plainProxy 와 timedProxy 의 차이가 @Timed(TimedAspect) 비용이고,
+ * timerRecordWithHistogram 은 리포지토리 타이머가 호출마다 하는 기록 작업(백분위 히스토그램 포함)의 비용입니다.
+ * 목표는 호출당 수 마이크로초 이하입니다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MetricsOverheadBenchmark {
+
+    public interface Lookup {
+        long find(long id);
+    }
+
+    public static class PlainLookup implements Lookup {
+        @Override
+        public long find(long id) {
+            return id * 31;
+        }
+    }
+
+    @Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
+    public static class TimedLookup implements Lookup {
+        @Override
+        public long find(long id) {
+            return id * 31;
+        }
+    }
+
+    private Lookup direct;
+    private Lookup plainProxy;
+    private Lookup timedProxy;
+    private Timer repositoryTimer;
+    private long id;
+
+    @Setup
+    public void setUp() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        direct = new PlainLookup();
+
+        ProxyFactory proxyFactory = new ProxyFactory(new PlainLookup());
+        proxyFactory.addInterface(Lookup.class);
+        plainProxy = (Lookup) proxyFactory.getProxy();
+
+        AspectJProxyFactory aspectJProxyFactory = new AspectJProxyFactory(new TimedLookup());
+        aspectJProxyFactory.addInterface(Lookup.class);
+        aspectJProxyFactory.addAspect(new TimedAspect(registry));
+        timedProxy = aspectJProxyFactory.getProxy();
+
+        repositoryTimer = Timer.builder(MetricsConfig.REPOSITORY_TIMER)
+                .tags("repository", "BookRepository", "method", "findByIdWithAllDetalis",
+                        "state", "SUCCESS", "exception", "None")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    @Benchmark
+    public long directCall() {
+        return direct.find(++id);
+    }
+
+    @Benchmark
+    public long plainProxy() {
+        return plainProxy.find(++id);
+    }
+
+    @Benchmark
+    public long timedProxy() {
+        return timedProxy.find(++id);
+    }
+
+    @Benchmark
+    public long timerRecordWithHistogram() {
+        long started = System.nanoTime();
+        long result = direct.find(++id);
+        repositoryTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        return result;
+    }
+}
@@ -0,0 +1,32 @@
+package com.rookies3.myspringbootlab.actuator;
+
+import com.rookies3.myspringbootlab.admission.AdmissionLimiters;
+import com.rookies3.myspringbootlab.property.AdmissionControlProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * /actuator/admission - 엔드포인트 분류(point, scan)별 현재 한도, 처리 중인 요청 수, 기준 지연, 수락/거절 수.
+ */
+@Component
+@Endpoint(id = "admission")
+@RequiredArgsConstructor
+public class AdmissionControlEndpoint {
+
+    private final AdmissionLimiters limiters;
+    private final AdmissionControlProperties properties;
+
+    @ReadOperation
+    public Map<String, Object> limiters() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", properties.isEnabled());
+        result.put("retryAfterSeconds", properties.getRetryAfter().toSeconds());
+        result.putAll(limiters.snapshot());
+        return result;
+    }
+}
@@ -0,0 +1,45 @@
+package com.rookies3.myspringbootlab.actuator;
+
+import com.rookies3.myspringbootlab.property.BookCompressionProperties;
+import com.rookies3.myspringbootlab.service.BookDescriptionMigrator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * /actuator/bookcompression - 도서 상세 설명 압축 현황과 기존 행 변환.
+ * <pre>
+ * GET  /actuator/bookcompression                                  압축된 행 수, 저장 크기
+ * POST /actuator/bookcompression                                  임계값 이상 평문 행을 압축 (book.compression.enabled=true 필요)
+ * POST /actuator/bookcompression {"direction":"decompress"}       압축된 행을 모두 평문으로
+ * </pre>
+ */
+@Component
+@Endpoint(id = "bookcompression")
+@RequiredArgsConstructor
+public class BookCompressionEndpoint {
+
+    private final BookDescriptionMigrator migrator;
+    private final BookCompressionProperties properties;
+
+    @ReadOperation
+    public Map<String, Object> stats() {
+        return migrator.stats();
+    }
+
+    @WriteOperation
+    public Object migrate(@Nullable String direction) {
+        if ("decompress".equalsIgnoreCase(direction)) {
+            return migrator.decompressAll();
+        }
+        if (!properties.isEnabled()) {
+            return Map.of("error", "book.compression.enabled is false, nothing to compress");
+        }
+        return migrator.compressExisting();
+    }
+}
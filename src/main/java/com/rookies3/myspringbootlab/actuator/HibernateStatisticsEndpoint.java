@@ -0,0 +1,168 @@
+package com.rookies3.myspringbootlab.actuator;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.*;
+
+/**
+ * /actuator/hibernate - Hibernate 통계 (세션, flush, 엔티티/컬렉션 로딩, 2차 캐시)와 HQL 별 실행 통계.
+ * <p>
+ * GET 은 현재 값을, DELETE 는 통계를 0 으로 초기화합니다. HQL 별 통계는 총 실행 시간이 긴 순서로 정렬하며
+ * ?limit= 로 개수를 정합니다. @Query 로 선언한 쿼리는 리포지토리 메서드 이름(예: BookRepository.findByIdWithAllDetalis)을 함께 보여줍니다.
+ * 수집 자체는 Hibernate 내부 카운터(LongAdder) 증가뿐이라 prod 에서도 켜 둘 수 있습니다. (hibernate.generate_statistics)
+ */
+@Component
+@Endpoint(id = "hibernate")
+public class HibernateStatisticsEndpoint {
+
+    private static final int DEFAULT_QUERY_LIMIT = 50;
+
+    private final Statistics statistics;
+    private final ListableBeanFactory beanFactory;
+    private volatile Map<String, String> repositoryMethodsByQuery;
+
+    public HibernateStatisticsEndpoint(EntityManagerFactory entityManagerFactory, ListableBeanFactory beanFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.beanFactory = beanFactory;
+    }
+
+    @ReadOperation
+    public Map<String, Object> statistics(@Nullable Integer limit) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("enabled", statistics.isStatisticsEnabled());
+        report.put("since", statistics.getStart());
+
+        report.put("sessions", section(
+                "opened", statistics.getSessionOpenCount(),
+                "closed", statistics.getSessionCloseCount(),
+                "transactions", statistics.getTransactionCount(),
+                "successfulTransactions", statistics.getSuccessfulTransactionCount(),
+                "flushes", statistics.getFlushCount(),
+                "connectionsObtained", statistics.getConnectCount(),
+                "statementsPrepared", statistics.getPrepareStatementCount(),
+                "optimisticFailures", statistics.getOptimisticFailureCount()));
+
+        report.put("entities", section(
+                "loads", statistics.getEntityLoadCount(),
+                "fetches", statistics.getEntityFetchCount(),
+                "inserts", statistics.getEntityInsertCount(),
+                "updates", statistics.getEntityUpdateCount(),
+                "deletes", statistics.getEntityDeleteCount()));
+
+        report.put("collections", section(
+                "loads", statistics.getCollectionLoadCount(),
+                "fetches", statistics.getCollectionFetchCount(),
+                "recreates", statistics.getCollectionRecreateCount(),
+                "updates", statistics.getCollectionUpdateCount(),
+                "removes", statistics.getCollectionRemoveCount()));
+
+        report.put("secondLevelCache", section(
+                "hits", statistics.getSecondLevelCacheHitCount(),
+                "misses", statistics.getSecondLevelCacheMissCount(),
+                "puts", statistics.getSecondLevelCachePutCount(),
+                "queryCacheHits", statistics.getQueryCacheHitCount(),
+                "queryCacheMisses", statistics.getQueryCacheMissCount(),
+                "queryCachePuts", statistics.getQueryCachePutCount()));
+
+        report.put("queries", section(
+                "executions", statistics.getQueryExecutionCount(),
+                "maxTimeMs", statistics.getQueryExecutionMaxTime(),
+                "slowest", statistics.getQueryExecutionMaxTimeQueryString(),
+                "planCacheHits", statistics.getQueryPlanCacheHitCount(),
+                "planCacheMisses", statistics.getQueryPlanCacheMissCount()));
+
+        report.put("perQuery", queries(limit != null ? limit : DEFAULT_QUERY_LIMIT));
+        return report;
+    }
+
+    @DeleteOperation
+    public void reset() {
+        statistics.clear();
+    }
+
+    private List<QueryReport> queries(int limit) {
+        Map<String, String> repositoryMethods = repositoryMethodsByQuery();
+        List<QueryReport> queries = new ArrayList<>();
+        for (String hql : statistics.getQueries()) {
+            QueryStatistics query = statistics.getQueryStatistics(hql);
+            if (query.getExecutionCount() == 0) {
+                continue;
+            }
+            queries.add(QueryReport.builder()
+                    .repositoryMethod(repositoryMethods.get(hql))
+                    .query(hql)
+                    .executions(query.getExecutionCount())
+                    .rows(query.getExecutionRowCount())
+                    .totalTimeMs(query.getExecutionTotalTime())
+                    .avgTimeMs(query.getExecutionAvgTimeAsDouble())
+                    .maxTimeMs(query.getExecutionMaxTime())
+                    .minTimeMs(query.getExecutionMinTime())
+                    .cacheHits(query.getCacheHitCount())
+                    .build());
+        }
+        queries.sort(Comparator.comparingLong(QueryReport::getTotalTimeMs).reversed());
+        return queries.size() > limit ? queries.subList(0, Math.max(limit, 0)) : queries;
+    }
+
+    // @Query 문자열 → "리포지토리.메서드" - 리포지토리 빈이 모두 만들어진 뒤 첫 조회 때 한 번만 계산합니다.
+    private Map<String, String> repositoryMethodsByQuery() {
+        if (repositoryMethodsByQuery == null) {
+            Map<String, String> methods = new HashMap<>();
+            Repositories repositories = new Repositories(beanFactory);
+            for (Class<?> domainType : repositories) {
+                repositories.getRepositoryInformationFor(domainType).ifPresent(information -> {
+                    Class<?> repositoryInterface = information.getRepositoryInterface();
+                    for (Method method : repositoryInterface.getMethods()) {
+                        Query query = method.getAnnotation(Query.class);
+                        if (query != null && !query.nativeQuery()) {
+                            methods.putIfAbsent(query.value(),
+                                    repositoryInterface.getSimpleName() + "." + method.getName());
+                        }
+                    }
+                });
+            }
+            repositoryMethodsByQuery = methods;
+        }
+        return repositoryMethodsByQuery;
+    }
+
+    private static Map<String, Object> section(Object... keyValues) {
+        Map<String, Object> section = new LinkedHashMap<>();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            section.put((String) keyValues[i], keyValues[i + 1]);
+        }
+        return section;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class QueryReport {
+        private String repositoryMethod;
+        private String query;
+        private long executions;
+        private long rows;
+        private long totalTimeMs;
+        private double avgTimeMs;
+        private long maxTimeMs;
+        private long minTimeMs;
+        private long cacheHits;
+    }
+}
@@ -0,0 +1,43 @@
+package com.rookies3.myspringbootlab.actuator;
+
+import com.rookies3.myspringbootlab.property.SlowQueryProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * /actuator/slowqueries - 최근 느린 SQL(과 샘플링된 SQL) 목록. DELETE 로 비웁니다.
+ */
+@Endpoint(id = "slowqueries")
+@RequiredArgsConstructor
+public class SlowQueryEndpoint {
+
+    private final SlowQueryProperties properties;
+    private final SlowQueryRecorder recorder;
+
+    @ReadOperation
+    public Map<String, Object> slowQueries(@Nullable Integer limit) {
+        List<SlowQueryRecorder.SlowQuery> queries = recorder.recent();
+        if (limit != null && limit >= 0 && queries.size() > limit) {
+            queries = queries.subList(0, limit);
+        }
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("thresholdMs", properties.getThreshold().toMillis());
+        report.put("sampleRate", properties.getSampleRate());
+        report.put("captured", recorder.getCaptured());
+        report.put("dropped", recorder.getDropped());
+        report.put("queries", queries);
+        return report;
+    }
+
+    @DeleteOperation
+    public void clear() {
+        recorder.clear();
+    }
+}
@@ -0,0 +1,106 @@
+package com.rookies3.myspringbootlab.actuator;
+
+import com.rookies3.myspringbootlab.property.SlowQueryProperties;
+import lombok.RequiredArgsConstructor;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * datasource-proxy 리스너 - 임계값을 넘었거나 샘플링에 걸린 SQL 만 SlowQueryRecorder 로 넘깁니다.
+ * 나머지 SQL 에는 시간 비교와 난수 한 번 외에 아무 일도 하지 않습니다.
+ */
+@RequiredArgsConstructor
+public class SlowQueryListener implements QueryExecutionListener {
+
+    private static final String SERVICE_PACKAGE = "com.rookies3.myspringbootlab.service.";
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    private final SlowQueryProperties properties;
+    private final SlowQueryRecorder recorder;
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsed = execInfo.getElapsedTime();
+        boolean slow = elapsed >= properties.getThreshold().toMillis();
+        if (!slow && !sampled()) {
+            return;
+        }
+
+        recorder.record(SlowQueryRecorder.SlowQuery.builder()
+                .executedAt(Instant.now())
+                .elapsedMillis(elapsed)
+                .slow(slow)
+                .success(execInfo.isSuccess())
+                .sql(queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; ")))
+                .parameters(parameters(queryInfoList))
+                .caller(caller())
+                .thread(Thread.currentThread().getName())
+                .rows(rows(execInfo.getResult()))
+                .batchSize(execInfo.getBatchSize())
+                .build());
+    }
+
+    private boolean sampled() {
+        double sampleRate = properties.getSampleRate();
+        return sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    private List<String> parameters(List<QueryInfo> queryInfoList) {
+        List<String> parameters = new ArrayList<>();
+        for (QueryInfo queryInfo : queryInfoList) {
+            for (List<ParameterSetOperation> operations : queryInfo.getParametersList()) {
+                parameters.add(operations.stream()
+                        .map(operation -> format(operation.getArgs()))
+                        .collect(Collectors.joining(", ", "[", "]")));
+            }
+        }
+        return parameters;
+    }
+
+    private String format(Object[] args) {
+        // args[0] 은 파라미터 인덱스(또는 이름), args[1] 은 값입니다.
+        String value = args.length > 1 ? String.valueOf(args[1]) : "?";
+        int max = properties.getMaxParameterLength();
+        return value.length() > max ? value.substring(0, max) + "..." : value;
+    }
+
+    // 기록 대상 SQL 에 대해서만 스택을 훑어 가장 가까운 서비스 클래스의 메서드를 찾습니다.
+    private static String caller() {
+        return STACK_WALKER.walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith(SERVICE_PACKAGE))
+                .filter(frame -> !frame.getClassName().contains("$$"))
+                .findFirst()
+                .map(frame -> frame.getClassName().substring(frame.getClassName().lastIndexOf('.') + 1)
+                        + "." + frame.getMethodName())
+                .orElse(null));
+    }
+
+    private static Integer rows(Object result) {
+        if (result instanceof Integer count) {
+            return count;
+        }
+        if (result instanceof Long count) {
+            return Math.toIntExact(count);
+        }
+        if (result instanceof int[] counts) {
+            int sum = 0;
+            for (int count : counts) {
+                sum += Math.max(count, 0);
+            }
+            return sum;
+        }
+        return null;
+    }
+}
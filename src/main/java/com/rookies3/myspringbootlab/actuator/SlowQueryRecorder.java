@@ -0,0 +1,146 @@
+package com.rookies3.myspringbootlab.actuator;
+
+import com.rookies3.myspringbootlab.property.SlowQueryProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 느린 SQL / 샘플링된 SQL 기록.
+ * <p>
+ * 요청 스레드는 제한된 크기의 큐에 offer 만 하고(가득 차면 버림), 기록 스레드 하나가 큐를 비우면서
+ * 로그(sql.slow)를 남기고 최근 N 건을 보관합니다. 요청 스레드가 로그 출력을 기다리는 일은 없습니다.
+ */
+@Slf4j
+public class SlowQueryRecorder {
+
+    private static final Logger SLOW_QUERY_LOG = LoggerFactory.getLogger("sql.slow");
+
+    private final SlowQueryProperties properties;
+    private final BlockingQueue<SlowQuery> buffer;
+    private final Deque<SlowQuery> history = new ArrayDeque<>();
+    private final AtomicLong captured = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private Thread writer;
+
+    public SlowQueryRecorder(SlowQueryProperties properties) {
+        this.properties = properties;
+        this.buffer = new ArrayBlockingQueue<>(Math.max(properties.getBufferCapacity(), 1));
+    }
+
+    @PostConstruct
+    public void start() {
+        writer = new Thread(this::drain, "slow-query-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        writer.interrupt();
+    }
+
+    // 요청 스레드에서 호출됩니다. 블로킹하지 않습니다.
+    public void record(SlowQuery query) {
+        if (buffer.offer(query)) {
+            captured.incrementAndGet();
+        } else {
+            dropped.incrementAndGet();
+        }
+    }
+
+    public long getCaptured() {
+        return captured.get();
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    // 최신 항목부터 반환합니다.
+    public List<SlowQuery> recent() {
+        synchronized (history) {
+            return new ArrayList<>(history);
+        }
+    }
+
+    public void clear() {
+        synchronized (history) {
+            history.clear();
+        }
+        captured.set(0);
+        dropped.set(0);
+    }
+
+    private void drain() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                SlowQuery query = buffer.poll(1, TimeUnit.SECONDS);
+                if (query == null) {
+                    continue;
+                }
+                write(query);
+                SlowQuery next;
+                while ((next = buffer.poll()) != null) {
+                    write(next);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                log.warn("Failed to record slow query", e);
+            }
+        }
+    }
+
+    private void write(SlowQuery query) {
+        if (query.isSlow()) {
+            SLOW_QUERY_LOG.warn("{} ms [{}] rows={} {} params={}", query.getElapsedMillis(), query.getCaller(),
+                    query.getRows(), query.getSql(), query.getParameters());
+        } else {
+            SLOW_QUERY_LOG.info("{} ms [{}] rows={} {} params={} (sampled)", query.getElapsedMillis(),
+                    query.getCaller(), query.getRows(), query.getSql(), query.getParameters());
+        }
+        synchronized (history) {
+            history.addFirst(query);
+            while (history.size() > properties.getHistorySize()) {
+                history.removeLast();
+            }
+        }
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class SlowQuery {
+        private Instant executedAt;
+        private long elapsedMillis;
+        // true: 임계값 초과, false: 샘플링으로 기록됨
+        private boolean slow;
+        private boolean success;
+        private String sql;
+        private List<String> parameters;
+        // SQL 을 실행한 서비스 메서드 (예: BookService.getBookById)
+        private String caller;
+        private String thread;
+        // UPDATE/INSERT/DELETE 의 영향받은 행 수 (SELECT 는 ResultSet 을 소비하지 않으므로 null)
+        private Integer rows;
+        private int batchSize;
+    }
+}
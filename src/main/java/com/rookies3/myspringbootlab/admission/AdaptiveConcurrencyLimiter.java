@@ -0,0 +1,211 @@
+package com.rookies3.myspringbootlab.admission;
+
+import com.rookies3.myspringbootlab.property.AdmissionControlProperties;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.LongSupplier;
+
+/**
+ * 완료된 요청의 지연 시간을 보고 동시 처리 한도를 조절하는 lock-free 리미터 (AIMD).
+ * <ul>
+ *     <li>획득은 처리 중인 수를 CAS 로 올리며, 한도에 닿아 있으면 기다리지 않고 바로 거절합니다.</li>
+ *     <li>완료된 요청 WINDOW 건마다 그 구간의 지연 p90 을 구하고, 구간 p90 의 지수 이동 평균을 기준 지연으로 삼습니다.</li>
+ *     <li>마지막 구간의 p90 이 기준 지연 x latencyTolerance 이하이고 한도의 절반 이상을 쓰고 있었다면
+ *     한도를 1/limit 만큼 늘립니다. 한도만큼 요청이 끝날 때마다 약 1 씩 늘어나는 셈입니다.</li>
+ *     <li>마지막 구간의 p90 이 기준보다 커졌거나 5xx 로 끝나면 한도에 backoffRatio 를 곱합니다. 직전 감소 이전에 시작된
+ *     요청은 줄어든 한도의 효과를 반영하지 못하므로, 한꺼번에 느려진 요청들이 한도를 연달아 깎지는 않습니다.</li>
+ * </ul>
+ * 요청 하나하나의 지연을 평균과 비교하지 않는 이유: 단건 조회는 대부분 캐시 적중(1ms 미만)이라 평균이 적중 쪽에 붙고,
+ * 평범한 DB 조회도 평균의 몇 배가 되어 부하와 무관하게 한도를 깎습니다. 구간 p90 은 적중/미스가 섞여 있어도 느린 쪽(미스)의
+ * 지연을 가리키므로, 기준과 비교해 차이가 벌어지는 것은 분포 전체가 느려졌을 때입니다.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    // 지연 p90 을 구하는 구간 크기 - 20 건 중 18 번째로 빠른 지연입니다.
+    private static final int WINDOW = 20;
+    private static final int PERCENTILE_INDEX = WINDOW * 9 / 10 - 1;
+    // 기준 지연 이동 평균의 가중치 1/BASELINE_WINDOWS (구간 25 개 = 요청 약 500 건)
+    // - 지속되는 지연 증가를 금방 기준으로 받아들이지 않도록 길게 둡니다.
+    private static final int BASELINE_WINDOWS = 25;
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final double latencyTolerance;
+    private final LongSupplier nanoClock;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    // 소수 한도를 double 비트로 저장합니다. 정수 부분이 실제로 허용하는 동시 요청 수입니다.
+    private final AtomicLong limit;
+    // 요청 순번 % WINDOW 자리에 지연을 기록합니다. 구간을 닫는 동안 다음 구간의 값이 일부 섞일 수 있지만 근사로 충분합니다.
+    private final AtomicLongArray window = new AtomicLongArray(WINDOW);
+    private final AtomicLong samples = new AtomicLong();
+    private final AtomicLong recentNanos = new AtomicLong();
+    private final AtomicLong baselineNanos = new AtomicLong();
+    // 마지막으로 닫은 구간의 p90 이 기준을 넘었는지 - 다음 구간을 닫을 때까지 유지합니다.
+    private volatile boolean congested;
+    private final AtomicLong lastDecreaseNanos;
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder decreases = new LongAdder();
+
+    public AdaptiveConcurrencyLimiter(String name, AdmissionControlProperties.Limit settings) {
+        this(name, settings, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(String name, AdmissionControlProperties.Limit settings, LongSupplier nanoClock) {
+        this.name = name;
+        this.minLimit = Math.max(1, settings.getMinLimit());
+        this.maxLimit = Math.max(minLimit, settings.getMaxLimit());
+        this.backoffRatio = settings.getBackoffRatio();
+        this.latencyTolerance = settings.getLatencyTolerance();
+        this.nanoClock = nanoClock;
+        int initialLimit = Math.min(maxLimit, Math.max(minLimit, settings.getInitialLimit()));
+        this.limit = new AtomicLong(Double.doubleToRawLongBits(initialLimit));
+        this.lastDecreaseNanos = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    // 자리가 없으면 null 을 돌려줍니다. 돌려받은 Permit 은 요청이 끝나면 반드시 release 해야 합니다.
+    public Permit tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= getLimit()) {
+                rejected.increment();
+                return null;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        accepted.increment();
+        return new Permit(nanoClock.getAsLong(), current + 1);
+    }
+
+    private void onComplete(Permit permit, long latencyNanos, boolean failed, boolean sampleLatency) {
+        inFlight.decrementAndGet();
+        if (!sampleLatency) {
+            return;
+        }
+        long index = samples.getAndIncrement();
+        window.set((int) (index % WINDOW), latencyNanos);
+        if (index % WINDOW == WINDOW - 1) {
+            closeWindow();
+        }
+        if (failed || congested) {
+            decrease(permit);
+        } else if (permit.inFlight * 2 >= limitValue()) {
+            updateLimit(current -> Math.min(maxLimit, current + 1.0 / current));
+        }
+    }
+
+    // 구간을 채운 요청이 구간 p90 을 기준과 비교한 뒤 기준에 반영합니다. (첫 구간은 자기 자신이 기준)
+    private void closeWindow() {
+        long[] latencies = new long[WINDOW];
+        for (int i = 0; i < WINDOW; i++) {
+            latencies[i] = window.get(i);
+        }
+        Arrays.sort(latencies);
+        long percentile = Math.max(1, latencies[PERCENTILE_INDEX]);
+        recentNanos.set(percentile);
+        long baseline = updateBaseline(percentile);
+        congested = percentile > baseline * latencyTolerance;
+    }
+
+    // 이번 구간을 반영하기 전의 기준 지연을 돌려줍니다.
+    private long updateBaseline(long percentileNanos) {
+        long current;
+        long next;
+        do {
+            current = baselineNanos.get();
+            next = current == 0 ? percentileNanos : current + (percentileNanos - current) / BASELINE_WINDOWS;
+        } while (!baselineNanos.compareAndSet(current, Math.max(1, next)));
+        return current == 0 ? percentileNanos : current;
+    }
+
+    private void decrease(Permit permit) {
+        long last = lastDecreaseNanos.get();
+        if (permit.startNanos - last < 0 || !lastDecreaseNanos.compareAndSet(last, nanoClock.getAsLong())) {
+            return;
+        }
+        decreases.increment();
+        updateLimit(current -> Math.max(minLimit, current * backoffRatio));
+    }
+
+    private void updateLimit(DoubleUnaryOperator function) {
+        long current;
+        long next;
+        do {
+            current = limit.get();
+            next = Double.doubleToRawLongBits(function.applyAsDouble(Double.longBitsToDouble(current)));
+        } while (!limit.compareAndSet(current, next));
+    }
+
+    private double limitValue() {
+        return Double.longBitsToDouble(limit.get());
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLimit() {
+        return (int) limitValue();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public double getBaselineLatencyMillis() {
+        return baselineNanos.get() / 1_000_000.0;
+    }
+
+    public double getRecentLatencyMillis() {
+        return recentNanos.get() / 1_000_000.0;
+    }
+
+    public long getAccepted() {
+        return accepted.sum();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("limit", getLimit());
+        snapshot.put("inFlight", getInFlight());
+        snapshot.put("minLimit", minLimit);
+        snapshot.put("maxLimit", maxLimit);
+        snapshot.put("baselineLatencyMs", getBaselineLatencyMillis());
+        snapshot.put("recentLatencyMs", getRecentLatencyMillis());
+        snapshot.put("accepted", getAccepted());
+        snapshot.put("rejected", getRejected());
+        snapshot.put("decreases", decreases.sum());
+        return snapshot;
+    }
+
+    public final class Permit {
+        private final long startNanos;
+        // 획득 직후 처리 중이던 수 (자기 포함) - 한도를 실제로 쓰고 있었는지 판단합니다.
+        private final int inFlight;
+
+        private Permit(long startNanos, int inFlight) {
+            this.startNanos = startNanos;
+            this.inFlight = inFlight;
+        }
+
+        // failed 는 5xx 등 과부하로 볼 수 있는 실패, sampleLatency 가 false 면 자리만 반납합니다.
+        public void release(boolean failed, boolean sampleLatency) {
+            onComplete(this, nanoClock.getAsLong() - startNanos, failed, sampleLatency);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.rookies3.myspringbootlab.admission;
+
+import com.rookies3.myspringbootlab.exception.OverloadedException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Duration;
+
+/**
+ * {@link AdmissionControlled} 가 붙은 핸들러 앞에서 분류별 리미터의 자리를 얻고, 요청이 끝나면 지연 시간과 함께 반납합니다.
+ * 자리가 없으면 OverloadedException 을 던지고, DefaultExceptionAdvice 가 503 + Retry-After 로 응답합니다.
+ */
+@RequiredArgsConstructor
+public class AdmissionControlInterceptor implements HandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = AdmissionControlInterceptor.class.getName() + ".PERMIT";
+
+    private final AdmissionLimiters limiters;
+    private final Duration retryAfter;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        AdmissionControlled admission = admissionOf(handler);
+        if (admission == null) {
+            return true;
+        }
+        AdaptiveConcurrencyLimiter.Permit permit = limiters.get(admission.value()).tryAcquire();
+        if (permit == null) {
+            throw new OverloadedException(admission.value(), retryAfter);
+        }
+        request.setAttribute(PERMIT_ATTRIBUTE, permit);
+        return true;
+    }
+
+    // 예외가 advice 에서 처리되면 ex 는 null 이므로 응답 상태로도 실패를 판단합니다. (커넥션 풀 대기 초과 등)
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) instanceof AdaptiveConcurrencyLimiter.Permit permit) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            AdmissionControlled admission = admissionOf(handler);
+            permit.release(ex != null || response.getStatus() >= 500, admission == null || admission.sampleLatency());
+        }
+    }
+
+    private static AdmissionControlled admissionOf(Object handler) {
+        return handler instanceof HandlerMethod handlerMethod
+                ? handlerMethod.getMethodAnnotation(AdmissionControlled.class)
+                : null;
+    }
+}
@@ -0,0 +1,22 @@
+package com.rookies3.myspringbootlab.admission;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 컨트롤러 메서드를 분류별 동시 처리 한도 아래에 둡니다. (AdmissionControlInterceptor)
+ * 한도가 차 있으면 기다리지 않고 503 + Retry-After 로 바로 거절합니다.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface AdmissionControlled {
+
+    EndpointClass value();
+
+    // false 이면 자리는 차지하지만 지연 시간으로 한도를 조절하지는 않습니다. (응답 시간이 데이터 양에 비례하는 내보내기 등)
+    boolean sampleLatency() default true;
+}
@@ -0,0 +1,62 @@
+package com.rookies3.myspringbootlab.admission;
+
+import com.rookies3.myspringbootlab.property.AdmissionControlProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 엔드포인트 분류별 리미터 - 단건 조회와 목록/검색이 서로의 한도를 잡아먹지 않도록 따로 둡니다.
+ */
+@Component
+public class AdmissionLimiters implements MeterBinder {
+
+    private final Map<EndpointClass, AdaptiveConcurrencyLimiter> limiters = new EnumMap<>(EndpointClass.class);
+
+    public AdmissionLimiters(AdmissionControlProperties properties) {
+        limiters.put(EndpointClass.POINT, new AdaptiveConcurrencyLimiter("point", properties.getPoint()));
+        limiters.put(EndpointClass.SCAN, new AdaptiveConcurrencyLimiter("scan", properties.getScan()));
+    }
+
+    public AdaptiveConcurrencyLimiter get(EndpointClass endpointClass) {
+        return limiters.get(endpointClass);
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        limiters.forEach((endpointClass, limiter) ->
+                snapshot.put(endpointClass.name().toLowerCase(Locale.ROOT), limiter.snapshot()));
+        return snapshot;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (AdaptiveConcurrencyLimiter limiter : limiters.values()) {
+            Gauge.builder("app.admission.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                    .description("Current adaptive concurrency limit")
+                    .tag("class", limiter.getName())
+                    .register(registry);
+            Gauge.builder("app.admission.inflight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                    .description("Requests currently holding an admission permit")
+                    .tag("class", limiter.getName())
+                    .register(registry);
+            FunctionCounter.builder("app.admission.requests", limiter, AdaptiveConcurrencyLimiter::getAccepted)
+                    .description("Requests checked against the admission limit")
+                    .tag("class", limiter.getName())
+                    .tag("result", "accepted")
+                    .register(registry);
+            FunctionCounter.builder("app.admission.requests", limiter, AdaptiveConcurrencyLimiter::getRejected)
+                    .description("Requests checked against the admission limit")
+                    .tag("class", limiter.getName())
+                    .tag("result", "rejected")
+                    .register(registry);
+        }
+    }
+}
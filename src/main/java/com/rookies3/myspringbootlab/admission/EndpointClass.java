@@ -0,0 +1,11 @@
+package com.rookies3.myspringbootlab.admission;
+
+/**
+ * 동시 처리 한도를 따로 두는 엔드포인트 분류.
+ */
+public enum EndpointClass {
+    // id/ISBN/이름으로 한 건을 찾는 조회
+    POINT,
+    // 목록, 검색, 일괄 조회, 내보내기처럼 여러 행을 읽는 조회
+    SCAN
+}
@@ -0,0 +1,32 @@
+package com.rookies3.myspringbootlab.config;
+
+import com.rookies3.myspringbootlab.admission.AdmissionControlInterceptor;
+import com.rookies3.myspringbootlab.admission.AdmissionLimiters;
+import com.rookies3.myspringbootlab.property.AdmissionControlProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * 분류별 적응형 동시 처리 한도 (app.admission.enabled, 기본 켜짐).
+ * <p>
+ * 한도를 넘는 요청을 줄 세우면 커넥션 풀 대기가 길어지면서 모든 요청의 꼬리 지연이 함께 늘어나므로,
+ * 한도가 차 있으면 바로 503 으로 돌려보냅니다. 대상은 @AdmissionControlled 가 붙은 BookController / PublisherController 의 조회입니다.
+ * 가상 스레드 모드의 apiConcurrencyLimitFilter(전체 /api 고정 한도)는 그 바깥에서 그대로 동작합니다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.admission.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class AdmissionControlConfig implements WebMvcConfigurer {
+
+    private final AdmissionLimiters limiters;
+    private final AdmissionControlProperties properties;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new AdmissionControlInterceptor(limiters, properties.getRetryAfter()))
+                .addPathPatterns("/api/**");
+    }
+}
@@ -0,0 +1,11 @@
+package com.rookies3.myspringbootlab.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+// @Async 메서드는 Boot 가 구성한 applicationTaskExecutor 에서 실행됩니다.
+// spring.threads.virtual.enabled=true 이면 이 실행기도 가상 스레드를 사용합니다.
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+}
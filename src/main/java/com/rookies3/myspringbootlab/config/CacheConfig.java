@@ -0,0 +1,59 @@
+package com.rookies3.myspringbootlab.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.rookies3.myspringbootlab.property.BookCacheProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String BOOKS_BY_ID = "booksById";
+    public static final String BOOKS_BY_ISBN = "booksByIsbn";
+    public static final String BOOK_SEARCH = "bookSearch";
+    public static final String BOOK_JSON = "bookJson";
+    public static final String PUBLISHER_BOOK_COUNTS = "publisherBookCounts";
+
+    @Bean
+    public CacheManager cacheManager(BookCacheProperties properties) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setAllowNullValues(false);
+        cacheManager.registerCustomCache(BOOKS_BY_ID, Caffeine.newBuilder()
+                .maximumSize(properties.getLookupMaximumSize())
+                .expireAfterWrite(properties.getLookupTtl())
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(BOOKS_BY_ISBN, Caffeine.newBuilder()
+                .maximumSize(properties.getLookupMaximumSize())
+                .expireAfterWrite(properties.getLookupTtl())
+                .recordStats()
+                .build());
+        // 단건 조회 응답에 읽을 때마다 채우는 출판사별 도서 수
+        cacheManager.registerCustomCache(PUBLISHER_BOOK_COUNTS, Caffeine.newBuilder()
+                .maximumSize(properties.getLookupMaximumSize())
+                .expireAfterWrite(properties.getLookupTtl())
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(BOOK_SEARCH, Caffeine.newBuilder()
+                .maximumSize(properties.getSearchMaximumSize())
+                .expireAfterWrite(properties.getSearchTtl())
+                .recordStats()
+                .build());
+        // 직렬화가 끝난 응답 바이트 - 항목 수가 아니라 바이트 합계로 크기를 제한합니다.
+        cacheManager.registerCustomCache(BOOK_JSON, Caffeine.newBuilder()
+                .maximumWeight(properties.getJsonMaximumBytes().toBytes())
+                .<Object, Object>weigher((key, value) -> ((byte[]) value).length)
+                .expireAfterWrite(properties.getLookupTtl())
+                .recordStats()
+                .build());
+
+        // put/evict 를 트랜잭션 커밋 이후로 미뤄서, 롤백된 변경이 캐시에 반영되거나
+        // 커밋 전에 다른 요청이 이전 값을 다시 채워 넣는 일을 막습니다.
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
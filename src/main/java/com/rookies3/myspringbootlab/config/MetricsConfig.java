@@ -0,0 +1,32 @@
+package com.rookies3.myspringbootlab.config;
+
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 서비스/리포지토리 메서드 지연 시간 지표.
+ * <p>
+ * 리포지토리: Spring Boot 가 모든 Spring Data 리포지토리 호출을 spring.data.repository.invocations 타이머로 기록합니다.
+ * (태그: repository, method, state, exception)
+ * 서비스: 클래스에 붙인 @Timed(SERVICE_TIMER) 를 TimedAspect 가 처리합니다. (태그: class, method, exception)
+ * 메서드 태그 값은 코드에 있는 메서드 이름뿐이라 유한하지만, 시계열이 폭증하지 않도록 태그 값 수에 상한을 둡니다.
+ */
+@Configuration
+public class MetricsConfig {
+
+    public static final String SERVICE_TIMER = "app.service.invocations";
+    public static final String REPOSITORY_TIMER = "spring.data.repository.invocations";
+
+    private static final int MAX_METHOD_TAGS = 200;
+
+    @Bean
+    public MeterFilter repositoryMethodTagLimit() {
+        return MeterFilter.maximumAllowableTags(REPOSITORY_TIMER, "method", MAX_METHOD_TAGS, MeterFilter.deny());
+    }
+
+    @Bean
+    public MeterFilter serviceMethodTagLimit() {
+        return MeterFilter.maximumAllowableTags(SERVICE_TIMER, "method", MAX_METHOD_TAGS, MeterFilter.deny());
+    }
+}
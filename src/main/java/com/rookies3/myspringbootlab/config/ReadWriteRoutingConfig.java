@@ -0,0 +1,96 @@
+package com.rookies3.myspringbootlab.config;
+
+import com.rookies3.myspringbootlab.datasource.ReadWriteRoutingDataSource;
+import com.rookies3.myspringbootlab.datasource.ReplicaHealthChecker;
+import com.rookies3.myspringbootlab.property.DataSourceRoutingProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 읽기/쓰기 DataSource 분리 - app.datasource.routing.enabled=true 일 때만 사용합니다.
+ * <p>
+ * primary 는 spring.datasource.*(+ spring.datasource.hikari.*) 설정으로, replica 는 app.datasource.routing.replicas[n].* 로
+ * Hikari 풀을 만들고, ReadWriteRoutingDataSource 를 LazyConnectionDataSourceProxy 로 감싼 빈을 기본 DataSource 로 등록합니다.
+ * 빈 이름이 dataSource 이므로 SlowQueryConfig 의 datasource-proxy 도 그대로 이 위에 씌워집니다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.routing.enabled", havingValue = "true")
+public class ReadWriteRoutingConfig {
+
+    @Bean
+    public ReadWriteRoutingDataSource routingDataSource(DataSourceProperties dataSourceProperties,
+                                                       DataSourceRoutingProperties properties,
+                                                       Environment environment,
+                                                       ObjectProvider<MeterRegistry> meterRegistry) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        if (primary.getPoolName() == null) {
+            primary.setPoolName("primary");
+        }
+        meterRegistry.ifAvailable(primary::setMetricRegistry);
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        List<DataSourceRoutingProperties.Replica> replicaProperties = properties.getReplicas();
+        for (int i = 0; i < replicaProperties.size(); i++) {
+            DataSourceRoutingProperties.Replica replica = replicaProperties.get(i);
+            String name = replica.getName() != null ? replica.getName() : "replica-" + (i + 1);
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(replica.getUrl())
+                    .username(replica.getUsername())
+                    .password(replica.getPassword())
+                    .driverClassName(replica.getDriverClassName())
+                    .build();
+            dataSource.setPoolName(name);
+            dataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+            dataSource.setConnectionTimeout(replica.getConnectionTimeout().toMillis());
+            dataSource.setReadOnly(true);
+            // replica 가 내려가 있어도 기동은 되어야 하므로 풀 초기화 실패로 기동을 막지 않습니다. (상태 확인이 제외시킵니다)
+            dataSource.setInitializationFailTimeout(-1);
+            meterRegistry.ifAvailable(dataSource::setMetricRegistry);
+            replicas.put(name, dataSource);
+        }
+
+        return new ReadWriteRoutingDataSource(primary, replicas, properties.isReadYourWrites(),
+                properties.getFailureThreshold(), properties.getRecoveryThreshold());
+    }
+
+    // 트랜잭션 시작 시점이 아니라 첫 SQL 시점에 연결을 가져오므로, 그때는 readOnly 여부가 정해져 있습니다.
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Bean
+    public ReplicaHealthChecker replicaHealthChecker(ReadWriteRoutingDataSource routingDataSource,
+                                                     DataSourceRoutingProperties properties) {
+        return new ReplicaHealthChecker(routingDataSource, properties);
+    }
+
+    // replica 가 모두 빠져도 읽기는 primary 로 계속되므로 상태는 UP 으로 두고 replica 별 상태만 보여줍니다.
+    @Bean
+    public HealthIndicator replicasHealthIndicator(ReadWriteRoutingDataSource routingDataSource) {
+        return () -> Health.up().withDetails(routingDataSource.replicaHealth()).build();
+    }
+}
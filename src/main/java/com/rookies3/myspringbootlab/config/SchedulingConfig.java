@@ -0,0 +1,10 @@
+package com.rookies3.myspringbootlab.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// 변경 피드 릴레이(ChangeFeedRelay)의 아웃박스 폴링/정리 작업을 실행합니다.
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
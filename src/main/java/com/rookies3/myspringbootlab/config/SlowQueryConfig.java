@@ -0,0 +1,53 @@
+package com.rookies3.myspringbootlab.config;
+
+import com.rookies3.myspringbootlab.actuator.SlowQueryEndpoint;
+import com.rookies3.myspringbootlab.actuator.SlowQueryListener;
+import com.rookies3.myspringbootlab.actuator.SlowQueryRecorder;
+import com.rookies3.myspringbootlab.property.SlowQueryProperties;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * 느린 SQL 수집 - 기본 DataSource 를 datasource-proxy 로 감싸 SlowQueryListener 를 붙입니다.
+ * spring.jpa.show-sql 처럼 모든 SQL 을 요청 스레드에서 출력하지 않고, 임계값을 넘은 SQL 과 샘플만 비동기로 기록합니다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.slow-query.enabled", havingValue = "true", matchIfMissing = true)
+public class SlowQueryConfig {
+
+    private static final String PRIMARY_DATA_SOURCE = "dataSource";
+
+    @Bean
+    public SlowQueryRecorder slowQueryRecorder(SlowQueryProperties properties) {
+        return new SlowQueryRecorder(properties);
+    }
+
+    @Bean
+    public SlowQueryEndpoint slowQueryEndpoint(SlowQueryProperties properties, SlowQueryRecorder recorder) {
+        return new SlowQueryEndpoint(properties, recorder);
+    }
+
+    // BeanPostProcessor 는 다른 빈보다 먼저 만들어지므로 static 으로 선언하고 의존 빈은 지연 조회합니다.
+    @Bean
+    public static BeanPostProcessor slowQueryDataSourcePostProcessor(ObjectProvider<SlowQueryProperties> properties,
+                                                                     ObjectProvider<SlowQueryRecorder> recorder) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || !PRIMARY_DATA_SOURCE.equals(beanName)) {
+                    return bean;
+                }
+                return ProxyDataSourceBuilder.create(dataSource)
+                        .name(beanName)
+                        .listener(new SlowQueryListener(properties.getObject(), recorder.getObject()))
+                        .build();
+            }
+        };
+    }
+}
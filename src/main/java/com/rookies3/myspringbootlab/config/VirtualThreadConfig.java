@@ -0,0 +1,91 @@
+package com.rookies3.myspringbootlab.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rookies3.myspringbootlab.exception.ErrorCode;
+import com.rookies3.myspringbootlab.exception.advice.DefaultExceptionAdvice;
+import com.rookies3.myspringbootlab.exception.advice.ErrorObject;
+import jakarta.servlet.Filter;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 가상 스레드 실행 모드 (spring.threads.virtual.enabled=true).
+ * <p>
+ * 가상 스레드는 Tomcat 워커 수 제한이 없으므로, 요청이 몰리면 모두가 Hikari 커넥션을 기다리다
+ * connection-timeout 으로 한꺼번에 실패할 수 있습니다. API 요청이 동시에 처리되는 수를 커넥션 풀 크기에 맞춰
+ * 세마포어로 제한하고, 나머지는 잠깐 대기하다가 자리가 나지 않으면 503 으로 돌려보냅니다.
+ * 필터는 DispatcherServlet 밖이라 DefaultExceptionAdvice 를 거치지 않으므로, 같은 ErrorObject 본문과
+ * Retry-After 헤더를 직접 씁니다.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean
+    public FilterRegistrationBean<Filter> apiConcurrencyLimitFilter(
+            @Value("${app.virtual-threads.max-concurrent-requests:${spring.datasource.hikari.maximum-pool-size:10}}")
+            int maxConcurrentRequests,
+            @Value("${app.virtual-threads.acquire-timeout-ms:1000}") long acquireTimeoutMs,
+            @Value("${app.virtual-threads.retry-after:1s}") Duration retryAfter,
+            ObjectMapper objectMapper) {
+        log.info("Virtual thread mode: at most {} concurrent /api requests", maxConcurrentRequests);
+        Semaphore permits = new Semaphore(maxConcurrentRequests, true);
+
+        Filter filter = (request, response, chain) -> {
+            boolean acquired;
+            try {
+                acquired = permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                acquired = false;
+            }
+            if (!acquired) {
+                rejectBusy((HttpServletResponse) response, retryAfter, objectMapper);
+                return;
+            }
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                permits.release();
+            }
+        };
+
+        FilterRegistrationBean<Filter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    // 과부하 중에 거절마다 스택을 남기지 않도록 debug 로만 기록합니다.
+    private static void rejectBusy(HttpServletResponse response, Duration retryAfter,
+                                   ObjectMapper objectMapper) throws IOException {
+        ErrorCode errorCode = ErrorCode.SERVER_BUSY;
+        String message = errorCode.formatMessage();
+        ErrorObject errorObject = new ErrorObject();
+        errorObject.setStatusCode(errorCode.getHttpStatus().value());
+        errorObject.setMessage(message);
+
+        log.debug(message);
+
+        response.setStatus(errorCode.getHttpStatus().value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, DefaultExceptionAdvice.retryAfterSeconds(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(), errorObject);
+    }
+}
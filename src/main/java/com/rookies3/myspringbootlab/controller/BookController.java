@@ -1,15 +1,28 @@
 package com.rookies3.myspringbootlab.controller;
 
+import com.rookies3.myspringbootlab.admission.AdmissionControlled;
+import com.rookies3.myspringbootlab.admission.EndpointClass;
 import com.rookies3.myspringbootlab.controller.dto.BookDTO;
+import com.rookies3.myspringbootlab.service.BookExportService;
+import com.rookies3.myspringbootlab.service.BookImportService;
+import com.rookies3.myspringbootlab.service.BookJsonCache;
 import com.rookies3.myspringbootlab.service.BookService;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,34 +32,88 @@ import java.util.Optional;
 public class BookController {
 
     private final BookService bookService;
+    private final BookImportService bookImportService;
+    private final BookExportService bookExportService;
+    private final BookJsonCache bookJsonCache;
 
     @GetMapping
+    @AdmissionControlled(EndpointClass.SCAN)
     public ResponseEntity<List<BookDTO.Response>> getAllBooks() {
         List<BookDTO.Response> books = bookService.getAllBooks();
         return ResponseEntity.ok(books);
     }
 
+    // 커서 기반 목록 조회 - ?limit=20&after=<nextCursor>&sort=id|title|publishDate
+    @GetMapping(params = "limit")
+    @AdmissionControlled(EndpointClass.SCAN)
+    public ResponseEntity<BookDTO.CursorResponse<BookDTO.Response>> getBooksPage(
+            @RequestParam(required = false) String after,
+            @RequestParam int limit,
+            @RequestParam(required = false) String sort) {
+        BookDTO.CursorResponse<BookDTO.Response> page = bookService.getBooksPage(after, limit, sort);
+        return ResponseEntity.ok(page);
+    }
+
+    // 전체 카탈로그 NDJSON 내보내기 - 행을 읽는 즉시 응답으로 흘려보냅니다.
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    @AdmissionControlled(value = EndpointClass.SCAN, sampleLatency = false)
+    public void exportBooks(HttpServletResponse response) throws IOException {
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        bookExportService.exportNdjson(response.getOutputStream());
+    }
+
+    // 가장 많이 호출되는 단건 조회 - 캐시된 JSON 바이트를 Jackson 을 거치지 않고 그대로 씁니다.
+    // 버전만 읽는 쿼리로 ETag 를 먼저 구해서, If-None-Match 가 일치하면 본문 없이 304 로 응답합니다.
+    // JSON 캐시 미스가 동시에 몰리면 같은 id 의 조회와 직렬화는 한 번만 실행합니다. (BookJsonCache 참고)
     @GetMapping("/{id}")
-    public ResponseEntity<BookDTO.Response> getBookById(@PathVariable Long id) {
-        BookDTO.Response book = bookService.getBookById(id);
-        return ResponseEntity.ok(book);
+    @AdmissionControlled(EndpointClass.POINT)
+    public void getBookById(@PathVariable Long id, HttpServletRequest request,
+                            HttpServletResponse response) throws IOException {
+        String etag = bookService.getBookETag(id);
+        if (new ServletWebRequest(request, response).checkNotModified(etag)) {
+            return;
+        }
+        BookJsonCache.Json json = bookJsonCache.getBookJson(id, etag);
+        // 버전 조회 뒤 도서가 바뀌었다면 본문을 만든 읽기의 ETag 로 바꿔 보냅니다.
+        response.setHeader(HttpHeaders.ETAG, json.etag());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(json.body().length);
+        response.getOutputStream().write(json.body());
     }
 
     @GetMapping("/isbn/{isbn}")
+    @AdmissionControlled(EndpointClass.POINT)
     public ResponseEntity<BookDTO.Response> getBookByIsbn(@PathVariable String isbn) {
         BookDTO.Response book = bookService.getBookByIsbn(isbn);
         return ResponseEntity.ok(book);
     }
 
     @GetMapping("/search/author")
-    public ResponseEntity<List<BookDTO.Response>> getBooksByAuthor(@RequestParam String author) {
-        List<BookDTO.Response> books = bookService.getBooksByAuthor(author);
+    @AdmissionControlled(EndpointClass.SCAN)
+    public ResponseEntity<List<BookDTO.Response>> getBooksByAuthor(
+            @RequestParam String author,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        List<BookDTO.Response> books = bookService.getBooksByAuthor(author, page, size);
         return ResponseEntity.ok(books);
     }
 
     @GetMapping("/search/title")
-    public ResponseEntity<List<BookDTO.Response>> getBooksByTitle(@RequestParam String title) {
-        List<BookDTO.Response> books = bookService.getBooksByTitle(title);
+    @AdmissionControlled(EndpointClass.SCAN)
+    public ResponseEntity<List<BookDTO.Response>> getBooksByTitle(
+            @RequestParam String title,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        List<BookDTO.Response> books = bookService.getBooksByTitle(title, page, size);
+        return ResponseEntity.ok(books);
+    }
+
+    // 여러 권 한 번에 조회 - 목록 화면에서 GET /{id} 를 수백 번 호출하는 대신 사용합니다.
+    @PostMapping("/batch")
+    @AdmissionControlled(EndpointClass.SCAN)
+    public ResponseEntity<BookDTO.BatchResponse> getBooksBatch(@Valid @RequestBody BookDTO.BatchRequest request) {
+        BookDTO.BatchResponse books = bookService.getBooksBatch(request);
         return ResponseEntity.ok(books);
     }
 
@@ -56,31 +123,47 @@ public class BookController {
         return new ResponseEntity<>(createdBook, HttpStatus.CREATED);
     }
 
+    // 대량 등록 - NDJSON(한 줄에 BookDTO.Request 하나) 또는 헤더가 있는 CSV 를 스트리밍으로 처리
+    @PostMapping(value = "/import", consumes = "application/x-ndjson")
+    public ResponseEntity<BookDTO.ImportResult> importBooksNdjson(InputStream body) {
+        BookDTO.ImportResult result = bookImportService.importNdjson(body);
+        return ResponseEntity.ok(result);
+    }
+
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<BookDTO.ImportResult> importBooksCsv(InputStream body) {
+        BookDTO.ImportResult result = bookImportService.importCsv(body);
+        return ResponseEntity.ok(result);
+    }
+
     // 전체 교체 (기존 방식 유지)
     @PutMapping("/{id}")
     public ResponseEntity<BookDTO.Response> updateBook(
             @PathVariable Long id,
-            @Valid @RequestBody BookDTO.Request request) {
-        BookDTO.Response updatedBook = bookService.updateBook(id, request);
-        return ResponseEntity.ok(updatedBook);
+            @Valid @RequestBody BookDTO.Request request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        BookService.TaggedResponse updatedBook = bookService.updateBook(id, request, ifMatch);
+        return ResponseEntity.ok().eTag(updatedBook.etag()).body(updatedBook.response());
     }
 
     // 부분 수정 (새로 추가)
     @PatchMapping("/{id}")
     public ResponseEntity<BookDTO.Response> partialUpdateBook(
             @PathVariable Long id,
-            @RequestBody BookDTO.PatchRequest request) {
-        BookDTO.Response updatedBook = bookService.partialUpdateBook(id, request);
-        return ResponseEntity.ok(updatedBook);
+            @RequestBody BookDTO.PatchRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        BookService.TaggedResponse updatedBook = bookService.partialUpdateBook(id, request, ifMatch);
+        return ResponseEntity.ok().eTag(updatedBook.etag()).body(updatedBook.response());
     }
 
     // BookDetail만 수정
     @PatchMapping("/{id}/detail")
     public ResponseEntity<BookDTO.Response> updateBookDetail(
             @PathVariable Long id,
-            @RequestBody BookDTO.BookDetailPatchRequest request) {
-        BookDTO.Response updatedBook = bookService.updateBookDetail(id, request);
-        return ResponseEntity.ok(updatedBook);
+            @RequestBody BookDTO.BookDetailPatchRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        BookService.TaggedResponse updatedBook = bookService.updateBookDetail(id, request, ifMatch);
+        return ResponseEntity.ok().eTag(updatedBook.etag()).body(updatedBook.response());
     }
 
     @DeleteMapping("/{id}")
@@ -0,0 +1,37 @@
+package com.rookies3.myspringbootlab.controller;
+
+import com.rookies3.myspringbootlab.exception.BusinessException;
+import com.rookies3.myspringbootlab.exception.ErrorCode;
+import com.rookies3.myspringbootlab.service.change.ChangeFeedRelay;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/changes")
+@RequiredArgsConstructor
+public class ChangeFeedController {
+
+    private final ChangeFeedRelay changeFeedRelay;
+
+    // 도서/출판사 변경 피드 (SSE) - 재연결 시 브라우저가 보내는 Last-Event-ID 또는 ?after=<offset> 부터 이어서 받습니다.
+    // 둘 다 없으면 구독 시점 이후의 변경만, after=0 이면 보관 중인 전체 이벤트를 받습니다.
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            @RequestParam(required = false) Long after) {
+        Long offset = after;
+        if (lastEventId != null && !lastEventId.isBlank()) {
+            try {
+                offset = Long.parseLong(lastEventId.trim());
+            } catch (NumberFormatException e) {
+                throw new BusinessException(ErrorCode.INVALID_CURSOR, lastEventId);
+            }
+        }
+        if (offset != null && offset < 0) {
+            throw new BusinessException(ErrorCode.INVALID_CURSOR, offset);
+        }
+        return changeFeedRelay.subscribe(offset);
+    }
+}
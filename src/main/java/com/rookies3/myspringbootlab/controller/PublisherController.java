@@ -1,14 +1,22 @@
 package com.rookies3.myspringbootlab.controller;
 
+import com.rookies3.myspringbootlab.admission.AdmissionControlled;
+import com.rookies3.myspringbootlab.admission.EndpointClass;
 import com.rookies3.myspringbootlab.controller.dto.BookDTO;
 import com.rookies3.myspringbootlab.controller.dto.PublisherDTO;
 import com.rookies3.myspringbootlab.service.BookService;
 import com.rookies3.myspringbootlab.service.PublisherService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.data.web.PagedModel;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -21,29 +29,58 @@ public class PublisherController {
     private final BookService bookService;
 
     @GetMapping
+    @AdmissionControlled(EndpointClass.SCAN)
     public ResponseEntity<List<PublisherDTO.SimpleResponse>> getAllPublishers() {
         List<PublisherDTO.SimpleResponse> publishers = publisherService.getAllPublishers();
         return ResponseEntity.ok(publishers);
     }
 
+    // 페이지 단위 조회 - ?page=0&size=20&sort=name,asc
+    @GetMapping(params = "page")
+    @AdmissionControlled(EndpointClass.SCAN)
+    public ResponseEntity<PagedModel<PublisherDTO.SimpleResponse>> getPublishers(
+            @PageableDefault(size = 20, sort = "id") Pageable pageable) {
+        Page<PublisherDTO.SimpleResponse> publishers = publisherService.getPublishers(pageable);
+        return ResponseEntity.ok(new PagedModel<>(publishers));
+    }
+
+    // If-None-Match 가 현재 ETag 와 같으면 출판사/도서 조회 없이 304 로 응답합니다.
     @GetMapping("/{id}")
-    public ResponseEntity<PublisherDTO.Response> getPublisherById(@PathVariable Long id) {
+    @AdmissionControlled(EndpointClass.POINT)
+    public ResponseEntity<PublisherDTO.Response> getPublisherById(@PathVariable Long id, WebRequest webRequest) {
+        String etag = publisherService.getPublisherETag(id);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
         PublisherDTO.Response publisher = publisherService.getPublisherById(id);
-        return ResponseEntity.ok(publisher);
+        return ResponseEntity.ok().eTag(etag).body(publisher);
     }
 
     @GetMapping("/name/{name}")
+    @AdmissionControlled(EndpointClass.POINT)
     public ResponseEntity<PublisherDTO.Response> getPublisherByName(@PathVariable String name) {
         PublisherDTO.Response publisher = publisherService.getPublisherByName(name);
         return ResponseEntity.ok(publisher);
     }
 
     @GetMapping("/{id}/books")
+    @AdmissionControlled(EndpointClass.SCAN)
     public ResponseEntity<List<BookDTO.Response>> getBooksByPublisherId(@PathVariable Long id) {
         List<BookDTO.Response> books = bookService.getBooksByPublisherId(id);
         return ResponseEntity.ok(books);
     }
 
+    // 출판사별 도서 커서 조회 - ?limit=20&after=<nextCursor>
+    @GetMapping(value = "/{id}/books", params = "limit")
+    @AdmissionControlled(EndpointClass.SCAN)
+    public ResponseEntity<BookDTO.CursorResponse<BookDTO.Response>> getBooksByPublisherIdPage(
+            @PathVariable Long id,
+            @RequestParam(required = false) String after,
+            @RequestParam int limit) {
+        BookDTO.CursorResponse<BookDTO.Response> books = bookService.getBooksByPublisherIdPage(id, after, limit);
+        return ResponseEntity.ok(books);
+    }
+
     @PostMapping
     public ResponseEntity<PublisherDTO.Response> createPublisher(@Valid @RequestBody
                                                                       PublisherDTO.Request request) {
@@ -54,9 +91,10 @@ public class PublisherController {
     @PutMapping("/{id}")
     public ResponseEntity<PublisherDTO.Response> updatePublisher(
             @PathVariable Long id,
-            @Valid @RequestBody PublisherDTO.Request request) {
-        PublisherDTO.Response updatedPublisher = publisherService.updatePublisher(id, request);
-        return ResponseEntity.ok(updatedPublisher);
+            @Valid @RequestBody PublisherDTO.Request request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        PublisherService.TaggedResponse updatedPublisher = publisherService.updatePublisher(id, request, ifMatch);
+        return ResponseEntity.ok().eTag(updatedPublisher.etag()).body(updatedPublisher.response());
     }
 
     @DeleteMapping("/{id}")
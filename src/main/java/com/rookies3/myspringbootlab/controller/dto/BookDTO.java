@@ -6,6 +6,7 @@ import jakarta.validation.constraints.*;
 import lombok.*;
 
 import java.time.LocalDate;
+import java.util.List;
 
 public class BookDTO {
 
@@ -21,8 +22,8 @@ public class BookDTO {
         private String author;
 
         @NotBlank(message = "ISBN is required")
-        @Pattern(regexp = "^(?=(?:\\D*\\d){10}(?:(?:\\D*\\d){3})?$)[\\d-]+$",
-                message = "ISBN must be valid (10 or 13 digits, with or without hyphens)")
+        @Pattern(regexp = "^(?=(?:\\D*\\d){10}(?:(?:\\D*\\d){3})?$|(?:\\D*\\d){9}\\D*[Xx]$)[\\d-]*[\\dXx]$",
+                message = "ISBN must be valid (10 or 13 digits, with or without hyphens, ISBN-10 may end in X)")
         private String isbn;
 
         @PositiveOrZero(message = "Price must be positive or zero")
@@ -48,8 +49,8 @@ public class BookDTO {
     public static class PatchRequest {
         private String title;
         private String author;
-        @Pattern(regexp = "^(?=(?:\\D*\\d){10}(?:(?:\\D*\\d){3})?$)[\\d-]+$",
-                message = "ISBN must be valid (10 or 13 digits, with or without hyphens)")
+        @Pattern(regexp = "^(?=(?:\\D*\\d){10}(?:(?:\\D*\\d){3})?$|(?:\\D*\\d){9}\\D*[Xx]$)[\\d-]*[\\dXx]$",
+                message = "ISBN must be valid (10 or 13 digits, with or without hyphens, ISBN-10 may end in X)")
         private String isbn;
         @PositiveOrZero(message = "Price must be positive or zero")
         private Integer price;
@@ -105,6 +106,14 @@ public class BookDTO {
         private BookDetailResponse detail;
 
         public static Response fromEntity(Book book) {
+            // Publisher 정보 변환 (null 체크 추가)
+            PublisherDTO.SimpleResponse publisherResponse = book.getPublisher() != null ?
+                    PublisherDTO.SimpleResponse.fromEntity(book.getPublisher()) : null;
+            return fromEntity(book, publisherResponse);
+        }
+
+        // publisher 변환 결과를 호출하는 쪽에서 넘겨받는 버전 (publisher.books 컬렉션을 건드리지 않아야 할 때 사용)
+        public static Response fromEntity(Book book, PublisherDTO.SimpleResponse publisherResponse) {
             BookDetailResponse detailResponse = book.getBookDetail() != null
                     ? BookDetailResponse.builder()
                     .id(book.getBookDetail().getId())
@@ -117,10 +126,6 @@ public class BookDTO {
                     .build()
                     : null;
 
-            // Publisher 정보 변환 (null 체크 추가)
-            PublisherDTO.SimpleResponse publisherResponse = book.getPublisher() != null ?
-                    PublisherDTO.SimpleResponse.fromEntity(book.getPublisher()) : null;
-
             return Response.builder()
                     .id(book.getId())
                     .title(book.getTitle())
@@ -132,6 +137,144 @@ public class BookDTO {
                     .detail(detailResponse)
                     .build();
         }
+
+        // 캐시된 응답을 고치지 않고 출판사 정보만 바꾼 사본을 만듭니다.
+        public Response withPublisher(PublisherDTO.SimpleResponse publisher) {
+            return new Response(id, title, author, isbn, price, publishDate, publisher, detail);
+        }
+    }
+
+    // 목록 조회용 평면 프로젝션 - JPQL 생성자 표현식으로 응답에 필요한 컬럼만 한 번에 읽습니다.
+    // 엔티티/스냅샷을 만들지 않고, 지연 로딩 연관도 건드리지 않습니다. (생성자 인자 순서 = 필드 순서)
+    @Getter
+    @AllArgsConstructor
+    public static class ListRow {
+        private final Long id;
+        private final String title;
+        private final String author;
+        private final String isbn;
+        private final Integer price;
+        private final LocalDate publishDate;
+        private final Long detailId;
+        private final String description;
+        private final String language;
+        private final Integer pageCount;
+        private final String detailPublisher;
+        private final String coverImageUrl;
+        private final String edition;
+        private final Long publisherId;
+        private final String publisherName;
+        private final LocalDate publisherEstablishedDate;
+        private final String publisherAddress;
+
+        public PublisherDTO.SimpleResponse toPublisherResponse(Long bookCount) {
+            if (publisherId == null) {
+                return null;
+            }
+            return PublisherDTO.SimpleResponse.builder()
+                    .id(publisherId)
+                    .name(publisherName)
+                    .establishedDate(publisherEstablishedDate)
+                    .address(publisherAddress)
+                    .bookCount(bookCount)
+                    .build();
+        }
+
+        public Response toResponse(PublisherDTO.SimpleResponse publisherResponse) {
+            BookDetailResponse detailResponse = detailId != null
+                    ? BookDetailResponse.builder()
+                    .id(detailId)
+                    .description(description)
+                    .language(language)
+                    .pageCount(pageCount)
+                    .publisher(detailPublisher)
+                    .coverImageUrl(coverImageUrl)
+                    .edition(edition)
+                    .build()
+                    : null;
+
+            return Response.builder()
+                    .id(id)
+                    .title(title)
+                    .author(author)
+                    .isbn(isbn)
+                    .price(price)
+                    .publishDate(publishDate)
+                    .publisher(publisherResponse)
+                    .detail(detailResponse)
+                    .build();
+        }
+    }
+
+    // 커서 기반 목록 조회 응답 - nextCursor 를 다음 요청의 after 로 그대로 전달합니다.
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class CursorResponse<T> {
+        private List<T> content;
+        private int size;
+        private boolean hasNext;
+        private String nextCursor;
+    }
+
+    // 여러 권 한 번에 조회 - ids, isbns 중 하나 또는 둘 다 보낼 수 있습니다.
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class BatchRequest {
+        @Size(max = 5000, message = "At most 5000 ids can be requested at once")
+        private List<Long> ids;
+
+        @Size(max = 5000, message = "At most 5000 ISBNs can be requested at once")
+        private List<String> isbns;
+    }
+
+    // 요청 순서대로 ids 결과 다음에 isbns 결과가 이어지며, 찾지 못한 항목은 found=false, book=null 입니다.
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class BatchResponse {
+        private List<BatchItem> items;
+        private int found;
+        private int notFound;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class BatchItem {
+        private Long id;
+        private String isbn;
+        private boolean found;
+        private Response book;
+    }
+
+    // 대량 등록 결과 - 실패한 행은 입력 파일의 줄 번호와 함께 보고합니다.
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class ImportResult {
+        private long totalRows;
+        private long importedRows;
+        private long failedRows;
+        private int chunks;
+        private long elapsedMillis;
+        private List<ImportError> errors;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class ImportError {
+        private long line;
+        private String isbn;
+        private String message;
     }
 
     @Data
@@ -0,0 +1,34 @@
+package com.rookies3.myspringbootlab.controller.dto;
+
+import com.rookies3.myspringbootlab.entity.ChangeEvent;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+public class ChangeDTO {
+    // 변경된 대상의 종류와 id 만 담습니다. 내용이 필요하면 POST /api/books/batch 등으로 다시 조회합니다.
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Event {
+        private Long offset;
+        private ChangeEvent.AggregateType aggregateType;
+        private Long aggregateId;
+        private ChangeEvent.ChangeType changeType;
+        private Instant occurredAt;
+
+        public static Event fromEntity(ChangeEvent event) {
+            return Event.builder()
+                    .offset(event.getFeedOffset())
+                    .aggregateType(event.getAggregateType())
+                    .aggregateId(event.getAggregateId())
+                    .changeType(event.getChangeType())
+                    .occurredAt(event.getOccurredAt())
+                    .build();
+        }
+    }
+}
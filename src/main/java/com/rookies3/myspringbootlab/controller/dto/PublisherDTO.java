@@ -53,7 +53,9 @@ public class PublisherDTO {
         private LocalDate establishedDate;
         private String address;
         private Long bookCount;
+        // 상세 조회에는 도서 첫 페이지만 담고, 나머지는 GET /api/publishers/{id}/books?limit=&after= 로 이어서 조회합니다.
         private List<BookDTO.SimpleResponse> books;
+        private String nextBooksCursor;
 
         public static Response fromEntity(Publisher publisher) {
             return Response.builder()
@@ -69,6 +71,20 @@ public class PublisherDTO {
                     .build();
         }
 
+        // 도서 수와 첫 페이지를 따로 조회해 둔 경우 - 출판사가 가진 도서 수와 무관하게 응답 크기가 일정합니다.
+        public static Response fromEntity(Publisher publisher, Long bookCount,
+                                          List<BookDTO.SimpleResponse> firstPage, String nextBooksCursor) {
+            return Response.builder()
+                    .id(publisher.getId())
+                    .name(publisher.getName())
+                    .establishedDate(publisher.getEstablishedDate())
+                    .address(publisher.getAddress())
+                    .bookCount(bookCount)
+                    .books(firstPage)
+                    .nextBooksCursor(nextBooksCursor)
+                    .build();
+        }
+
     }
 
     @Data
@@ -83,13 +99,23 @@ public class PublisherDTO {
         private Long bookCount;
 
         public static SimpleResponse fromEntity(Publisher publisher) {
+            return fromEntity(publisher, (long) publisher.getBooks().size());
+        }
+
+        // 도서 수를 별도로 집계해 둔 경우 books 컬렉션을 로딩하지 않고 변환합니다.
+        public static SimpleResponse fromEntity(Publisher publisher, Long bookCount) {
             return SimpleResponse.builder()
                     .id(publisher.getId())
                     .name(publisher.getName())
                     .establishedDate(publisher.getEstablishedDate())
                     .address(publisher.getAddress())
-                    .bookCount((long) publisher.getBooks().size())
+                    .bookCount(bookCount)
                     .build();
         }
+
+        // 캐시된 응답을 고치지 않고 도서 수만 바꾼 사본을 만듭니다.
+        public SimpleResponse withBookCount(Long bookCount) {
+            return new SimpleResponse(id, name, establishedDate, address, bookCount);
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,204 @@
+package com.rookies3.myspringbootlab.datasource;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * readOnly 트랜잭션은 replica 로, 그 밖의 연결은 primary 로 보내는 DataSource.
+ * <p>
+ * 트랜잭션 매니저는 read-only 여부를 트랜잭션 동기화에 기록하기 전에 연결부터 가져오므로, 반드시
+ * LazyConnectionDataSourceProxy 로 감싸서 첫 SQL 을 실행하는 시점에 대상을 고르게 해야 합니다.
+ * <ul>
+ *     <li>replica 는 라운드 로빈으로 고르며, 상태 확인이나 연결 획득에 연속으로 실패한 replica 는 제외했다가
+ *     다시 연속으로 성공하면 되돌립니다. 쓸 수 있는 replica 가 없으면 primary 로 읽습니다.</li>
+ *     <li>readYourWrites 가 켜져 있으면 한 HTTP 요청 안에서 쓰기 트랜잭션이 연결을 가져간 뒤의 읽기는
+ *     아직 복제되지 않았을 수 있으므로 primary 로 보냅니다. (요청 속성에 기록하므로 요청이 끝나면 사라집니다)</li>
+ * </ul>
+ */
+@Slf4j
+public class ReadWriteRoutingDataSource extends AbstractDataSource implements MeterBinder, AutoCloseable {
+
+    static final String STICKY_ATTRIBUTE = ReadWriteRoutingDataSource.class.getName() + ".STICKY";
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final boolean readYourWrites;
+    private final int failureThreshold;
+    private final int recoveryThreshold;
+
+    private final AtomicInteger next = new AtomicInteger();
+    private final LongAdder primaryConnections = new LongAdder();
+    private final LongAdder replicaConnections = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+
+    public ReadWriteRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, boolean readYourWrites,
+                                      int failureThreshold, int recoveryThreshold) {
+        this.primary = primary;
+        replicas.forEach((name, dataSource) -> this.replicas.add(new Replica(name, dataSource)));
+        this.readYourWrites = readYourWrites;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.recoveryThreshold = Math.max(1, recoveryThreshold);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Replica replica = selectReplica();
+        if (replica != null) {
+            try {
+                Connection connection = replica.dataSource.getConnection();
+                replica.recordSuccess();
+                replicaConnections.increment();
+                return connection;
+            } catch (SQLException e) {
+                replica.recordFailure(e);
+                fallbacks.increment();
+            }
+        }
+        Connection connection = primary.getConnection();
+        primaryConnections.increment();
+        return connection;
+    }
+
+    // 사용자 지정 자격 증명은 primary 계정 기준이므로 항상 primary 로 보냅니다.
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    private Replica selectReplica() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (readYourWrites && TransactionSynchronizationManager.isActualTransactionActive()) {
+                markSticky();
+            }
+            return null;
+        }
+        if (replicas.isEmpty() || (readYourWrites && isSticky())) {
+            return null;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private static void markSticky() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(STICKY_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    private static boolean isSticky() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes != null
+                && attributes.getAttribute(STICKY_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null;
+    }
+
+    // ReplicaHealthChecker 가 주기적으로 호출합니다. 제외된 replica 도 확인해서 회복되면 되돌립니다.
+    public void checkReplicas(Duration timeout) {
+        int seconds = (int) Math.max(1, timeout.toSeconds());
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                if (connection.isValid(seconds)) {
+                    replica.recordSuccess();
+                } else {
+                    replica.recordFailure(null);
+                }
+            } catch (SQLException e) {
+                replica.recordFailure(e);
+            }
+        }
+    }
+
+    public Map<String, Boolean> replicaHealth() {
+        Map<String, Boolean> health = new LinkedHashMap<>();
+        replicas.forEach(replica -> health.put(replica.name, replica.healthy));
+        return health;
+    }
+
+    private long healthyReplicas() {
+        return replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("app.datasource.replicas.healthy", this, ReadWriteRoutingDataSource::healthyReplicas)
+                .description("Replicas currently receiving read-only transactions")
+                .register(registry);
+        FunctionCounter.builder("app.datasource.routed", primaryConnections, LongAdder::sum)
+                .description("Connections handed out by the read/write router")
+                .tag("target", "primary")
+                .register(registry);
+        FunctionCounter.builder("app.datasource.routed", replicaConnections, LongAdder::sum)
+                .description("Connections handed out by the read/write router")
+                .tag("target", "replica")
+                .register(registry);
+        FunctionCounter.builder("app.datasource.replica.fallbacks", fallbacks, LongAdder::sum)
+                .description("Read-only connections sent to the primary because a replica failed")
+                .register(registry);
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private final AtomicInteger failures = new AtomicInteger();
+        private final AtomicInteger successes = new AtomicInteger();
+        private volatile boolean healthy = true;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        private void recordFailure(SQLException cause) {
+            successes.set(0);
+            if (failures.incrementAndGet() >= failureThreshold && healthy) {
+                healthy = false;
+                log.warn("Replica {} ejected after {} consecutive failures: {}", name, failureThreshold,
+                        cause != null ? cause.getMessage() : "connection is not valid");
+            }
+        }
+
+        private void recordSuccess() {
+            failures.set(0);
+            if (!healthy && successes.incrementAndGet() >= recoveryThreshold) {
+                healthy = true;
+                log.info("Replica {} is healthy again and receives read-only transactions", name);
+            }
+        }
+    }
+}
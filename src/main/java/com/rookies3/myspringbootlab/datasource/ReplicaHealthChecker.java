@@ -0,0 +1,21 @@
+package com.rookies3.myspringbootlab.datasource;
+
+import com.rookies3.myspringbootlab.property.DataSourceRoutingProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * replica 연결 상태를 주기적으로 확인해서, 연속으로 실패한 replica 는 읽기 대상에서 빼고 회복되면 되돌립니다.
+ * ReadWriteRoutingConfig 가 라우팅이 켜져 있을 때만 빈으로 등록합니다.
+ */
+@RequiredArgsConstructor
+public class ReplicaHealthChecker {
+
+    private final ReadWriteRoutingDataSource routingDataSource;
+    private final DataSourceRoutingProperties properties;
+
+    @Scheduled(fixedDelayString = "${app.datasource.routing.health-check-interval:5s}")
+    public void check() {
+        routingDataSource.checkReplicas(properties.getHealthCheckTimeout());
+    }
+}
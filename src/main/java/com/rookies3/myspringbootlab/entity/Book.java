@@ -1,5 +1,6 @@
 package com.rookies3.myspringbootlab.entity;
 
+import com.rookies3.myspringbootlab.service.search.BookSearchIndexListener;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.DynamicUpdate;
@@ -7,7 +8,13 @@ import org.hibernate.annotations.DynamicUpdate;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "books")
+@EntityListeners(BookSearchIndexListener.class)
+@Table(name = "books",
+        // 키셋 페이지네이션의 (정렬키, id) seek 조건을 인덱스로 처리하기 위한 복합 인덱스
+        indexes = {
+                @Index(name = "idx_books_title_id", columnList = "title, book_id"),
+                @Index(name = "idx_books_publish_date_id", columnList = "publish_date, book_id")
+        })
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
@@ -15,30 +22,59 @@ import java.time.LocalDate;
 @Setter
 public class Book {
 
+    // IDENTITY 는 INSERT 를 실행해야 id 를 알 수 있어 JDBC 배치가 꺼집니다. 시퀀스에서 50 개씩 미리 받아 대량 등록도 배치로 넣습니다.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "books_seq")
+    @SequenceGenerator(name = "books_seq", sequenceName = "books_seq", allocationSize = 50)
     @Column(name = "book_id")
     private Long id;
 
+    // 낙관적 잠금 + ETag 용 버전. 기존 행은 0 으로 채워지도록 기본값을 둡니다.
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     @Column(nullable = false)
     private String title;
 
     @Column(nullable = false)
     private String author;
 
-    @Column(unique = true, nullable = false)
+    // 정규화된 ISBN-13 (하이픈 없음). 유일성은 아래 isbn_key 로 보장합니다.
+    @Column(nullable = false)
     private String isbn;
 
+    // isbn 의 숫자 키(BIGINT) - 조회와 중복 검사에 사용합니다. 기존 행은 BookIsbnKeyBackfill 이 채울 때까지 NULL 입니다.
+    @Setter(AccessLevel.NONE)
+    @Column(name = "isbn_key", unique = true)
+    private Long isbnKey;
+
     private Integer price;
 
+    @Column(name = "publish_date")
     private LocalDate publishDate;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "publisher_id")
     private Publisher publisher;
 
+    // mappedBy 쪽 @OneToOne 은 상세가 있는지 알 수 없어 프록시를 만들지 못하므로, 그대로 두면 Book 을 읽을 때마다
+    // book_details 를 한 번씩 더 조회합니다. 빌드 시 바이트코드 향상(hibernate-enhance-maven-plugin)으로
+    // 필드 단위 지연 로딩을 켜 두었기 때문에 실제로 접근할 때 PK(book_id) 조회 한 번으로 읽습니다.
     @OneToOne(mappedBy = "book",
             cascade = CascadeType.ALL,
             fetch = FetchType.LAZY)
     private BookDetail bookDetail;
+
+    public void setIsbn(String isbn) {
+        Isbn parsed = Isbn.parse(isbn);
+        this.isbn = parsed.toString();
+        this.isbnKey = parsed.key();
+    }
+
+    // 빌더로 만든 엔티티는 setIsbn 을 거치지 않으므로 저장 직전에 정규화합니다.
+    @PrePersist
+    void normalizeIsbn() {
+        setIsbn(isbn);
+    }
 }
\ No newline at end of file
@@ -12,11 +12,19 @@ import lombok.*;
 @Setter
 public class BookDetail {
     
+    // 도서와 기본 키를 공유합니다. (book_details.book_id = PK 이자 books.book_id 를 가리키는 FK)
+    // 값은 @MapsId 로 book 에서 채워지므로 직접 지정하지 않습니다.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    @Column(name = "book_detail_id")
+    @Column(name = "book_id")
     private Long id;
+
+    // 낙관적 잠금 + ETag 용 버전. 기존 행은 0 으로 채워지도록 기본값을 둡니다.
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
     
+    // book.compression.enabled=true 이면 임계값 이상의 긴 설명은 압축해서 저장합니다. (CompressedTextConverter)
+    @Convert(converter = CompressedTextConverter.class)
     @Column(columnDefinition = "TEXT")
     private String description;
     
@@ -35,7 +43,8 @@ public class BookDetail {
     @Column(name = "edition")
     private String edition;
     
+    @MapsId
     @OneToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "book_id", unique = true)
+    @JoinColumn(name = "book_id")
     private Book book;
 }
\ No newline at end of file
@@ -0,0 +1,57 @@
+package com.rookies3.myspringbootlab.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * 변경 피드(GET /api/changes)용 트랜잭션 아웃박스 행.
+ * 도서/출판사를 바꾸는 트랜잭션 안에서 함께 INSERT 되므로, 롤백된 변경은 피드에 나가지 않습니다.
+ * <p>
+ * 피드의 오프셋(SSE 이벤트 id)은 id 가 아니라 릴레이(ChangeFeedRelay)가 커밋된 행을 처음 볼 때 매기는 feedOffset 입니다.
+ * id 는 INSERT 시점에 정해지므로 늦게 커밋된 트랜잭션의 행이 이미 보낸 id 보다 작을 수 있습니다.
+ */
+@Entity
+@Table(name = "change_events",
+        indexes = @Index(name = "idx_change_events_occurred_at", columnList = "occurred_at"),
+        uniqueConstraints = @UniqueConstraint(name = "uk_change_events_feed_offset", columnNames = "feed_offset"))
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Getter
+@Setter
+public class ChangeEvent {
+    // 도서와 함께 대량으로 INSERT 되므로 Book 과 같이 시퀀스로 배치에 태웁니다.
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "change_events_seq")
+    @SequenceGenerator(name = "change_events_seq", sequenceName = "change_events_seq", allocationSize = 50)
+    @Column(name = "change_event_id")
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private AggregateType aggregateType;
+
+    @Column(nullable = false)
+    private Long aggregateId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ChangeType changeType;
+
+    @Column(name = "occurred_at", nullable = false)
+    private Instant occurredAt;
+
+    // 아직 릴레이가 보지 못한 행은 NULL 입니다. UNIQUE 라서 릴레이가 둘 이상 떠 있어도 같은 오프셋이 두 번 매겨지지 않습니다.
+    @Column(name = "feed_offset")
+    private Long feedOffset;
+
+    public enum AggregateType {
+        BOOK, PUBLISHER
+    }
+
+    public enum ChangeType {
+        CREATED, UPDATED, DELETED
+    }
+}
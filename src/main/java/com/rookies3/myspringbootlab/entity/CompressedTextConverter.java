@@ -0,0 +1,111 @@
+package com.rookies3.myspringbootlab.entity;
+
+import com.rookies3.myspringbootlab.property.BookCompressionProperties;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 긴 텍스트를 Deflate 로 압축해 "{deflate}" + Base64 형태로 같은 TEXT 컬럼에 저장합니다.
+ * <p>
+ * 접두어가 없는 값은 그대로 읽으므로 압축된 행과 평문 행이 섞여 있어도 되고, 압축을 꺼도 기존 행을 계속 읽을 수 있습니다.
+ * 컬럼 타입을 바꾸지 않으려고 Base64 를 사용하므로 압축 결과가 원문보다 (UTF-8 바이트 기준으로) 작을 때만 압축본을 저장합니다.
+ * Hibernate 가 Spring 빈 컨테이너로 생성하며, 설정 빈이 없는 환경(@DataJpaTest 등)에서는 압축하지 않습니다.
+ */
+@Converter
+public class CompressedTextConverter implements AttributeConverter<String, String> {
+
+    public static final String PREFIX = "{deflate}";
+
+    private final BookCompressionProperties properties;
+
+    @Autowired
+    public CompressedTextConverter(ObjectProvider<BookCompressionProperties> properties) {
+        this(properties.getIfAvailable());
+    }
+
+    public CompressedTextConverter(BookCompressionProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public String convertToDatabaseColumn(String text) {
+        if (text == null) {
+            return null;
+        }
+        // 평문이 우연히 접두어로 시작하면 압축 설정과 무관하게 압축해서 읽을 때 오해하지 않도록 합니다.
+        boolean mustCompress = text.startsWith(PREFIX);
+        if (!mustCompress && (properties == null || !properties.isEnabled())) {
+            return text;
+        }
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        if (!mustCompress && bytes.length < properties.getThreshold().toBytes()) {
+            return text;
+        }
+        String compressed = PREFIX + Base64.getEncoder().encodeToString(deflate(bytes, level()));
+        // 임계값과 컬럼 크기는 UTF-8 바이트 기준입니다. 한글은 글자당 3바이트, Base64 는 1바이트이므로 글자 수로 비교하면 안 됩니다.
+        return mustCompress || compressed.getBytes(StandardCharsets.UTF_8).length < bytes.length ? compressed : text;
+    }
+
+    @Override
+    public String convertToEntityAttribute(String column) {
+        if (column == null || !isCompressed(column)) {
+            return column;
+        }
+        byte[] compressed = Base64.getDecoder().decode(column.substring(PREFIX.length()));
+        return new String(inflate(compressed), StandardCharsets.UTF_8);
+    }
+
+    public static boolean isCompressed(String column) {
+        return column.startsWith(PREFIX);
+    }
+
+    private int level() {
+        return properties != null ? properties.getLevel() : Deflater.DEFAULT_COMPRESSION;
+    }
+
+    private static byte[] deflate(byte[] input, int level) {
+        Deflater deflater = new Deflater(level, true);
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, input.length / 2));
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] input) {
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(input);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length * 3);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int read = inflater.inflate(buffer);
+                if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("Truncated compressed text");
+                }
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupted compressed text", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.rookies3.myspringbootlab.entity;
+
+import com.rookies3.myspringbootlab.exception.BusinessException;
+import com.rookies3.myspringbootlab.exception.ErrorCode;
+
+import java.util.Optional;
+
+/**
+ * 정규화된 ISBN - 하이픈/공백을 제거하고, ISBN-10 은 978 접두어를 붙인 ISBN-13 으로 바꾼 뒤 체크섬을 확인합니다.
+ * <p>
+ * ISBN-13 은 978/979 로 시작하는 13자리 숫자이므로 그대로 long 하나에 들어갑니다.
+ * books.isbn_key(BIGINT, UNIQUE) 에 이 값을 저장해서 조회와 중복 검사를 가변 길이 문자열 대신 8바이트 키로 처리합니다.
+ */
+public final class Isbn {
+
+    private final long key;
+
+    private Isbn(long key) {
+        this.key = key;
+    }
+
+    public static Isbn parse(String raw) {
+        return tryParse(raw).orElseThrow(() -> new BusinessException(ErrorCode.INVALID_ISBN, raw));
+    }
+
+    public static Optional<Isbn> tryParse(String raw) {
+        if (raw == null) {
+            return Optional.empty();
+        }
+        StringBuilder digits = new StringBuilder(13);
+        for (int i = 0; i < raw.length(); i++) {
+            char c = raw.charAt(i);
+            if (c == '-' || c == ' ') {
+                continue;
+            }
+            if (digits.length() == 13) {
+                return Optional.empty();
+            }
+            digits.append(c == 'x' ? 'X' : c);
+        }
+
+        String value = digits.toString();
+        if (value.length() == 10) {
+            if (!isDigits(value, 0, 9) || !isIsbn10Valid(value)) {
+                return Optional.empty();
+            }
+            value = withCheckDigit("978" + value.substring(0, 9));
+        } else if (value.length() == 13) {
+            if (!isDigits(value, 0, 13) || !(value.startsWith("978") || value.startsWith("979"))
+                    || checkDigit13(value) != value.charAt(12) - '0') {
+                return Optional.empty();
+            }
+        } else {
+            return Optional.empty();
+        }
+        return Optional.of(new Isbn(Long.parseLong(value)));
+    }
+
+    // 캐시 키처럼 "같은 책이면 같은 값" 이어야 하는 곳에서 사용 - 유효하지 않으면 입력을 그대로 돌려줍니다.
+    public static String normalizeOrRaw(String raw) {
+        return tryParse(raw).map(Isbn::toString).orElse(raw);
+    }
+
+    // 앞 12자리에 ISBN-13 체크 숫자를 붙입니다.
+    public static String withCheckDigit(String first12) {
+        if (first12.length() != 12 || !isDigits(first12, 0, 12)) {
+            throw new IllegalArgumentException("Expected 12 digits: " + first12);
+        }
+        return first12 + checkDigit13(first12);
+    }
+
+    public long key() {
+        return key;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Isbn other && other.key == key;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(key);
+    }
+
+    // 하이픈 없는 ISBN-13
+    @Override
+    public String toString() {
+        return Long.toString(key);
+    }
+
+    // 가중치 10..1 의 합이 11 의 배수여야 합니다. 마지막 자리 'X' 는 10 입니다.
+    private static boolean isIsbn10Valid(String value) {
+        char last = value.charAt(9);
+        if (last != 'X' && (last < '0' || last > '9')) {
+            return false;
+        }
+        int sum = 0;
+        for (int i = 0; i < 9; i++) {
+            sum += (10 - i) * (value.charAt(i) - '0');
+        }
+        sum += last == 'X' ? 10 : last - '0';
+        return sum % 11 == 0;
+    }
+
+    // 가중치 1, 3 을 번갈아 곱한 합으로 구합니다.
+    private static int checkDigit13(CharSequence value) {
+        int sum = 0;
+        for (int i = 0; i < 12; i++) {
+            sum += (value.charAt(i) - '0') * (i % 2 == 0 ? 1 : 3);
+        }
+        return (10 - sum % 10) % 10;
+    }
+
+    private static boolean isDigits(String value, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
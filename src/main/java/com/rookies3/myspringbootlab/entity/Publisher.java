@@ -2,6 +2,8 @@ package com.rookies3.myspringbootlab.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.OptimisticLock;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -14,12 +16,26 @@ import java.util.List;
 @Builder
 @Getter
 @Setter
+// 바뀐 컬럼만 UPDATE 합니다. 출판사 수정이 읽어 둔 booksVersion 을 그대로 다시 써서 그사이 커밋된 도서 쓰기의 증가를 되돌리지 않도록 합니다.
+@DynamicUpdate
 public class Publisher {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "publisher_id")
     private Long id;
 
+    // 낙관적 잠금 + ETag 용 버전. 기존 행은 0 으로 채워지도록 기본값을 둡니다.
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
+    // 소속 도서가 등록/수정/삭제/이동될 때마다 도서 쓰기가 올리는 값. 조회 응답의 도서 수와 도서 목록이 바뀌었는지를
+    // ETag 에 반영합니다. 출판사 자체의 수정과는 무관하므로 @Version 을 올리지 않도록 낙관적 잠금 대상에서 뺍니다.
+    @OptimisticLock(excluded = true)
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    @Builder.Default
+    private Long booksVersion = 0L;
+
     @Column(unique = true, nullable = false)
     private String name;
 
@@ -35,4 +51,9 @@ public class Publisher {
     //빌더 패턴을 적용했을때 변수에 명시적으로 초기화 한 값이 유지 되도록 해주는 어노테이션
     @Builder.Default
     private List<Book> books = new ArrayList<>();
+
+    // 행을 잠근 채(PublisherRepository.findAllByIdForUpdate) 호출해야 동시에 커밋되는 도서 쓰기의 증가를 덮어쓰지 않습니다.
+    public void increaseBooksVersion() {
+        booksVersion++;
+    }
 }
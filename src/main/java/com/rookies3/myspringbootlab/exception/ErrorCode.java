@@ -11,6 +11,15 @@ public enum ErrorCode {
     RESOURCE_NOT_FOUND("%s not found with %s: %s", HttpStatus.NOT_FOUND),
     RESOURCE_DUPLICATE("%s already exists with %s: %s", HttpStatus.CONFLICT),
     RESOURCE_ALREADY_EXISTS("%s already exists: %s", HttpStatus.CONFLICT),
+    INVALID_CURSOR("Invalid cursor: %s", HttpStatus.BAD_REQUEST),
+    INVALID_SORT_KEY("Unsupported sort key: %s", HttpStatus.BAD_REQUEST),
+    PRECONDITION_FAILED("%s with id %s has been modified (current ETag: %s)", HttpStatus.PRECONDITION_FAILED),
+    CONCURRENT_MODIFICATION("%s was modified by another request, please reload and retry", HttpStatus.CONFLICT),
+    DATA_CONFLICT("Request conflicts with data saved by another request, please reload and retry", HttpStatus.CONFLICT),
+    TOO_MANY_SUBSCRIBERS("Change feed already has the maximum of %s subscribers", HttpStatus.SERVICE_UNAVAILABLE),
+    LOAD_TIMEOUT("Timed out waiting for concurrent %s load of %s", HttpStatus.SERVICE_UNAVAILABLE),
+    ENDPOINT_OVERLOADED("Too many concurrent %s requests, please retry later", HttpStatus.SERVICE_UNAVAILABLE),
+    SERVER_BUSY("Too many concurrent API requests, please retry later", HttpStatus.SERVICE_UNAVAILABLE),
 
     // Student specific errors - 학생 관련 특수한 경우
     STUDENT_NUMBER_DUPLICATE("Student already exists with student number: %s", HttpStatus.CONFLICT),
@@ -21,6 +30,7 @@ public enum ErrorCode {
 
     // Book specific errors - 도서 관련 특수한 경우
     ISBN_DUPLICATE("Book already exists with ISBN: %s", HttpStatus.CONFLICT),
+    INVALID_ISBN("Invalid ISBN (checksum or prefix mismatch): %s", HttpStatus.BAD_REQUEST),
 
     // Publisher specific errors - 출판사 관련 특수한 경우
     PUBLISHER_NAME_DUPLICATE("Publisher already exists with name: %s", HttpStatus.CONFLICT),
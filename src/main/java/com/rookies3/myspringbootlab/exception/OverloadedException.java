@@ -0,0 +1,19 @@
+package com.rookies3.myspringbootlab.exception;
+
+import com.rookies3.myspringbootlab.admission.EndpointClass;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.Locale;
+
+// 분류별 동시 처리 한도 초과 - Retry-After 헤더로 다시 시도할 시점을 알려줍니다.
+@Getter
+public class OverloadedException extends BusinessException {
+    private static final long serialVersionUID = 1L;
+    private final Duration retryAfter;
+
+    public OverloadedException(EndpointClass endpointClass, Duration retryAfter) {
+        super(ErrorCode.ENDPOINT_OVERLOADED, endpointClass.name().toLowerCase(Locale.ROOT));
+        this.retryAfter = retryAfter;
+    }
+}
@@ -1,19 +1,26 @@
 package com.rookies3.myspringbootlab.exception.advice;
 
 import com.rookies3.myspringbootlab.exception.BusinessException;
+import com.rookies3.myspringbootlab.exception.ErrorCode;
+import com.rookies3.myspringbootlab.exception.OverloadedException;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
@@ -33,6 +40,25 @@ public class DefaultExceptionAdvice {
         return new ResponseEntity<ErrorObject>(errorObject, HttpStatusCode.valueOf(ex.getHttpStatus().value()));
     }
 
+    // 동시 처리 한도 초과 - 과부하 중에 거절마다 스택을 남기지 않도록 debug 로만 기록합니다.
+    @ExceptionHandler(OverloadedException.class)
+    public ResponseEntity<ErrorObject> handleOverloadedException(OverloadedException ex) {
+        ErrorObject errorObject = new ErrorObject();
+        errorObject.setStatusCode(ex.getHttpStatus().value());
+        errorObject.setMessage(ex.getMessage());
+
+        log.debug(ex.getMessage());
+
+        return ResponseEntity.status(ex.getHttpStatus())
+                .header(HttpHeaders.RETRY_AFTER, retryAfterSeconds(ex.getRetryAfter()))
+                .body(errorObject);
+    }
+
+    // Retry-After 는 초 단위 정수이므로 올림하고, 0 초로 바로 재시도하지 않도록 최소 1 초로 둡니다.
+    public static String retryAfterSeconds(Duration retryAfter) {
+        return String.valueOf(Math.max(1, (retryAfter.toMillis() + 999) / 1000));
+    }
+
     /*
         Spring6 버전에 추가된 ProblemDetail 객체에 에러정보를 담아서 리턴하는 방법
      */
@@ -56,6 +82,31 @@ public class DefaultExceptionAdvice {
         return new ResponseEntity<>(result, HttpStatus.BAD_REQUEST);
     }
 
+    // @Version 검사 실패 - 읽은 뒤 다른 요청이 먼저 같은 엔티티를 수정한 경우
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    protected ResponseEntity<ErrorObject> handleException(OptimisticLockingFailureException e) {
+        ErrorObject errorObject = new ErrorObject();
+        errorObject.setStatusCode(ErrorCode.CONCURRENT_MODIFICATION.getHttpStatus().value());
+        errorObject.setMessage(ErrorCode.CONCURRENT_MODIFICATION.formatMessage(
+                e instanceof ObjectOptimisticLockingFailureException ex ? ex.getPersistentClassName() : "Resource"));
+
+        log.warn(e.getMessage());
+
+        return new ResponseEntity<>(errorObject, ErrorCode.CONCURRENT_MODIFICATION.getHttpStatus());
+    }
+
+    // UNIQUE 제약 위반 - 사전 중복 확인(ISBN 필터 등)을 통과한 뒤 다른 요청이 같은 값을 먼저 저장한 경우
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    protected ResponseEntity<ErrorObject> handleException(DataIntegrityViolationException e) {
+        ErrorObject errorObject = new ErrorObject();
+        errorObject.setStatusCode(ErrorCode.DATA_CONFLICT.getHttpStatus().value());
+        errorObject.setMessage(ErrorCode.DATA_CONFLICT.formatMessage());
+
+        log.warn(e.getMostSpecificCause().getMessage());
+
+        return new ResponseEntity<>(errorObject, ErrorCode.DATA_CONFLICT.getHttpStatus());
+    }
+
     @ExceptionHandler(RuntimeException.class)
     protected ResponseEntity<ErrorObject> handleException(RuntimeException e) {
         ErrorObject errorObject = new ErrorObject();
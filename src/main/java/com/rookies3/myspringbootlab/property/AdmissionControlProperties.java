@@ -0,0 +1,43 @@
+package com.rookies3.myspringbootlab.property;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties("app.admission")
+@Getter
+@Setter
+public class AdmissionControlProperties {
+    // false 이면 @AdmissionControlled 엔드포인트도 한도 없이 처리합니다. (한도 상태는 계속 /actuator/admission 에 보입니다)
+    private boolean enabled = true;
+    // 한도 초과로 거절할 때 Retry-After 로 알려주는 대기 시간 (초 단위로 올림)
+    private Duration retryAfter = Duration.ofSeconds(1);
+    // 단건 조회 - 대부분 캐시에서 끝나므로 한도를 넉넉하게 둡니다.
+    private Limit point = new Limit(32, 8, 256);
+    // 목록/검색/내보내기 - 요청 하나가 커넥션을 오래 잡고 많은 행을 읽으므로 커넥션 풀보다 작게 둡니다.
+    private Limit scan = new Limit(4, 1, 8);
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    public static class Limit {
+        private int initialLimit = 10;
+        private int minLimit = 1;
+        private int maxLimit = 100;
+        // 지연이 늘었을 때 한도에 곱하는 값
+        private double backoffRatio = 0.9;
+        // 최근 구간의 지연 p90 이 기준 지연(구간 p90 의 이동 평균)의 이 배수를 넘으면 과부하로 봅니다.
+        private double latencyTolerance = 2.0;
+
+        public Limit(int initialLimit, int minLimit, int maxLimit) {
+            this.initialLimit = initialLimit;
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.rookies3.myspringbootlab.property;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties("book.cache")
+@Getter
+@Setter
+public class BookCacheProperties {
+    // id / ISBN 단건 조회 캐시
+    private long lookupMaximumSize = 10_000;
+    private Duration lookupTtl = Duration.ofMinutes(10);
+    // 제목/저자 검색 결과 페이지 캐시 - 갱신 시 전체를 비우므로 짧게 유지합니다.
+    private long searchMaximumSize = 1_000;
+    private Duration searchTtl = Duration.ofSeconds(30);
+    // GET /api/books/{id} 응답 바이트 캐시의 최대 크기
+    private DataSize jsonMaximumBytes = DataSize.ofMegabytes(64);
+}
@@ -0,0 +1,22 @@
+package com.rookies3.myspringbootlab.property;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+@Component
+@ConfigurationProperties("book.compression")
+@Getter
+@Setter
+public class BookCompressionProperties {
+    // 도서 상세 설명(description) 압축 저장 여부 - 꺼도 이미 압축된 행은 계속 읽을 수 있습니다.
+    private boolean enabled = false;
+    // 이 크기(UTF-8 바이트) 이상인 설명만 압축합니다.
+    private DataSize threshold = DataSize.ofBytes(1024);
+    // java.util.zip.Deflater 압축 레벨 (1: 빠름 ~ 9: 작음)
+    private int level = 6;
+    // 기존 행 변환(/actuator/bookcompression) 시 한 번에 읽고 쓰는 행 수
+    private int migrationBatchSize = 500;
+}
@@ -0,0 +1,17 @@
+package com.rookies3.myspringbootlab.property;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties("book.import")
+@Getter
+@Setter
+public class BookImportProperties {
+    // 한 트랜잭션으로 커밋할 행 수
+    private int chunkSize = 1000;
+    // 응답에 담을 최대 행 단위 오류 수 (나머지는 건수만 집계)
+    private int maxReportedErrors = 1000;
+}
@@ -0,0 +1,17 @@
+package com.rookies3.myspringbootlab.property;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties("book.search")
+@Getter
+@Setter
+public class BookSearchProperties {
+    // false 이면 인메모리 색인을 만들지 않고 항상 DB LIKE 검색을 사용합니다.
+    private boolean indexEnabled = true;
+    // 기동 시 색인을 적재할 때 한 번에 읽어오는 행 수
+    private int loadBatchSize = 1000;
+}
@@ -0,0 +1,28 @@
+package com.rookies3.myspringbootlab.property;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties("app.change-feed")
+@Getter
+@Setter
+public class ChangeFeedProperties {
+    // 아웃박스 폴링 주기
+    private Duration pollInterval = Duration.ofMillis(500);
+    // SSE 메시지 하나에 담을 최대 이벤트 수
+    private int batchSize = 100;
+    // 뒤처진 구독자가 한 번의 폴링에서 따라잡을 최대 배치 수
+    private int maxBatchesPerPoll = 10;
+    // 보낼 이벤트가 없을 때 연결 유지를 위한 주석 전송 주기
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+    // SSE 연결 최대 유지 시간 (끊기면 클라이언트가 Last-Event-ID 로 재연결)
+    private Duration emitterTimeout = Duration.ofMinutes(30);
+    private int maxSubscribers = 100;
+    // 아웃박스 보관 기간 - 이보다 오래 끊겨 있던 구독자는 전체 재조회가 필요합니다.
+    private Duration retention = Duration.ofDays(7);
+}
@@ -0,0 +1,23 @@
+package com.rookies3.myspringbootlab.property;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties("app.coalescing")
+@Getter
+@Setter
+public class CoalescingProperties {
+    // false 이면 같은 키의 동시 조회도 각자 DB 에서 읽습니다.
+    private boolean enabled = true;
+    // 먼저 시작된 로드를 기다리는 최대 시간 - 넘기면 대기 중인 요청은 503 으로 실패하고, 이후 요청은 새로 로드합니다.
+    private Duration timeout = Duration.ofSeconds(5);
+    // 조회 종류별 대기 시간 (book-json, book-by-id, book-by-isbn, publisher-book-count, publisher-by-id, publisher-by-name)
+    private Map<String, Duration> timeouts = new HashMap<>();
+}
@@ -0,0 +1,41 @@
+package com.rookies3.myspringbootlab.property;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@ConfigurationProperties("app.datasource.routing")
+@Getter
+@Setter
+public class DataSourceRoutingProperties {
+    // true 이면 readOnly 트랜잭션을 replicas 로 보냅니다. primary 는 spring.datasource.* 설정을 그대로 사용합니다.
+    private boolean enabled = false;
+    private List<Replica> replicas = new ArrayList<>();
+    // 한 요청 안에서 쓰기 트랜잭션을 실행한 뒤의 읽기는 복제 지연을 피하도록 primary 로 보냅니다.
+    private boolean readYourWrites = true;
+    // replica 상태 확인 주기와 Connection.isValid 제한 시간
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+    private Duration healthCheckTimeout = Duration.ofSeconds(2);
+    // 연속 실패 횟수가 이 값에 도달하면 replica 를 제외하고, 연속 성공 횟수가 recoveryThreshold 에 도달하면 다시 넣습니다.
+    private int failureThreshold = 2;
+    private int recoveryThreshold = 2;
+
+    @Getter
+    @Setter
+    public static class Replica {
+        private String name;
+        private String url;
+        private String username;
+        private String password;
+        private String driverClassName;
+        private int maximumPoolSize = 10;
+        // replica 가 죽었을 때 요청이 오래 기다리지 않고 primary 로 넘어가도록 짧게 둡니다.
+        private Duration connectionTimeout = Duration.ofSeconds(2);
+    }
+}
@@ -0,0 +1,21 @@
+package com.rookies3.myspringbootlab.property;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties("book.isbn-filter")
+@Getter
+@Setter
+public class IsbnFilterProperties {
+    // false 이면 필터를 만들지 않고 등록/수정 때마다 DB 로 ISBN 중복을 확인합니다.
+    private boolean enabled = true;
+    // 필터 크기를 정하는 기준 도서 수 - 이 수를 넘으면 오탐률이 목표보다 높아집니다.
+    private long expectedInsertions = 1_000_000;
+    // 목표 오탐률 (있다고 답했지만 실제로는 없는 비율)
+    private double falsePositiveRate = 0.01;
+    // 기동 시 필터를 채울 때 한 번에 읽어오는 행 수
+    private int loadBatchSize = 5000;
+}
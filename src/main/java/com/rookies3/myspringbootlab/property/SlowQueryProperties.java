@@ -0,0 +1,27 @@
+package com.rookies3.myspringbootlab.property;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties("app.slow-query")
+@Getter
+@Setter
+public class SlowQueryProperties {
+    // false 이면 DataSource 를 감싸지 않습니다.
+    private boolean enabled = true;
+    // 이 시간 이상 걸린 SQL 은 모두 기록합니다.
+    private Duration threshold = Duration.ofMillis(200);
+    // 임계값 미만 SQL 중 기록할 비율 (0.0 ~ 1.0)
+    private double sampleRate = 0.0;
+    // 요청 스레드와 기록 스레드 사이 버퍼 크기 - 가득 차면 버리고 dropped 로 셉니다.
+    private int bufferCapacity = 10_000;
+    // /actuator/slowqueries 로 조회할 수 있는 최근 항목 수
+    private int historySize = 200;
+    // 바인드 파라미터 값 하나의 최대 길이
+    private int maxParameterLength = 100;
+}
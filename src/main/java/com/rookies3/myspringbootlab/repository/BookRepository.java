@@ -1,16 +1,39 @@
 package com.rookies3.myspringbootlab.repository;
 
+import com.rookies3.myspringbootlab.controller.dto.BookDTO;
 import com.rookies3.myspringbootlab.entity.Book;
+import com.rookies3.myspringbootlab.entity.Isbn;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface BookRepository extends JpaRepository<Book, Long> {
 
-    Optional<Book> findByIsbn(String isbn);
+    // 목록 조회 프로젝션(BookDTO.ListRow) 공통 SELECT - 엔티티 대신 응답에 필요한 컬럼만 읽습니다.
+    // bookDetail, publisher 는 to-one 관계이므로 LEFT JOIN 과 LIMIT 을 함께 사용해도 행이 늘어나지 않습니다.
+    String LIST_ROW_SELECT = "SELECT new com.rookies3.myspringbootlab.controller.dto.BookDTO$ListRow(" +
+            "b.id, b.title, b.author, b.isbn, b.price, b.publishDate, " +
+            "d.id, d.description, d.language, d.pageCount, d.publisher, d.coverImageUrl, d.edition, " +
+            "p.id, p.name, p.establishedDate, p.address) " +
+            "FROM Book b LEFT JOIN b.bookDetail d LEFT JOIN b.publisher p ";
+
+    // ISBN 조회/중복 검사는 정규화된 숫자 키(isbn_key) 인덱스로 처리합니다.
+    // 유효하지 않은 ISBN 은 저장될 수 없으므로 쿼리 없이 "없음" 으로 답합니다.
+    default Optional<Book> findByIsbn(String isbn) {
+        return Isbn.tryParse(isbn).flatMap(parsed -> findByIsbnKey(parsed.key()));
+    }
+
+    Optional<Book> findByIsbnKey(Long isbnKey);
 
     List<Book> findByAuthorContainingIgnoreCase(String author);
 
@@ -18,17 +41,133 @@ public interface BookRepository extends JpaRepository<Book, Long> {
 
     List<Book> findByPublisherId(Long publisherId);
 
-    boolean existsByIsbn(String isbn);
+    default boolean existsByIsbn(String isbn) {
+        return Isbn.tryParse(isbn).map(parsed -> existsByIsbnKey(parsed.key())).orElse(false);
+    }
+
+    boolean existsByIsbnKey(Long isbnKey);
+
+    // 대량 등록 시 청크 단위로 ISBN 중복을 한 번에 확인
+    @Query("SELECT b.isbnKey FROM Book b WHERE b.isbnKey IN :isbnKeys")
+    List<Long> findExistingIsbnKeys(@Param("isbnKeys") Collection<Long> isbnKeys);
 
     // PublisherService에서 사용하는 메서드
     Long countByPublisherId(Long publisherId); // 다시 추가됨
 
+    // 도서 목록 응답의 출판사별 도서 수 - publisher.books 컬렉션을 로딩하지 않고 GROUP BY 한 번으로 구합니다.
+    interface PublisherBookCount {
+        Long getPublisherId();
+        Long getBookCount();
+    }
+
+    @Query("SELECT b.publisher.id AS publisherId, COUNT(b) AS bookCount FROM Book b " +
+            "WHERE b.publisher.id IN :publisherIds GROUP BY b.publisher.id")
+    List<PublisherBookCount> countByPublisherIds(@Param("publisherIds") Collection<Long> publisherIds);
+
+    // 전체 목록 조회 - findAll() 은 책마다 bookDetail/publisher 를 따로 조회하므로 조인 한 번으로 읽습니다.
+    @Query(LIST_ROW_SELECT + "ORDER BY b.id")
+    List<BookDTO.ListRow> findAllRows();
+
+    @Query(LIST_ROW_SELECT + "WHERE p.id = :publisherId ORDER BY b.id")
+    List<BookDTO.ListRow> findRowsByPublisherId(@Param("publisherId") Long publisherId);
+
     @Query("SELECT b FROM Book b LEFT JOIN FETCH b.bookDetail WHERE b.id = :id")
     Optional<Book> findByIdWithBookDetail(@Param("id") Long id);
 
-    @Query("SELECT b FROM Book b LEFT JOIN FETCH b.bookDetail WHERE b.isbn = :isbn")
-    Optional<Book> findByIsbnWithBookDetail(@Param("isbn") String isbn);
+    default Optional<Book> findByIsbnWithBookDetail(String isbn) {
+        return Isbn.tryParse(isbn).flatMap(parsed -> findByIsbnKeyWithBookDetail(parsed.key()));
+    }
+
+    @Query("SELECT b FROM Book b LEFT JOIN FETCH b.bookDetail WHERE b.isbnKey = :isbnKey")
+    Optional<Book> findByIsbnKeyWithBookDetail(@Param("isbnKey") Long isbnKey);
 
     @Query("SELECT b FROM Book b LEFT JOIN FETCH b.bookDetail LEFT JOIN FETCH b.publisher WHERE b.id = :id")
     Optional<Book> findByIdWithAllDetalis(@Param("id") Long id);
+
+    // ETag 계산용 - 응답(BookDTO.Response)에 들어가는 값이 바뀌면 함께 바뀌는 버전 컬럼만 엔티티 로딩 없이 읽습니다.
+    // 출판사의 도서 수는 도서가 등록/삭제/이동될 때 올라가는 publisher.booksVersion 으로 대신합니다.
+    interface BookVersion {
+        Long getBookVersion();
+        Long getDetailVersion();
+        Long getPublisherVersion();
+        Long getPublisherBooksVersion();
+    }
+
+    @Query("SELECT b.version AS bookVersion, d.version AS detailVersion, p.version AS publisherVersion, " +
+            "p.booksVersion AS publisherBooksVersion " +
+            "FROM Book b LEFT JOIN b.bookDetail d LEFT JOIN b.publisher p WHERE b.id = :id")
+    Optional<BookVersion> findVersionById(@Param("id") Long id);
+
+    // 키셋(커서) 페이지네이션 - OFFSET 대신 마지막으로 읽은 키 이후만 조회하므로 깊은 페이지도 비용이 일정합니다.
+    @Query(LIST_ROW_SELECT + "WHERE b.id > :id ORDER BY b.id")
+    List<BookDTO.ListRow> findPageAfterId(@Param("id") Long id, Pageable pageable);
+
+    // 출판사별 도서 키셋 페이지 - publisher_id FK 인덱스(내부적으로 PK 순 정렬)를 그대로 탑니다.
+    @Query(LIST_ROW_SELECT + "WHERE p.id = :publisherId AND b.id > :id ORDER BY b.id")
+    List<BookDTO.ListRow> findPageByPublisherIdAfterId(@Param("publisherId") Long publisherId,
+                                                       @Param("id") Long id, Pageable pageable);
+
+    // 출판사 상세의 도서 첫 페이지 - BookDTO.SimpleResponse 에 필요한 books 컬럼만 읽습니다.
+    @Query("SELECT new com.rookies3.myspringbootlab.controller.dto.BookDTO$SimpleResponse(" +
+            "b.id, b.title, b.author, b.isbn, b.price, b.publishDate) FROM Book b " +
+            "WHERE b.publisher.id = :publisherId AND b.id > :id ORDER BY b.id")
+    List<BookDTO.SimpleResponse> findSimplePageByPublisherIdAfterId(@Param("publisherId") Long publisherId,
+                                                                   @Param("id") Long id, Pageable pageable);
+
+    @Query(LIST_ROW_SELECT + "WHERE b.title > :title OR (b.title = :title AND b.id > :id) ORDER BY b.title, b.id")
+    List<BookDTO.ListRow> findPageAfterTitle(@Param("title") String title, @Param("id") Long id, Pageable pageable);
+
+    // publishDate 정렬은 NULL 인 책을 먼저(id 순) 내보낸 뒤, 값이 있는 책을 (publishDate, id) 순으로 내보냅니다.
+    @Query(LIST_ROW_SELECT + "WHERE b.publishDate IS NULL AND b.id > :id ORDER BY b.id")
+    List<BookDTO.ListRow> findPageWithoutPublishDateAfterId(@Param("id") Long id, Pageable pageable);
+
+    @Query(LIST_ROW_SELECT + "WHERE b.publishDate IS NOT NULL ORDER BY b.publishDate, b.id")
+    List<BookDTO.ListRow> findFirstPageOrderByPublishDate(Pageable pageable);
+
+    @Query(LIST_ROW_SELECT + "WHERE b.publishDate > :publishDate OR (b.publishDate = :publishDate AND b.id > :id) " +
+            "ORDER BY b.publishDate, b.id")
+    List<BookDTO.ListRow> findPageAfterPublishDate(@Param("publishDate") LocalDate publishDate,
+                                                   @Param("id") Long id, Pageable pageable);
+
+    // 검색 색인 적재용 - 엔티티를 만들지 않고 필요한 컬럼만 읽습니다.
+    interface SearchRow {
+        Long getId();
+        String getTitle();
+        String getAuthor();
+    }
+
+    @Query("SELECT b.id AS id, b.title AS title, b.author AS author FROM Book b WHERE b.id > :id ORDER BY b.id")
+    List<SearchRow> findSearchRowsAfterId(@Param("id") Long id, Pageable pageable);
+
+    // ISBN 필터 적재용 - 키가 아직 없는(백필 전) 행은 백필이 필터에 직접 추가합니다.
+    interface IsbnKeyRow {
+        Long getId();
+        Long getIsbnKey();
+    }
+
+    @Query("SELECT b.id AS id, b.isbnKey AS isbnKey FROM Book b WHERE b.id > :id ORDER BY b.id")
+    List<IsbnKeyRow> findIsbnKeyRowsAfterId(@Param("id") Long id, Pageable pageable);
+
+    @Query(LIST_ROW_SELECT + "WHERE b.id IN :ids")
+    List<BookDTO.ListRow> findRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(LIST_ROW_SELECT + "WHERE b.isbnKey IN :isbnKeys")
+    List<BookDTO.ListRow> findRowsByIsbnKeyIn(@Param("isbnKeys") Collection<Long> isbnKeys);
+
+    // 검색 색인이 준비되기 전의 대체 경로 - pattern 은 호출하는 쪽에서 '!' 로 이스케이프한 LIKE 패턴입니다.
+    @Query(LIST_ROW_SELECT + "WHERE LOWER(b.title) LIKE :pattern ESCAPE '!' ORDER BY b.id")
+    List<BookDTO.ListRow> searchByTitle(@Param("pattern") String pattern, Pageable pageable);
+
+    @Query(LIST_ROW_SELECT + "WHERE LOWER(b.author) LIKE :pattern ESCAPE '!' ORDER BY b.id")
+    List<BookDTO.ListRow> searchByAuthor(@Param("pattern") String pattern, Pageable pageable);
+
+    // 전체 카탈로그 내보내기용 - 결과를 한꺼번에 올리지 않고 JDBC fetch size 단위로 스트리밍합니다.
+    // 호출하는 쪽에서 트랜잭션 안에서 사용하고 반드시 close 해야 합니다.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT b FROM Book b LEFT JOIN FETCH b.bookDetail LEFT JOIN FETCH b.publisher ORDER BY b.id")
+    Stream<Book> streamAllWithAllDetails();
 }
\ No newline at end of file
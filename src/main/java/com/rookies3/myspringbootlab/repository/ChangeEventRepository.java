@@ -0,0 +1,31 @@
+package com.rookies3.myspringbootlab.repository;
+
+import com.rookies3.myspringbootlab.entity.ChangeEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface ChangeEventRepository extends JpaRepository<ChangeEvent, Long> {
+
+    // 오프셋 이후의 이벤트를 오프셋 순으로 - 릴레이가 오프셋을 매긴 행만 대상입니다.
+    @Query("SELECT e FROM ChangeEvent e WHERE e.feedOffset > :after ORDER BY e.feedOffset")
+    List<ChangeEvent> findBatchAfter(@Param("after") Long after, Pageable pageable);
+
+    // 커밋되었지만 아직 오프셋이 없는 이벤트 - 기록 순서(id)대로 오프셋을 매깁니다.
+    @Query("SELECT e FROM ChangeEvent e WHERE e.feedOffset IS NULL ORDER BY e.id")
+    List<ChangeEvent> findUnsequenced(Pageable pageable);
+
+    @Query("SELECT COALESCE(MAX(e.feedOffset), 0) FROM ChangeEvent e")
+    Long findLastOffset();
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ChangeEvent e WHERE e.occurredAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") Instant cutoff);
+}
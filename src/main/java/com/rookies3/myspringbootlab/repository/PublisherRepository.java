@@ -1,11 +1,18 @@
 package com.rookies3.myspringbootlab.repository;
 
+import com.rookies3.myspringbootlab.controller.dto.PublisherDTO;
 import com.rookies3.myspringbootlab.entity.Publisher;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -16,4 +23,34 @@ public interface PublisherRepository extends JpaRepository<Publisher, Long> {
     Optional<Publisher> findByIdWithBooks(@Param("id") Long id);
 
     boolean existsByName(String name);
+
+    // ETag 계산용 - 출판사 버전과 소속 도서가 바뀔 때마다 올라가는 booksVersion 을 PK 조회 한 번으로 읽습니다.
+    interface PublisherVersion {
+        Long getPublisherVersion();
+        Long getBooksVersion();
+    }
+
+    @Query("SELECT p.version AS publisherVersion, p.booksVersion AS booksVersion FROM Publisher p WHERE p.id = :id")
+    Optional<PublisherVersion> findVersionById(@Param("id") Long id);
+
+    // 도서 쓰기가 booksVersion 을 올리기 전에 소속 출판사 행을 잠급니다. (SELECT ... FOR UPDATE)
+    // 같은 출판사의 도서 쓰기가 차례로 반영되어 증가가 유실되지 않고, id 순으로 잠가서 교착을 피합니다.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Publisher p WHERE p.id IN :ids ORDER BY p.id")
+    List<Publisher> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    // 출판사 목록 + 도서 수를 한 번의 LEFT JOIN ... GROUP BY 로 조회 (출판사마다 COUNT 쿼리를 날리던 1+N 제거)
+    @Query("SELECT new com.rookies3.myspringbootlab.controller.dto.PublisherDTO$SimpleResponse(" +
+            "p.id, p.name, p.establishedDate, p.address, COUNT(b)) " +
+            "FROM Publisher p LEFT JOIN p.books b " +
+            "GROUP BY p.id, p.name, p.establishedDate, p.address " +
+            "ORDER BY p.id")
+    List<PublisherDTO.SimpleResponse> findAllWithBookCount();
+
+    @Query(value = "SELECT new com.rookies3.myspringbootlab.controller.dto.PublisherDTO$SimpleResponse(" +
+            "p.id, p.name, p.establishedDate, p.address, COUNT(b)) " +
+            "FROM Publisher p LEFT JOIN p.books b " +
+            "GROUP BY p.id, p.name, p.establishedDate, p.address",
+            countQuery = "SELECT COUNT(p) FROM Publisher p")
+    Page<PublisherDTO.SimpleResponse> findAllWithBookCount(Pageable pageable);
 }
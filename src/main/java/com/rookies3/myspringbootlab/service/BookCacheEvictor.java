@@ -0,0 +1,74 @@
+package com.rookies3.myspringbootlab.service;
+
+import com.rookies3.myspringbootlab.config.CacheConfig;
+import com.rookies3.myspringbootlab.entity.Isbn;
+import com.rookies3.myspringbootlab.service.coalesce.LoadCoalescer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * 도서 조회 캐시 무효화를 한 곳에서 처리합니다.
+ * CacheManager 가 트랜잭션 인식 프록시이므로 실제 삭제는 커밋 이후에 일어납니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookCacheEvictor {
+
+    private final CacheManager cacheManager;
+    private final LoadCoalescer loadCoalescer;
+
+    // 한 권의 도서가 바뀌었을 때 - id, (변경 전/후) ISBN 항목과 검색 결과 페이지를 비웁니다.
+    // ISBN 캐시 키는 BookService.getBookByIsbn 과 같이 정규화한 값입니다.
+    // JSON 바이트 캐시는 ETag(버전)까지 키에 포함하므로 따로 비우지 않습니다.
+    // 커밋 전에 시작된 단건 로드가 이전 값을 다시 넣지 않도록 LoadCoalescer 도 함께 무효화합니다. (삭제보다 먼저)
+    public void evictBook(Long id, String... isbns) {
+        loadCoalescer.invalidateAfterCommit();
+        evict(CacheConfig.BOOKS_BY_ID, id);
+        for (String isbn : isbns) {
+            if (isbn != null) {
+                evict(CacheConfig.BOOKS_BY_ISBN, Isbn.normalizeOrRaw(isbn));
+            }
+        }
+        evictSearchResults();
+    }
+
+    // 출판사의 도서가 등록/삭제/이동되었을 때 - 단건 조회 응답에 채우는 출판사별 도서 수를 비웁니다.
+    // 캐시된 도서 응답 자체에는 도서 수가 없으므로 같은 출판사의 다른 도서 항목은 그대로 둡니다.
+    public void evictPublisherBookCounts(Long... publisherIds) {
+        loadCoalescer.invalidateAfterCommit();
+        for (Long publisherId : publisherIds) {
+            if (publisherId != null) {
+                evict(CacheConfig.PUBLISHER_BOOK_COUNTS, publisherId);
+            }
+        }
+    }
+
+    public void evictSearchResults() {
+        clear(CacheConfig.BOOK_SEARCH);
+    }
+
+    // 출판사 정보는 여러 도서 응답에 포함되므로 출판사가 바뀌면 도서 캐시 전체를 비웁니다.
+    public void evictAll() {
+        loadCoalescer.invalidateAfterCommit();
+        clear(CacheConfig.BOOKS_BY_ID);
+        clear(CacheConfig.BOOKS_BY_ISBN);
+        clear(CacheConfig.BOOK_JSON);
+        clear(CacheConfig.BOOK_SEARCH);
+    }
+
+    private void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(key);
+        }
+    }
+
+    private void clear(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
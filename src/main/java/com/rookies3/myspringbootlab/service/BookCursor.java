@@ -0,0 +1,131 @@
+package com.rookies3.myspringbootlab.service;
+
+import com.rookies3.myspringbootlab.exception.BusinessException;
+import com.rookies3.myspringbootlab.exception.ErrorCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * 키셋(커서) 페이지네이션에서 "마지막으로 읽은 위치"를 표현하는 값 객체.
+ * 클라이언트에게는 Base64(URL-safe) 문자열로 인코딩된 불투명한 토큰으로만 노출됩니다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class BookCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final SortKey sortKey;
+    private final Long lastId;
+    private final String lastTitle;
+    private final LocalDate lastPublishDate;
+
+    @Getter
+    @RequiredArgsConstructor
+    public enum SortKey {
+        ID("id"),
+        TITLE("title"),
+        PUBLISH_DATE("publishDate");
+
+        private final String parameterName;
+
+        public static SortKey from(String value) {
+            if (value == null || value.isBlank()) {
+                return ID;
+            }
+            for (SortKey sortKey : values()) {
+                if (sortKey.parameterName.equalsIgnoreCase(value)) {
+                    return sortKey;
+                }
+            }
+            throw new BusinessException(ErrorCode.INVALID_SORT_KEY, value);
+        }
+    }
+
+    public static BookCursor first(SortKey sortKey) {
+        return new BookCursor(sortKey, 0L, null, null);
+    }
+
+    public boolean isFirst() {
+        return lastId == 0L;
+    }
+
+    public String encode() {
+        String raw = switch (sortKey) {
+            case ID -> sortKey.name() + SEPARATOR + lastId;
+            case TITLE -> sortKey.name() + SEPARATOR + lastId + SEPARATOR + lastTitle;
+            case PUBLISH_DATE -> sortKey.name() + SEPARATOR + lastId + SEPARATOR
+                    + (lastPublishDate != null ? lastPublishDate : "");
+        };
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * after 파라미터를 해석합니다.
+     * id 정렬인 경우 편의상 숫자 id(?after=123)도 그대로 받아줍니다.
+     */
+    public static BookCursor decode(String after, SortKey requestedSortKey) {
+        if (after == null || after.isBlank()) {
+            return first(requestedSortKey);
+        }
+        if (requestedSortKey == SortKey.ID && after.chars().allMatch(Character::isDigit)) {
+            return new BookCursor(SortKey.ID, parseId(after, after), null, null);
+        }
+
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(after), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException(ErrorCode.INVALID_CURSOR, after);
+        }
+
+        // title 에는 구분자가 포함될 수 있으므로 최대 3개로만 나눕니다.
+        String[] parts = raw.split("\\" + SEPARATOR, 3);
+        SortKey sortKey;
+        try {
+            sortKey = SortKey.valueOf(parts[0]);
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException(ErrorCode.INVALID_CURSOR, after);
+        }
+        if (sortKey != requestedSortKey || parts.length < 2) {
+            throw new BusinessException(ErrorCode.INVALID_CURSOR, after);
+        }
+
+        Long lastId = parseId(parts[1], after);
+        return switch (sortKey) {
+            case ID -> new BookCursor(sortKey, lastId, null, null);
+            case TITLE -> {
+                if (parts.length < 3) {
+                    throw new BusinessException(ErrorCode.INVALID_CURSOR, after);
+                }
+                yield new BookCursor(sortKey, lastId, parts[2], null);
+            }
+            case PUBLISH_DATE -> {
+                String date = parts.length < 3 ? "" : parts[2];
+                try {
+                    yield new BookCursor(sortKey, lastId, null,
+                            date.isEmpty() ? null : LocalDate.parse(date));
+                } catch (RuntimeException e) {
+                    throw new BusinessException(ErrorCode.INVALID_CURSOR, after);
+                }
+            }
+        };
+    }
+
+    private static Long parseId(String value, String cursor) {
+        try {
+            long id = Long.parseLong(value);
+            if (id < 0) {
+                throw new BusinessException(ErrorCode.INVALID_CURSOR, cursor);
+            }
+            return id;
+        } catch (NumberFormatException e) {
+            throw new BusinessException(ErrorCode.INVALID_CURSOR, cursor);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.rookies3.myspringbootlab.service;
+
+import com.rookies3.myspringbootlab.entity.CompressedTextConverter;
+import com.rookies3.myspringbootlab.property.BookCompressionProperties;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 기존 book_details.description 행을 압축 저장 형식으로(또는 다시 평문으로) 바꿉니다.
+ * <p>
+ * 엔티티로 읽으면 컨버터가 이미 풀어 둔 값이라 변경 감지가 일어나지 않으므로, 컬럼 값을 JDBC 로 직접 읽고 씁니다.
+ * book_id 키셋 단위로 진행하며, 읽은 뒤 다른 요청이 수정한 행(version 변경)은 덮어쓰지 않고 건너뜁니다.
+ * 응답 내용은 바뀌지 않으므로 version(ETag)은 올리지 않습니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BookDescriptionMigrator {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BookCompressionProperties properties;
+
+    public Map<String, Object> stats() {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*), " +
+                        "COALESCE(SUM(CASE WHEN description LIKE '" + CompressedTextConverter.PREFIX + "%' THEN 1 ELSE 0 END), 0), " +
+                        "COALESCE(SUM(LENGTH(description)), 0) " +
+                        "FROM book_details WHERE description IS NOT NULL",
+                (rs, rowNum) -> {
+                    Map<String, Object> stats = new LinkedHashMap<>();
+                    stats.put("enabled", properties.isEnabled());
+                    stats.put("thresholdBytes", properties.getThreshold().toBytes());
+                    stats.put("rowsWithDescription", rs.getLong(1));
+                    stats.put("compressedRows", rs.getLong(2));
+                    stats.put("storedLength", rs.getLong(3));
+                    return stats;
+                });
+    }
+
+    // 압축이 켜져 있을 때 임계값 이상인 평문 행을 압축합니다.
+    public Result compressExisting() {
+        return migrate(true);
+    }
+
+    // 압축을 끄고 되돌릴 때 - 압축된 행을 모두 평문으로 바꿉니다.
+    public Result decompressAll() {
+        return migrate(false);
+    }
+
+    private Result migrate(boolean compress) {
+        CompressedTextConverter converter = new CompressedTextConverter(properties);
+        long lastId = 0;
+        long scanned = 0;
+        long updated = 0;
+        long conflicts = 0;
+        long lengthBefore = 0;
+        long lengthAfter = 0;
+
+        while (true) {
+            List<StoredDescription> rows = jdbcTemplate.query(
+                    "SELECT book_id, version, description FROM book_details " +
+                            "WHERE book_id > ? AND description IS NOT NULL ORDER BY book_id LIMIT ?",
+                    (rs, rowNum) -> new StoredDescription(rs.getLong(1), rs.getLong(2), rs.getString(3)),
+                    lastId, properties.getMigrationBatchSize());
+            if (rows.isEmpty()) {
+                break;
+            }
+
+            List<Change> changes = new ArrayList<>();
+            for (StoredDescription row : rows) {
+                String text = converter.convertToEntityAttribute(row.description);
+                // 평문 자체가 접두어로 시작하는 값은 되돌릴 때도 압축본으로 둡니다.
+                String target = compress || CompressedTextConverter.isCompressed(text)
+                        ? converter.convertToDatabaseColumn(text) : text;
+                if (!target.equals(row.description)) {
+                    changes.add(new Change(row, target));
+                }
+            }
+            if (!changes.isEmpty()) {
+                int[] counts = jdbcTemplate.batchUpdate(
+                        "UPDATE book_details SET description = ? WHERE book_id = ? AND version = ?",
+                        changes.stream()
+                                .map(change -> new Object[]{change.target, change.row.bookId, change.row.version})
+                                .toList());
+                for (int i = 0; i < counts.length; i++) {
+                    if (counts[i] == 0) {
+                        conflicts++;
+                        continue;
+                    }
+                    updated++;
+                    lengthBefore += utf8Length(changes.get(i).row.description);
+                    lengthAfter += utf8Length(changes.get(i).target);
+                }
+            }
+            scanned += rows.size();
+            lastId = rows.get(rows.size() - 1).bookId;
+        }
+
+        log.info("Book description {} finished: {} rows scanned, {} updated, {} skipped (modified concurrently)",
+                compress ? "compression" : "decompression", scanned, updated, conflicts);
+        return new Result(compress ? "compress" : "decompress", scanned, updated, conflicts, lengthBefore, lengthAfter);
+    }
+
+    private static long utf8Length(String value) {
+        return value.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    private record StoredDescription(long bookId, long version, String description) {
+    }
+
+    private record Change(StoredDescription row, String target) {
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Result {
+        private final String direction;
+        private final long scanned;
+        private final long updated;
+        private final long skipped;
+        // 바뀐 행들의 변환 전/후 저장 크기 (UTF-8 바이트)
+        private final long bytesBefore;
+        private final long bytesAfter;
+    }
+}
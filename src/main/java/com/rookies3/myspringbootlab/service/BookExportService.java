@@ -0,0 +1,77 @@
+package com.rookies3.myspringbootlab.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.rookies3.myspringbootlab.controller.dto.BookDTO;
+import com.rookies3.myspringbootlab.controller.dto.PublisherDTO;
+import com.rookies3.myspringbootlab.entity.Book;
+import com.rookies3.myspringbootlab.repository.BookRepository;
+import com.rookies3.myspringbootlab.repository.PublisherRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 전체 도서 카탈로그를 NDJSON(한 줄에 BookDTO.Response 하나)으로 내보냅니다.
+ * DB 에서 읽는 즉시 한 행씩 쓰고 영속성 컨텍스트에서 분리하므로 테이블 크기와 무관하게 힙 사용량이 일정합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BookExportService {
+
+    private static final int CLEAR_INTERVAL = 1000;
+
+    private final BookRepository bookRepository;
+    private final PublisherRepository publisherRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public long exportNdjson(OutputStream outputStream) throws IOException {
+        long started = System.currentTimeMillis();
+
+        // publisher.books 를 책마다 로딩하지 않도록 출판사별 도서 수는 집계 쿼리 한 번으로 미리 구해 둡니다.
+        Map<Long, PublisherDTO.SimpleResponse> publishers = publisherRepository.findAllWithBookCount()
+                .stream()
+                .collect(Collectors.toMap(PublisherDTO.SimpleResponse::getId, p -> p));
+
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long count = 0;
+        try (Stream<Book> books = bookRepository.streamAllWithAllDetails();
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            Iterator<Book> iterator = books.iterator();
+            while (iterator.hasNext()) {
+                Book book = iterator.next();
+                PublisherDTO.SimpleResponse publisher = book.getPublisher() != null
+                        ? publishers.get(book.getPublisher().getId()) : null;
+                writer.writeValue(generator, BookDTO.Response.fromEntity(book, publisher));
+                generator.writeRaw('\n');
+
+                entityManager.detach(book);
+                if (++count % CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                    generator.flush();
+                }
+            }
+            generator.flush();
+        }
+
+        log.info("Exported {} books as NDJSON in {} ms", count, System.currentTimeMillis() - started);
+        return count;
+    }
+}
@@ -0,0 +1,220 @@
+package com.rookies3.myspringbootlab.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rookies3.myspringbootlab.controller.dto.BookDTO;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 대량 등록 입력(NDJSON / CSV)을 한 줄씩 읽어 BookDTO.Request 로 변환합니다.
+ * 전체 입력을 메모리에 올리지 않고, 호출하는 쪽이 청크 크기만큼 next() 를 호출합니다.
+ */
+abstract class BookImportParser {
+
+    protected final BufferedReader reader;
+    protected long lineNumber;
+
+    protected BookImportParser(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    static BookImportParser ndjson(BufferedReader reader, ObjectMapper objectMapper) {
+        return new NdjsonParser(reader, objectMapper);
+    }
+
+    static BookImportParser csv(BufferedReader reader) {
+        return new CsvParser(reader);
+    }
+
+    /**
+     * 다음 행을 반환합니다. 입력이 끝나면 null 을 반환합니다.
+     */
+    abstract Row next();
+
+    protected String readLine() {
+        try {
+            String line = reader.readLine();
+            if (line != null) {
+                lineNumber++;
+            }
+            return line;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    static class Row {
+        private final long line;
+        private final BookDTO.Request request;
+        private final String error;
+
+        static Row ok(long line, BookDTO.Request request) {
+            return new Row(line, request, null);
+        }
+
+        static Row failed(long line, String error) {
+            return new Row(line, null, error);
+        }
+
+        boolean isValid() {
+            return error == null;
+        }
+    }
+
+    private static class NdjsonParser extends BookImportParser {
+
+        private final ObjectMapper objectMapper;
+
+        NdjsonParser(BufferedReader reader, ObjectMapper objectMapper) {
+            super(reader);
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        Row next() {
+            String line;
+            do {
+                line = readLine();
+            } while (line != null && line.isBlank());
+            if (line == null) {
+                return null;
+            }
+            try {
+                return Row.ok(lineNumber, objectMapper.readValue(line, BookDTO.Request.class));
+            } catch (JsonProcessingException e) {
+                return Row.failed(lineNumber, "Malformed JSON: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    /**
+     * 첫 줄을 헤더로 사용하는 CSV 파서.
+     * 헤더: title, author, isbn, price, publishDate, publisher,
+     * description, language, pageCount, detailPublisher, coverImageUrl, edition (순서 무관, 일부 생략 가능)
+     * 큰따옴표로 감싼 값과 "" 이스케이프를 지원하며, 값 안의 줄바꿈은 지원하지 않습니다.
+     */
+    private static class CsvParser extends BookImportParser {
+
+        private Map<String, Integer> header;
+
+        CsvParser(BufferedReader reader) {
+            super(reader);
+        }
+
+        @Override
+        Row next() {
+            if (header == null) {
+                String headerLine = readLine();
+                if (headerLine == null) {
+                    return null;
+                }
+                header = new HashMap<>();
+                List<String> names = split(headerLine);
+                for (int i = 0; i < names.size(); i++) {
+                    header.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+                }
+            }
+
+            String line;
+            do {
+                line = readLine();
+            } while (line != null && line.isBlank());
+            if (line == null) {
+                return null;
+            }
+
+            try {
+                List<String> values = split(line);
+                BookDTO.BookDetailDTO detail = BookDTO.BookDetailDTO.builder()
+                        .description(value(values, "description"))
+                        .language(value(values, "language"))
+                        .pageCount(toInteger(value(values, "pagecount")))
+                        .publisher(value(values, "detailpublisher"))
+                        .coverImageUrl(value(values, "coverimageurl"))
+                        .edition(value(values, "edition"))
+                        .build();
+                boolean hasDetail = detail.getDescription() != null || detail.getLanguage() != null
+                        || detail.getPageCount() != null || detail.getPublisher() != null
+                        || detail.getCoverImageUrl() != null || detail.getEdition() != null;
+
+                BookDTO.Request request = BookDTO.Request.builder()
+                        .title(value(values, "title"))
+                        .author(value(values, "author"))
+                        .isbn(value(values, "isbn"))
+                        .price(toInteger(value(values, "price")))
+                        .publishDate(toDate(value(values, "publishdate")))
+                        .publisher(toLong(value(values, "publisher")))
+                        .detailRequest(hasDetail ? detail : null)
+                        .build();
+                return Row.ok(lineNumber, request);
+            } catch (RuntimeException e) {
+                return Row.failed(lineNumber, "Malformed CSV row: " + e.getMessage());
+            }
+        }
+
+        private String value(List<String> values, String column) {
+            Integer index = header.get(column.toLowerCase(Locale.ROOT));
+            if (index == null || index >= values.size()) {
+                return null;
+            }
+            String value = values.get(index).trim();
+            return value.isEmpty() ? null : value;
+        }
+
+        private static Integer toInteger(String value) {
+            return value == null ? null : Integer.valueOf(value);
+        }
+
+        private static Long toLong(String value) {
+            return value == null ? null : Long.valueOf(value);
+        }
+
+        private static LocalDate toDate(String value) {
+            return value == null ? null : LocalDate.parse(value);
+        }
+
+        private static List<String> split(String line) {
+            List<String> values = new ArrayList<>();
+            StringBuilder current = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        current.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        current.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    values.add(current.toString());
+                    current.setLength(0);
+                } else {
+                    current.append(c);
+                }
+            }
+            if (quoted) {
+                throw new IllegalArgumentException("unterminated quoted value");
+            }
+            values.add(current.toString());
+            return values;
+        }
+    }
+}
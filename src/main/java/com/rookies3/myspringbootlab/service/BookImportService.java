@@ -0,0 +1,230 @@
+package com.rookies3.myspringbootlab.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rookies3.myspringbootlab.controller.dto.BookDTO;
+import com.rookies3.myspringbootlab.entity.Book;
+import com.rookies3.myspringbootlab.entity.ChangeEvent;
+import com.rookies3.myspringbootlab.entity.Isbn;
+import com.rookies3.myspringbootlab.entity.Publisher;
+import com.rookies3.myspringbootlab.exception.ErrorCode;
+import com.rookies3.myspringbootlab.property.BookImportProperties;
+import com.rookies3.myspringbootlab.repository.BookRepository;
+import com.rookies3.myspringbootlab.repository.PublisherRepository;
+import com.rookies3.myspringbootlab.service.change.ChangeOutbox;
+import com.rookies3.myspringbootlab.service.isbn.IsbnFilter;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * NDJSON / CSV 파일로 도서를 대량 등록합니다.
+ * <p>
+ * 입력은 스트리밍으로 읽고, 청크마다 트랜잭션 하나에서
+ * 출판사 일괄 잠금 조회(IN ... FOR UPDATE) → ISBN 중복 일괄 확인(IN) → saveAll(+ 출판사 booksVersion, 변경 피드 아웃박스)
+ * → flush/clear 순으로 처리합니다.
+ * Book/ChangeEvent 는 시퀀스 id 이고 hibernate.jdbc.batch_size 가 켜져 있으므로, flush 때 도서/상세/아웃박스 INSERT 가
+ * 테이블별로 모여 batch_size 건씩 배치로 나갑니다. (IDENTITY 였다면 행마다 INSERT 를 따로 실행해야 합니다.)
+ * 잘못된 행은 건너뛰고 줄 번호와 사유를 결과에 담습니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BookImportService {
+
+    private final BookRepository bookRepository;
+    private final PublisherRepository publisherRepository;
+    private final BookImportProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+    private final BookCacheEvictor bookCacheEvictor;
+    private final ChangeOutbox changeOutbox;
+    private final IsbnFilter isbnFilter;
+
+    public BookDTO.ImportResult importNdjson(InputStream inputStream) {
+        return importRows(BookImportParser.ndjson(reader(inputStream), objectMapper));
+    }
+
+    public BookDTO.ImportResult importCsv(InputStream inputStream) {
+        return importRows(BookImportParser.csv(reader(inputStream)));
+    }
+
+    private BufferedReader reader(InputStream inputStream) {
+        return new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+    }
+
+    private BookDTO.ImportResult importRows(BookImportParser parser) {
+        long started = System.currentTimeMillis();
+        int chunkSize = Math.max(properties.getChunkSize(), 1);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Progress progress = new Progress(properties.getMaxReportedErrors());
+
+        List<BookImportParser.Row> chunk = new ArrayList<>(chunkSize);
+        BookImportParser.Row row;
+        while ((row = parser.next()) != null) {
+            chunk.add(row);
+            if (chunk.size() == chunkSize) {
+                processChunk(chunk, transactionTemplate, progress);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            processChunk(chunk, transactionTemplate, progress);
+        }
+
+        long elapsed = System.currentTimeMillis() - started;
+        log.info("Book import finished: {} rows, {} imported, {} failed in {} ms",
+                progress.total, progress.imported, progress.failed, elapsed);
+
+        return BookDTO.ImportResult.builder()
+                .totalRows(progress.total)
+                .importedRows(progress.imported)
+                .failedRows(progress.failed)
+                .chunks(progress.chunks)
+                .elapsedMillis(elapsed)
+                .errors(progress.errors)
+                .build();
+    }
+
+    private void processChunk(List<BookImportParser.Row> chunk, TransactionTemplate transactionTemplate,
+                              Progress progress) {
+        progress.chunks++;
+        progress.total += chunk.size();
+
+        // 1. 형식/검증 오류 행 걸러내기
+        List<BookImportParser.Row> candidates = new ArrayList<>(chunk.size());
+        for (BookImportParser.Row row : chunk) {
+            if (!row.isValid()) {
+                progress.fail(row.getLine(), null, row.getError());
+                continue;
+            }
+            Set<ConstraintViolation<BookDTO.Request>> violations = validator.validate(row.getRequest());
+            if (!violations.isEmpty()) {
+                String message = violations.stream()
+                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining(", "));
+                progress.fail(row.getLine(), row.getRequest().getIsbn(), message);
+                continue;
+            }
+            candidates.add(row);
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        try {
+            List<BookImportParser.Row> rejected = new ArrayList<>();
+            Integer imported = transactionTemplate.execute(status -> saveChunk(candidates, rejected));
+            rejected.forEach(r -> progress.fail(r.getLine(), r.getRequest().getIsbn(), r.getError()));
+            progress.imported += imported != null ? imported : 0;
+        } catch (RuntimeException e) {
+            // 청크 전체가 롤백되었으므로 해당 청크의 모든 행을 실패로 보고합니다.
+            log.warn("Book import chunk {} rolled back: {}", progress.chunks, e.getMessage());
+            candidates.forEach(r -> progress.fail(r.getLine(), r.getRequest().getIsbn(),
+                    "Chunk rolled back: " + e.getMessage()));
+        }
+
+        log.info("Book import progress: chunk {}, {} rows read, {} imported, {} failed",
+                progress.chunks, progress.total, progress.imported, progress.failed);
+    }
+
+    private int saveChunk(List<BookImportParser.Row> candidates, List<BookImportParser.Row> rejected) {
+        // 2. 청크에 등장하는 출판사를 한 번에 잠가서 조회 - 도서가 추가되는 출판사의 booksVersion 을 올리기 위해서입니다.
+        Set<Long> publisherIds = candidates.stream()
+                .map(r -> r.getRequest().getPublisher())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Publisher> publishers = publisherIds.isEmpty() ? Map.of()
+                : publisherRepository.findAllByIdForUpdate(publisherIds)
+                .stream()
+                .collect(Collectors.toMap(Publisher::getId, Function.identity()));
+
+        // 3. 이미 등록된 ISBN 을 숫자 키 IN 쿼리 한 번으로 확인 (체크섬이 틀린 ISBN 은 키가 없으므로 여기서 제외)
+        //    ISBN 필터가 확실히 없다고 답한 키는 IN 목록에서 빼고, 남은 키가 없으면 쿼리를 생략합니다.
+        Set<Long> isbnKeys = candidates.stream()
+                .map(r -> Isbn.tryParse(r.getRequest().getIsbn()))
+                .flatMap(Optional::stream)
+                .map(Isbn::key)
+                .filter(isbnFilter::mightContain)
+                .collect(Collectors.toSet());
+        Set<Long> taken = isbnKeys.isEmpty() ? new HashSet<>()
+                : new HashSet<>(bookRepository.findExistingIsbnKeys(isbnKeys));
+        isbnKeys.stream().filter(key -> !taken.contains(key)).forEach(key -> isbnFilter.recordFalsePositive());
+
+        List<Book> books = new ArrayList<>(candidates.size());
+        for (BookImportParser.Row row : candidates) {
+            BookDTO.Request request = row.getRequest();
+            Publisher publisher = publishers.get(request.getPublisher());
+            if (publisher == null) {
+                rejected.add(new BookImportParser.Row(row.getLine(), request, String.format(
+                        "Publisher not found with id: %s", request.getPublisher())));
+                continue;
+            }
+            Optional<Isbn> isbn = Isbn.tryParse(request.getIsbn());
+            if (isbn.isEmpty()) {
+                rejected.add(new BookImportParser.Row(row.getLine(), request,
+                        ErrorCode.INVALID_ISBN.formatMessage(request.getIsbn())));
+                continue;
+            }
+            // 같은 청크 안에서 중복된 ISBN 도(표기가 달라도) 함께 걸러냅니다.
+            if (!taken.add(isbn.get().key())) {
+                rejected.add(new BookImportParser.Row(row.getLine(), request, String.format(
+                        "Book already exists with ISBN: %s", request.getIsbn())));
+                continue;
+            }
+            books.add(BookService.newBook(request, publisher));
+        }
+
+        bookRepository.saveAll(books);
+        List<Publisher> changedPublishers = books.stream().map(Book::getPublisher).distinct().toList();
+        changedPublishers.forEach(Publisher::increaseBooksVersion);
+        books.forEach(book -> isbnFilter.add(book.getIsbnKey()));
+        bookCacheEvictor.evictSearchResults();
+        bookCacheEvictor.evictPublisherBookCounts(changedPublishers.stream().map(Publisher::getId).toArray(Long[]::new));
+        changeOutbox.recordAll(ChangeEvent.AggregateType.BOOK,
+                books.stream().map(Book::getId).toList(), ChangeEvent.ChangeType.CREATED);
+        // 영속성 컨텍스트가 청크마다 비워지도록 해서 입력 크기와 무관하게 메모리를 일정하게 유지합니다.
+        entityManager.flush();
+        entityManager.clear();
+        return books.size();
+    }
+
+    private static class Progress {
+        private final int maxReportedErrors;
+        private final List<BookDTO.ImportError> errors = new ArrayList<>();
+        private long total;
+        private long imported;
+        private long failed;
+        private int chunks;
+
+        Progress(int maxReportedErrors) {
+            this.maxReportedErrors = maxReportedErrors;
+        }
+
+        void fail(long line, String isbn, String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(BookDTO.ImportError.builder()
+                        .line(line)
+                        .isbn(isbn)
+                        .message(message)
+                        .build());
+            }
+        }
+    }
+}
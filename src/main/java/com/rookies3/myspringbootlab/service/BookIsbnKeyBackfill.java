@@ -0,0 +1,95 @@
+package com.rookies3.myspringbootlab.service;
+
+import com.rookies3.myspringbootlab.entity.Isbn;
+import com.rookies3.myspringbootlab.service.isbn.IsbnFilter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * isbn_key 컬럼이 추가되기 전에 저장된 도서 행을 채웁니다.
+ * <p>
+ * isbn_key 가 NULL 인 행을 book_id 키셋 단위로 읽어 ISBN 을 정규화(ISBN-13)하고 숫자 키를 함께 기록합니다.
+ * 응답의 isbn 값이 바뀔 수 있으므로 version(ETag)도 올립니다. 체크섬이 틀린 ISBN 과, 표기만 다르고
+ * 이미 다른 행이 같은 키를 가진 ISBN 은 그대로 두고 로그로 남기므로 수동으로 정리해야 합니다.
+ * 모든 행이 채워진 뒤 db/mariadb/books_isbn_key.sql 로 NOT NULL 제약을 걸고 기존 isbn UNIQUE 인덱스를 지웁니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookIsbnKeyBackfill {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final IsbnFilter isbnFilter;
+
+    // 기동을 막지 않도록 applicationTaskExecutor 에서 비동기로 실행합니다. 채울 행이 없으면 쿼리 한 번으로 끝납니다.
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        try {
+            backfill();
+        } catch (RuntimeException e) {
+            log.error("Failed to backfill books.isbn_key", e);
+        }
+    }
+
+    long backfill() {
+        long lastId = 0L;
+        long updated = 0L;
+        long invalid = 0L;
+        long duplicates = 0L;
+
+        while (true) {
+            List<StoredIsbn> rows = jdbcTemplate.query(
+                    "SELECT book_id, isbn FROM books WHERE isbn_key IS NULL AND book_id > ? ORDER BY book_id LIMIT ?",
+                    (rs, rowNum) -> new StoredIsbn(rs.getLong(1), rs.getString(2)),
+                    lastId, BATCH_SIZE);
+            if (rows.isEmpty()) {
+                break;
+            }
+
+            for (StoredIsbn row : rows) {
+                lastId = row.bookId();
+                Isbn isbn = Isbn.tryParse(row.isbn()).orElse(null);
+                if (isbn == null) {
+                    invalid++;
+                    log.warn("Book {} has an invalid ISBN '{}', isbn_key left empty", row.bookId(), row.isbn());
+                    continue;
+                }
+                try {
+                    // 읽은 뒤 다른 요청이 ISBN 을 바꾼 행은 그 요청이 이미 키를 채웠으므로 건너뜁니다.
+                    int count = jdbcTemplate.update(
+                            "UPDATE books SET isbn = ?, isbn_key = ?, version = version + 1 " +
+                                    "WHERE book_id = ? AND isbn = ? AND isbn_key IS NULL",
+                            isbn.toString(), isbn.key(), row.bookId(), row.isbn());
+                    if (count > 0) {
+                        // 필터 적재는 키가 비어 있던 이 행을 건너뛰었을 수 있으므로 여기서 추가합니다.
+                        isbnFilter.add(isbn.key());
+                        updated += count;
+                    }
+                } catch (DuplicateKeyException e) {
+                    duplicates++;
+                    log.warn("Book {} has ISBN '{}' which duplicates another book as {}, isbn_key left empty",
+                            row.bookId(), row.isbn(), isbn);
+                }
+            }
+        }
+
+        if (updated > 0 || invalid > 0 || duplicates > 0) {
+            log.info("books.isbn_key backfill: {} updated, {} invalid, {} duplicates", updated, invalid, duplicates);
+        }
+        return updated;
+    }
+
+    private record StoredIsbn(long bookId, String isbn) {
+    }
+}
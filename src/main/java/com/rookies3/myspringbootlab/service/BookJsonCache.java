@@ -0,0 +1,58 @@
+package com.rookies3.myspringbootlab.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rookies3.myspringbootlab.config.CacheConfig;
+import com.rookies3.myspringbootlab.service.coalesce.LoadCoalescer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * GET /api/books/{id} 응답을 UTF-8 JSON 바이트로 직렬화해 캐시합니다.
+ * 적중 시 DTO 생성과 Jackson 직렬화를 모두 건너뜁니다.
+ * 키에 ETag(엔티티 버전)를 포함하므로 변경된 도서는 새 키로 다시 만들어지고, 이전 항목은 크기 제한/TTL 로 밀려납니다.
+ * 미스일 때는 본문과 ETag 를 같은 읽기에서 만들어 그 ETag 로 저장하므로, 한 키에는 항상 그 버전의 본문만 들어갑니다.
+ * 인기 도서의 미스가 동시에 몰리면 같은 id 의 읽기와 직렬화는 LoadCoalescer 로 한 번만 실행하고 결과 바이트를 함께 씁니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookJsonCache {
+
+    private final BookService bookService;
+    private final ObjectMapper objectMapper;
+    private final CacheManager cacheManager;
+    private final LoadCoalescer loadCoalescer;
+
+    // etag 는 요청 시점에 버전 쿼리로 구한 값입니다. 그 사이 도서가 바뀌었다면 새 본문과 새 ETag 를 돌려줍니다.
+    public Json getBookJson(Long id, String etag) {
+        Cache cache = cacheManager.getCache(CacheConfig.BOOK_JSON);
+        byte[] cached = cache != null ? cache.get(key(id, etag), byte[].class) : null;
+        if (cached != null) {
+            return new Json(etag, cached);
+        }
+
+        // 먼저 시작된 로드가 다른 ETag 를 읽었다면 그 본문과 ETag 를 함께 받습니다. (키가 버전을 포함하므로 캐시에 넣어도 됩니다)
+        return loadCoalescer.load("book-json", id, () -> {
+            BookService.TaggedResponse book = bookService.getBookWithETag(id);
+            byte[] body;
+            try {
+                body = objectMapper.writeValueAsBytes(book.response());
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Failed to serialize book " + id, e);
+            }
+            if (cache != null) {
+                cache.put(key(id, book.etag()), body);
+            }
+            return new Json(book.etag(), body);
+        });
+    }
+
+    private static String key(Long id, String etag) {
+        return id + ":" + etag;
+    }
+
+    public record Json(String etag, byte[] body) {
+    }
+}
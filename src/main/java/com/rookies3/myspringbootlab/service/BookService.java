@@ -1,64 +1,320 @@
 package com.rookies3.myspringbootlab.service;
 
+import com.rookies3.myspringbootlab.config.CacheConfig;
+import com.rookies3.myspringbootlab.config.MetricsConfig;
 import com.rookies3.myspringbootlab.controller.dto.BookDTO;
+import com.rookies3.myspringbootlab.controller.dto.PublisherDTO;
 import com.rookies3.myspringbootlab.entity.Book;
 import com.rookies3.myspringbootlab.entity.BookDetail;
+import com.rookies3.myspringbootlab.entity.ChangeEvent;
+import com.rookies3.myspringbootlab.entity.Isbn;
 import com.rookies3.myspringbootlab.entity.Publisher;
 import com.rookies3.myspringbootlab.exception.BusinessException;
 import com.rookies3.myspringbootlab.exception.ErrorCode;
 import com.rookies3.myspringbootlab.repository.BookDetailRepository;
 import com.rookies3.myspringbootlab.repository.BookRepository;
 import com.rookies3.myspringbootlab.repository.PublisherRepository;
+import com.rookies3.myspringbootlab.service.change.ChangeOutbox;
+import com.rookies3.myspringbootlab.service.coalesce.LoadCoalescer;
+import com.rookies3.myspringbootlab.service.isbn.IsbnFilter;
+import com.rookies3.myspringbootlab.service.search.BookSearchIndex;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
 public class BookService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+    // IN 목록 하나에 넣을 최대 키 수 - 큰 요청은 이 크기로 나눠 조회합니다.
+    private static final int BATCH_CHUNK_SIZE = 1000;
+
     private final BookRepository bookRepository;
     private final BookDetailRepository bookDetailRepository;
     private final PublisherRepository publisherRepository;
+    private final BookSearchIndex searchIndex;
+    private final BookCacheEvictor bookCacheEvictor;
+    private final ChangeOutbox changeOutbox;
+    private final IsbnFilter isbnFilter;
+    private final LoadCoalescer loadCoalescer;
 
     public List<BookDTO.Response> getAllBooks() {
-        // 모든 책을 가져올 때도 publisher 정보를 함께 로딩하도록 쿼리 변경이 필요할 수 있습니다.
-        // 현재 findall()은 Lazy Loading으로 동작할 수 있어 N+1 문제가 발생할 수 있습니다.
-        // 이 경우에는 findall() 대신 @Query를 통해 fetch join 하는 메서드를 추가하는 것이 좋습니다.
-        return bookRepository.findAll()
-                .stream()
-                .map(BookDTO.Response::fromEntity)
-                .toList();
+        // findAll() 대신 bookDetail/publisher 를 조인해 필요한 컬럼만 읽는 프로젝션 쿼리를 사용해 N+1 을 없앴습니다.
+        // (도서 목록 조회 + 출판사별 도서 수 집계, 도서 수와 무관하게 쿼리 2번)
+        return toResponses(bookRepository.findAllRows());
     }
 
+    // 커서(키셋) 기반 목록 조회 - 몇 번째 페이지든 인덱스 seek 한 번으로 처리됩니다.
+    public BookDTO.CursorResponse<BookDTO.Response> getBooksPage(String after, int limit, String sort) {
+        BookCursor.SortKey sortKey = BookCursor.SortKey.from(sort);
+        BookCursor cursor = BookCursor.decode(after, sortKey);
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+
+        // 다음 페이지 존재 여부를 알기 위해 한 건 더 조회합니다.
+        List<BookDTO.ListRow> rows = findPage(cursor, pageSize + 1);
+        boolean hasNext = rows.size() > pageSize;
+        List<BookDTO.ListRow> content = hasNext ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            BookDTO.ListRow last = content.get(content.size() - 1);
+            nextCursor = new BookCursor(sortKey, last.getId(), last.getTitle(), last.getPublishDate()).encode();
+        }
+
+        return BookDTO.CursorResponse.<BookDTO.Response>builder()
+                .content(toResponses(content))
+                .size(content.size())
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    private List<BookDTO.ListRow> findPage(BookCursor cursor, int fetchSize) {
+        Pageable pageable = PageRequest.of(0, fetchSize);
+        return switch (cursor.getSortKey()) {
+            case ID -> bookRepository.findPageAfterId(cursor.getLastId(), pageable);
+            case TITLE -> cursor.isFirst()
+                    ? bookRepository.findPageAfterTitle("", 0L, pageable)
+                    : bookRepository.findPageAfterTitle(cursor.getLastTitle(), cursor.getLastId(), pageable);
+            case PUBLISH_DATE -> findPageByPublishDate(cursor, fetchSize, pageable);
+        };
+    }
+
+    private List<BookDTO.ListRow> findPageByPublishDate(BookCursor cursor, int fetchSize, Pageable pageable) {
+        if (cursor.getLastPublishDate() != null) {
+            return bookRepository.findPageAfterPublishDate(
+                    cursor.getLastPublishDate(), cursor.getLastId(), pageable);
+        }
+        // 아직 publishDate 가 NULL 인 구간을 읽는 중이면, 그 구간이 끝난 뒤 NOT NULL 구간의 첫 페이지로 이어붙입니다.
+        List<BookDTO.ListRow> rows = new ArrayList<>(
+                bookRepository.findPageWithoutPublishDateAfterId(cursor.getLastId(), pageable));
+        if (rows.size() < fetchSize) {
+            rows.addAll(bookRepository.findFirstPageOrderByPublishDate(
+                    PageRequest.of(0, fetchSize - rows.size())));
+        }
+        return rows;
+    }
+
+    // 캐시 미스가 동시에 몰리면 같은 id 의 로드는 한 번만 실행합니다. 기다리는 호출이 트랜잭션을 잡지 않도록
+    // SUPPORTS 로 두고, 실제 로드는 LoadCoalescer 가 여는 읽기 전용 트랜잭션에서 실행합니다.
+    // 캐시(BOOKS_BY_ID) 조회와 저장도 LoadCoalescer 가 합니다. 로드 도중 쓰기가 커밋되면 결과를 캐시에 넣지 않습니다.
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public BookDTO.Response getBookById(Long id) {
-        // findByIdWithAllDetalis로 변경하여 publisher와 bookDetail을 함께 가져옴
-        Book book = bookRepository.findByIdWithAllDetalis(id)
-                .orElseThrow(() -> new BusinessException(ErrorCode.RESOURCE_NOT_FOUND, "Book", "id", id));
-        return BookDTO.Response.fromEntity(book);
+        BookDTO.Response book = loadCoalescer.loadCached("book-by-id", CacheConfig.BOOKS_BY_ID, id, () -> {
+            // findByIdWithAllDetalis로 변경하여 publisher와 bookDetail을 함께 가져옴
+            Book loaded = bookRepository.findByIdWithAllDetalis(id)
+                    .orElseThrow(() -> new BusinessException(ErrorCode.RESOURCE_NOT_FOUND, "Book", "id", id));
+            return toCachedResponse(loaded);
+        });
+        return withPublisherBookCount(book);
     }
 
+    // 하이픈 유무나 ISBN-10/13 표기가 달라도 같은 책이면 같은 캐시 항목을 쓰도록 정규화한 값을 키로 사용합니다.
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public BookDTO.Response getBookByIsbn(String isbn) {
-        Book book = bookRepository.findByIsbnWithBookDetail(isbn)
-                .orElseThrow(() -> new BusinessException(ErrorCode.RESOURCE_NOT_FOUND, "Book", "ISBN", isbn));
-        return BookDTO.Response.fromEntity(book);
+        BookDTO.Response book = loadCoalescer.loadCached("book-by-isbn", CacheConfig.BOOKS_BY_ISBN,
+                Isbn.normalizeOrRaw(isbn), () -> {
+                    Book loaded = bookRepository.findByIsbnWithBookDetail(isbn)
+                            .orElseThrow(() -> new BusinessException(ErrorCode.RESOURCE_NOT_FOUND, "Book", "ISBN", isbn));
+                    return toCachedResponse(loaded);
+                });
+        return withPublisherBookCount(book);
     }
 
-    public List<BookDTO.Response> getBooksByAuthor(String author) {
-        return bookRepository.findByAuthorContainingIgnoreCase(author)
-                .stream()
-                .map(BookDTO.Response::fromEntity)
-                .toList();
+    // 캐시에 넣는 단건 응답 - 출판사 도서 수는 같은 출판사의 다른 도서가 등록/삭제/이동될 때도 바뀌므로 비워 두고,
+    // 읽을 때마다 출판사별 도서 수 캐시에서 채웁니다. 그래서 도서 쓰기는 자기 항목만 비우면 됩니다.
+    private static BookDTO.Response toCachedResponse(Book book) {
+        Publisher publisher = book.getPublisher();
+        return BookDTO.Response.fromEntity(book,
+                publisher != null ? PublisherDTO.SimpleResponse.fromEntity(publisher, null) : null);
     }
 
-    public List<BookDTO.Response> getBooksByTitle(String title) {
-        return bookRepository.findByTitleContainingIgnoreCase(title)
-                .stream()
-                .map(BookDTO.Response::fromEntity)
+    // 캐시된 응답은 여러 요청이 공유하므로 고치지 않고 사본에 채웁니다.
+    private BookDTO.Response withPublisherBookCount(BookDTO.Response book) {
+        PublisherDTO.SimpleResponse publisher = book.getPublisher();
+        if (publisher == null) {
+            return book;
+        }
+        return book.withPublisher(publisher.withBookCount(countBooks(publisher.getId())));
+    }
+
+    // 출판사의 도서 수 - 도서가 등록/삭제/이동되면 BookCacheEvictor.evictPublisherBookCounts 로 비웁니다.
+    private Long countBooks(Long publisherId) {
+        return loadCoalescer.loadCached("publisher-book-count", CacheConfig.PUBLISHER_BOOK_COUNTS, publisherId,
+                () -> bookRepository.countByPublisherId(publisherId));
+    }
+
+    // 여러 권을 IN (...) 프로젝션 쿼리로 한 번에 조회합니다. (키 1000 개마다 쿼리 1번 + 출판사별 도서 수 집계 1번)
+    public BookDTO.BatchResponse getBooksBatch(BookDTO.BatchRequest request) {
+        List<Long> ids = request.getIds() != null ? request.getIds() : List.of();
+        List<String> isbns = request.getIsbns() != null ? request.getIsbns() : List.of();
+
+        Map<Long, BookDTO.ListRow> booksById = new HashMap<>();
+        findInChunks(ids, bookRepository::findRowsByIdIn)
+                .forEach(row -> booksById.put(row.getId(), row));
+        // 요청한 ISBN 은 표기와 무관하게 숫자 키로 조회합니다. 유효하지 않은 ISBN 은 found=false 로 응답합니다.
+        Map<String, Long> isbnKeys = new HashMap<>();
+        isbns.stream()
+                .filter(Objects::nonNull)
+                .forEach(isbn -> Isbn.tryParse(isbn).ifPresent(parsed -> isbnKeys.put(isbn, parsed.key())));
+        Map<Long, BookDTO.ListRow> booksByIsbnKey = new HashMap<>();
+        findInChunks(new ArrayList<>(isbnKeys.values()), bookRepository::findRowsByIsbnKeyIn)
+                .forEach(row -> booksByIsbnKey.put(Isbn.parse(row.getIsbn()).key(), row));
+
+        // id 와 ISBN 으로 같은 책을 요청한 경우에도 응답 변환은 한 번만 합니다.
+        Map<Long, BookDTO.ListRow> books = new LinkedHashMap<>(booksById);
+        booksByIsbnKey.values().forEach(row -> books.putIfAbsent(row.getId(), row));
+        Map<Long, BookDTO.Response> responses = new HashMap<>();
+        toResponses(new ArrayList<>(books.values())).forEach(response -> responses.put(response.getId(), response));
+
+        List<BookDTO.BatchItem> items = new ArrayList<>(ids.size() + isbns.size());
+        for (Long id : ids) {
+            BookDTO.ListRow book = id != null ? booksById.get(id) : null;
+            items.add(BookDTO.BatchItem.builder()
+                    .id(id)
+                    .found(book != null)
+                    .book(book != null ? responses.get(book.getId()) : null)
+                    .build());
+        }
+        for (String isbn : isbns) {
+            Long isbnKey = isbn != null ? isbnKeys.get(isbn) : null;
+            BookDTO.ListRow book = isbnKey != null ? booksByIsbnKey.get(isbnKey) : null;
+            items.add(BookDTO.BatchItem.builder()
+                    .isbn(isbn)
+                    .found(book != null)
+                    .book(book != null ? responses.get(book.getId()) : null)
+                    .build());
+        }
+
+        int found = (int) items.stream().filter(BookDTO.BatchItem::isFound).count();
+        return BookDTO.BatchResponse.builder()
+                .items(items)
+                .found(found)
+                .notFound(items.size() - found)
+                .build();
+    }
+
+    private static <K> List<BookDTO.ListRow> findInChunks(List<K> keys,
+                                                          Function<List<K>, List<BookDTO.ListRow>> finder) {
+        List<K> distinctKeys = keys.stream()
+                .filter(Objects::nonNull)
+                .distinct()
                 .toList();
+        List<BookDTO.ListRow> rows = new ArrayList<>(distinctKeys.size());
+        for (int from = 0; from < distinctKeys.size(); from += BATCH_CHUNK_SIZE) {
+            int to = Math.min(from + BATCH_CHUNK_SIZE, distinctKeys.size());
+            rows.addAll(finder.apply(distinctKeys.subList(from, to)));
+        }
+        return rows;
+    }
+
+    // GET /api/books/{id} 의 ETag - 엔티티를 로딩하지 않고 버전만 읽는 쿼리 한 번으로 구합니다.
+    public String getBookETag(Long id) {
+        return bookETag(findVersion(id));
+    }
+
+    private BookRepository.BookVersion findVersion(Long id) {
+        return bookRepository.findVersionById(id)
+                .orElseThrow(() -> new BusinessException(ErrorCode.RESOURCE_NOT_FOUND, "Book", "id", id));
+    }
+
+    private static String bookETag(BookRepository.BookVersion version) {
+        return EntityTag.of(version.getBookVersion(), version.getDetailVersion(),
+                version.getPublisherVersion(), version.getPublisherBooksVersion());
+    }
+
+    // 읽거나 저장(flush)한 엔티티의 버전으로 만드는 ETag - findVersionById 로 만든 값과 같습니다.
+    private static String bookETag(Book book) {
+        Publisher publisher = book.getPublisher();
+        return EntityTag.of(book.getVersion(), detailVersion(book),
+                publisher != null ? publisher.getVersion() : null,
+                publisher != null ? publisher.getBooksVersion() : null);
+    }
+
+    // If-Match 로 보호하는 값 - 수정이 덮어쓰는 도서와 상세의 버전만 봅니다. (ETag 의 앞부분)
+    // 출판사가 수정되거나 같은 출판사의 다른 도서가 바뀌어도 이 도서의 수정은 412 가 되지 않습니다.
+    private static String bookValidator(Long bookVersion, Long detailVersion) {
+        return EntityTag.of(bookVersion, detailVersion);
+    }
+
+    private static Long detailVersion(Book book) {
+        return book.getBookDetail() != null ? book.getBookDetail().getVersion() : null;
+    }
+
+    // GET /api/books/{id} 의 JSON 캐시를 채울 때 사용합니다. 본문과 ETag 를 같은 읽기에서 만들어야 하므로
+    // 버전을 모르는 조회 캐시(BOOKS_BY_ID, PUBLISHER_BOOK_COUNTS)는 거치지 않습니다.
+    public TaggedResponse getBookWithETag(Long id) {
+        Book book = bookRepository.findByIdWithAllDetalis(id)
+                .orElseThrow(() -> new BusinessException(ErrorCode.RESOURCE_NOT_FOUND, "Book", "id", id));
+        return new TaggedResponse(bookETag(book), toResponse(book));
+    }
+
+    public record TaggedResponse(String etag, BookDTO.Response response) {
+    }
+
+    @Cacheable(cacheNames = CacheConfig.BOOK_SEARCH, key = "'author:' + #author + ':' + #page + ':' + #size")
+    public List<BookDTO.Response> getBooksByAuthor(String author, int page, int size) {
+        return searchBooks(BookSearchIndex.Field.AUTHOR, author, page, size);
+    }
+
+    @Cacheable(cacheNames = CacheConfig.BOOK_SEARCH, key = "'title:' + #title + ':' + #page + ':' + #size")
+    public List<BookDTO.Response> getBooksByTitle(String title, int page, int size) {
+        return searchBooks(BookSearchIndex.Field.TITLE, title, page, size);
+    }
+
+    // 색인이 준비되어 있으면 색인에서 관련도 순 id 를 구한 뒤 IN 쿼리 한 번으로 읽고, 아니면 DB LIKE 검색으로 대체합니다.
+    private List<BookDTO.Response> searchBooks(BookSearchIndex.Field field, String keyword, int page, int size) {
+        int pageNumber = Math.max(page, 0);
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+
+        if (searchIndex.isReady()) {
+            List<Long> ids = searchIndex.search(field, keyword, pageNumber, pageSize);
+            if (ids.isEmpty()) {
+                return List.of();
+            }
+            Map<Long, BookDTO.ListRow> booksById = bookRepository.findRowsByIdIn(ids)
+                    .stream()
+                    .collect(Collectors.toMap(BookDTO.ListRow::getId, Function.identity()));
+            return toResponses(ids.stream()
+                    .map(booksById::get)
+                    .filter(Objects::nonNull)
+                    .toList());
+        }
+
+        Pageable pageable = PageRequest.of(pageNumber, pageSize);
+        String pattern = containsPattern(keyword);
+        List<BookDTO.ListRow> rows = field == BookSearchIndex.Field.TITLE
+                ? bookRepository.searchByTitle(pattern, pageable)
+                : bookRepository.searchByAuthor(pattern, pageable);
+        return toResponses(rows);
+    }
+
+    private static String containsPattern(String keyword) {
+        String escaped = keyword.toLowerCase(Locale.ROOT)
+                .replace("!", "!!")
+                .replace("%", "!%")
+                .replace("_", "!_");
+        return "%" + escaped + "%";
     }
 
     public List<BookDTO.Response> getBooksByPublisherId(Long publisherId) {
@@ -66,24 +322,96 @@ public class BookService {
             throw new BusinessException(ErrorCode.RESOURCE_NOT_FOUND,
                     "Publisher", "id", publisherId);
         }
-        // PublisherId로 조회할 때도 Publisher 정보가 포함되려면, 해당 쿼리도 fetch join으로 수정 필요
-        return bookRepository.findByPublisherId(publisherId)
+        // bookDetail/publisher 를 조인한 프로젝션 한 번으로 읽어서 결과 건수와 무관하게 쿼리 수가 일정합니다.
+        return toResponses(bookRepository.findRowsByPublisherId(publisherId));
+    }
+
+    // 출판사별 도서 커서 조회 - 출판사 정보는 한 번만 변환해 모든 행에 재사용합니다.
+    public BookDTO.CursorResponse<BookDTO.Response> getBooksByPublisherIdPage(Long publisherId, String after, int limit) {
+        if (!publisherRepository.existsById(publisherId)) {
+            throw new BusinessException(ErrorCode.RESOURCE_NOT_FOUND,
+                    "Publisher", "id", publisherId);
+        }
+        BookCursor cursor = BookCursor.decode(after, BookCursor.SortKey.ID);
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+
+        List<BookDTO.ListRow> rows = bookRepository.findPageByPublisherIdAfterId(
+                publisherId, cursor.getLastId(), PageRequest.of(0, pageSize + 1));
+        boolean hasNext = rows.size() > pageSize;
+        List<BookDTO.ListRow> content = hasNext ? rows.subList(0, pageSize) : rows;
+
+        return BookDTO.CursorResponse.<BookDTO.Response>builder()
+                .content(toResponses(content))
+                .size(content.size())
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? new BookCursor(BookCursor.SortKey.ID,
+                        content.get(content.size() - 1).getId(), null, null).encode() : null)
+                .build();
+    }
+
+    // BookDTO.Response.fromEntity(book) 는 출판사의 도서 수를 publisher.getBooks().size() 로 구하므로
+    // 출판사의 도서 전체(+각 도서의 bookDetail)를 로딩합니다. 서비스에서는 도서 수를 COUNT 쿼리로 구해 넘겨줍니다.
+    private BookDTO.Response toResponse(Book book) {
+        Publisher publisher = book.getPublisher();
+        return toResponse(book, publisher != null ? bookRepository.countByPublisherId(publisher.getId()) : 0L);
+    }
+
+    private static BookDTO.Response toResponse(Book book, long publisherBookCount) {
+        Publisher publisher = book.getPublisher();
+        PublisherDTO.SimpleResponse publisherResponse = publisher != null
+                ? PublisherDTO.SimpleResponse.fromEntity(publisher, publisherBookCount)
+                : null;
+        return BookDTO.Response.fromEntity(book, publisherResponse);
+    }
+
+    // 목록 응답 - 프로젝션 행(BookDTO.ListRow)에서 바로 만듭니다.
+    // 등장하는 출판사들의 도서 수를 GROUP BY 쿼리 한 번으로 구하고, 출판사 응답은 출판사마다 한 번만 만듭니다.
+    private List<BookDTO.Response> toResponses(List<BookDTO.ListRow> rows) {
+        Set<Long> publisherIds = rows.stream()
+                .map(BookDTO.ListRow::getPublisherId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (publisherIds.isEmpty()) {
+            return rows.stream()
+                    .map(row -> row.toResponse(null))
+                    .toList();
+        }
+
+        Map<Long, Long> bookCounts = bookRepository.countByPublisherIds(publisherIds)
                 .stream()
-                .map(BookDTO.Response::fromEntity)
+                .collect(Collectors.toMap(BookRepository.PublisherBookCount::getPublisherId,
+                        BookRepository.PublisherBookCount::getBookCount));
+        Map<Long, PublisherDTO.SimpleResponse> publishers = new HashMap<>();
+        return rows.stream()
+                .map(row -> row.toResponse(row.getPublisherId() == null ? null
+                        : publishers.computeIfAbsent(row.getPublisherId(), id ->
+                        row.toPublisherResponse(bookCounts.getOrDefault(id, 0L)))))
                 .toList();
     }
 
     @Transactional
     public BookDTO.Response createBook(BookDTO.Request request) {
-        if (bookRepository.existsByIsbn(request.getIsbn())) {
-            throw new BusinessException(ErrorCode.ISBN_DUPLICATE, request.getIsbn());
+        Isbn isbn = Isbn.parse(request.getIsbn());
+        if (isIsbnTaken(isbn)) {
+            throw new BusinessException(ErrorCode.ISBN_DUPLICATE, isbn);
         }
 
         // 1. Publisher 조회 및 연결
         // request.getPublisher()는 요청 데이터의 "publisher": 2 에 해당하는 Long 값입니다.
-        Publisher publisher = publisherRepository.findById(request.getPublisher())
-                .orElseThrow(() -> new BusinessException(ErrorCode.RESOURCE_NOT_FOUND, "Publisher", "id", request.getPublisher()));
+        Publisher publisher = requirePublisher(increaseBooksVersion(request.getPublisher()), request.getPublisher());
+
+        Book book = newBook(request, publisher);
+
+        Book savedBook = bookRepository.save(book);
+        isbnFilter.add(savedBook.getIsbnKey());
+        bookCacheEvictor.evictBook(savedBook.getId(), savedBook.getIsbn());
+        bookCacheEvictor.evictPublisherBookCounts(publisher.getId());
+        changeOutbox.record(ChangeEvent.AggregateType.BOOK, savedBook.getId(), ChangeEvent.ChangeType.CREATED);
+        return toResponse(savedBook);
+    }
 
+    // 등록 요청으로 Book(+BookDetail) 엔티티를 만듭니다. 단건 등록과 대량 등록(BookImportService)이 함께 사용합니다.
+    static Book newBook(BookDTO.Request request, Publisher publisher) {
         Book book = Book.builder()
                 .title(request.getTitle())
                 .author(request.getAuthor())
@@ -93,7 +421,7 @@ public class BookService {
                 .publisher(publisher) // 조회한 Publisher 엔티티를 Book에 설정
                 .build();
 
-        // 2. BookDetail 생성 및 연결 (기존 로직과 동일)
+        // BookDetail 생성 및 연결 (기존 로직과 동일)
         if (request.getDetailRequest() != null) {
             BookDetail bookDetail = BookDetail.builder()
                     .description(request.getDetailRequest().getDescription())
@@ -106,33 +434,47 @@ public class BookService {
                     .build();
             book.setBookDetail(bookDetail);
         }
-
-        Book savedBook = bookRepository.save(book);
-        return BookDTO.Response.fromEntity(savedBook); // fromEntity에서 publisher 정보도 변환해야 합니다.
+        return book;
     }
 
     @Transactional
     public BookDTO.Response updateBook(Long id, BookDTO.Request request) {
+        return updateBook(id, request, null).response();
+    }
+
+    // ifMatch 가 있으면 도서/상세 버전이 일치할 때만 수정합니다. (불일치 시 412)
+    // 본문과 함께 수정된 버전으로 만든 ETag 를 반환합니다.
+    @Transactional
+    public TaggedResponse updateBook(Long id, BookDTO.Request request, String ifMatch) {
+        BookRepository.BookVersion checked = checkIfMatch(id, ifMatch);
         Book book = bookRepository.findById(id)
                 .orElseThrow(() -> new BusinessException(ErrorCode.RESOURCE_NOT_FOUND, "Book", "id", id));
+        verifyUnchanged(book, checked);
 
-        if (!book.getIsbn().equals(request.getIsbn()) &&
-                bookRepository.existsByIsbn(request.getIsbn())) {
-            throw new BusinessException(ErrorCode.ISBN_DUPLICATE, request.getIsbn());
+        Isbn isbn = Isbn.parse(request.getIsbn());
+        boolean isbnChanged = !isSameIsbn(book, isbn);
+        if (isbnChanged && isIsbnTaken(isbn)) {
+            throw new BusinessException(ErrorCode.ISBN_DUPLICATE, isbn);
+        }
+        // 변경 전 ISBN 으로 캐시된 항목도 함께 비웁니다.
+        bookCacheEvictor.evictBook(id, book.getIsbn(), isbn.toString());
+        if (isbnChanged) {
+            changeIsbnInFilter(book.getIsbnKey(), isbn);
         }
 
         book.setTitle(request.getTitle());
         book.setAuthor(request.getAuthor());
-        book.setIsbn(request.getIsbn());
+        book.setIsbn(isbn.toString());
         book.setPrice(request.getPrice());
         book.setPublishDate(request.getPublishDate());
 
         // Publisher 업데이트 및 연결
         // request.getPublisher()는 업데이트 요청 데이터의 "publisher": 2 에 해당하는 Long 값입니다.
-        Publisher newPublisher = publisherRepository.findById(request.getPublisher())
-                .orElseThrow(() -> new BusinessException(ErrorCode.RESOURCE_NOT_FOUND, "Publisher", "id", request.getPublisher()));
-        book.setPublisher(newPublisher);
-
+        // 제목/가격 등은 출판사 조회 응답의 도서 목록에도 나오므로 이전/새 출판사 모두 booksVersion 을 올립니다.
+        Long previousPublisherId = publisherIdOf(book);
+        Map<Long, Publisher> publishers = increaseBooksVersion(previousPublisherId, request.getPublisher());
+        book.setPublisher(requirePublisher(publishers, request.getPublisher()));
+        evictBookCountsIfMoved(previousPublisherId, request.getPublisher());
 
         if (request.getDetailRequest() != null) {
             BookDetail bookDetail = book.getBookDetail();
@@ -152,14 +494,26 @@ public class BookService {
         }
 
         Book updatedBook = bookRepository.save(book);
-        return BookDTO.Response.fromEntity(updatedBook);
+        changeOutbox.record(ChangeEvent.AggregateType.BOOK, id, ChangeEvent.ChangeType.UPDATED);
+        return tagged(updatedBook);
     }
 
-    @Transactional // 데이터 변경이 발생하므로 @Transactional 어노테이션 필요
+    @Transactional
     public BookDTO.Response partialUpdateBook(Long id, BookDTO.PatchRequest request) {
+        return partialUpdateBook(id, request, null).response();
+    }
+
+    @Transactional // 데이터 변경이 발생하므로 @Transactional 어노테이션 필요
+    public TaggedResponse partialUpdateBook(Long id, BookDTO.PatchRequest request, String ifMatch) {
         // 1. 업데이트할 책을 ID로 조회합니다. 없으면 RESOURCE_NOT_FOUND 예외를 발생시킵니다.
+        //    If-Match 가 있으면 먼저 현재 도서/상세 버전과 비교합니다.
+        BookRepository.BookVersion checked = checkIfMatch(id, ifMatch);
         Book book = bookRepository.findById(id)
                 .orElseThrow(() -> new BusinessException(ErrorCode.RESOURCE_NOT_FOUND, "Book", "id", id));
+        verifyUnchanged(book, checked);
+
+        // 변경 전/후 ISBN 으로 캐시된 항목을 비웁니다. (실제 삭제는 커밋 이후)
+        bookCacheEvictor.evictBook(id, book.getIsbn(), request.getIsbn());
 
         // 2. 요청 DTO의 각 필드를 확인하며, 값이 존재하는 경우에만 책 엔티티를 업데이트합니다.
 
@@ -175,12 +529,15 @@ public class BookService {
 
         // ISBN 업데이트 및 중복 검사
         if (request.getIsbn() != null) {
-            // 현재 책의 ISBN과 다르고, 새로운 ISBN이 이미 존재한다면 중복 예외 발생
-            if (!book.getIsbn().equals(request.getIsbn()) &&
-                    bookRepository.existsByIsbn(request.getIsbn())) {
-                throw new BusinessException(ErrorCode.ISBN_DUPLICATE, request.getIsbn());
+            // 현재 책의 ISBN과 다르고, 새로운 ISBN이 이미 존재한다면 중복 예외 발생 (표기가 달라도 같은 ISBN 이면 같은 책)
+            Isbn isbn = Isbn.parse(request.getIsbn());
+            if (!isSameIsbn(book, isbn)) {
+                if (isIsbnTaken(isbn)) {
+                    throw new BusinessException(ErrorCode.ISBN_DUPLICATE, isbn);
+                }
+                changeIsbnInFilter(book.getIsbnKey(), isbn);
             }
-            book.setIsbn(request.getIsbn());
+            book.setIsbn(isbn.toString());
         }
 
         // 가격 (price) 업데이트
@@ -195,12 +552,13 @@ public class BookService {
 
         // 3. Publisher 부분 업데이트 및 연결
         // 요청에 'publisher' 필드 (Long 타입의 Publisher ID)가 있다면 해당 Publisher를 찾아서 연결합니다.
+        //    이전/새 출판사의 booksVersion 을 올립니다. (출판사 조회 응답의 도서 목록이 바뀝니다)
+        Long previousPublisherId = publisherIdOf(book);
+        Map<Long, Publisher> publishers = increaseBooksVersion(previousPublisherId, request.getPublisher());
         if (request.getPublisher() != null) { // request.getPublisher()는 이제 Publisher ID (Long 값)입니다.
-            // 요청된 publisher ID로 Publisher 엔티티를 조회합니다. 없으면 RESOURCE_NOT_FOUND 예외 발생.
-            Publisher newPublisher = publisherRepository.findById(request.getPublisher())
-                    .orElseThrow(() -> new BusinessException(ErrorCode.RESOURCE_NOT_FOUND, "Publisher", "id", request.getPublisher()));
-            // 조회된 Publisher 엔티티를 Book에 설정하여 연관관계를 업데이트합니다.
-            book.setPublisher(newPublisher);
+            // 잠가서 조회한 Publisher 엔티티를 Book에 설정하여 연관관계를 업데이트합니다. 없으면 RESOURCE_NOT_FOUND 예외 발생.
+            book.setPublisher(requirePublisher(publishers, request.getPublisher()));
+            evictBookCountsIfMoved(previousPublisherId, request.getPublisher());
         }
 
         // 4. BookDetail 부분 업데이트
@@ -241,15 +599,26 @@ public class BookService {
 
         // 5. 업데이트된 책 엔티티를 저장하고, 응답 DTO로 변환하여 반환합니다.
         Book updatedBook = bookRepository.save(book);
-        return BookDTO.Response.fromEntity(updatedBook);
+        changeOutbox.record(ChangeEvent.AggregateType.BOOK, id, ChangeEvent.ChangeType.UPDATED);
+        return tagged(updatedBook);
     }
 
     // BookDetail 만 업데이트 하는 메서드 (새로 추가)
     @Transactional
     public BookDTO.Response updateBookDetail(Long id, BookDTO.BookDetailPatchRequest request) {
+        return updateBookDetail(id, request, null).response();
+    }
+
+    // 상세는 출판사 조회 응답에 나오지 않으므로 출판사의 booksVersion 은 그대로 둡니다.
+    @Transactional
+    public TaggedResponse updateBookDetail(Long id, BookDTO.BookDetailPatchRequest request, String ifMatch) {
         // Find the book
+        BookRepository.BookVersion checked = checkIfMatch(id, ifMatch);
         Book book = bookRepository.findById(id)
                 .orElseThrow(() -> new BusinessException(ErrorCode.RESOURCE_NOT_FOUND, "Book", "id", id));
+        verifyUnchanged(book, checked);
+
+        bookCacheEvictor.evictBook(id, book.getIsbn());
 
         BookDetail bookDetail = book.getBookDetail();
 
@@ -282,14 +651,111 @@ public class BookService {
 
         // Save and return updated book
         Book updatedBook = bookRepository.save(book);
-        return BookDTO.Response.fromEntity(updatedBook);
+        changeOutbox.record(ChangeEvent.AggregateType.BOOK, id, ChangeEvent.ChangeType.UPDATED);
+        return tagged(updatedBook);
+    }
+
+    // 쓰기 응답 - flush 해서 커밋될 버전이 엔티티에 반영된 뒤, 같은 엔티티로 본문과 ETag 를 만듭니다.
+    // 커밋 후 버전을 다시 조회하면 그 사이 커밋된 다른 쓰기의 ETag 가 이 본문에 붙어 그 변경을 덮어쓸 수 있습니다.
+    private TaggedResponse tagged(Book book) {
+        bookRepository.flush();
+        return new TaggedResponse(bookETag(book), toResponse(book));
+    }
+
+    // If-Match 가 없으면 null 을 반환합니다. 412 응답에는 현재 ETag 전체를 담습니다.
+    private BookRepository.BookVersion checkIfMatch(Long id, String ifMatch) {
+        if (ifMatch == null) {
+            return null;
+        }
+        BookRepository.BookVersion version = findVersion(id);
+        if (!EntityTag.matches(ifMatch, bookValidator(version.getBookVersion(), version.getDetailVersion()))) {
+            throw new BusinessException(ErrorCode.PRECONDITION_FAILED, "Book", id, bookETag(version));
+        }
+        return version;
+    }
+
+    // ETag 를 비교한 뒤 엔티티를 읽기 전에 다른 요청이 먼저 커밋했다면 412 로 처리합니다.
+    // 그 이후의 동시 수정은 @Version 검사(flush 시 UPDATE ... WHERE version = ?)가 막습니다.
+    private void verifyUnchanged(Book book, BookRepository.BookVersion checked) {
+        if (checked == null) {
+            return;
+        }
+        if (!Objects.equals(book.getVersion(), checked.getBookVersion())
+                || !Objects.equals(detailVersion(book), checked.getDetailVersion())) {
+            throw new BusinessException(ErrorCode.PRECONDITION_FAILED, "Book", book.getId(), getBookETag(book.getId()));
+        }
+    }
+
+    // 도서가 등록/수정/삭제/이동되면 소속 출판사(이동이면 이전/새 출판사 모두)의 booksVersion 을 올립니다.
+    // 출판사 조회 응답의 도서 수/도서 목록과 도서 응답의 출판사 도서 수가 바뀌므로, 두 ETag 가 버전 컬럼만으로 바뀝니다.
+    // 행을 잠그므로 같은 출판사의 도서 쓰기는 커밋 순서대로 반영됩니다. 없는 출판사 id 는 결과에서 빠집니다.
+    private Map<Long, Publisher> increaseBooksVersion(Long... publisherIds) {
+        List<Long> ids = Arrays.stream(publisherIds).filter(Objects::nonNull).distinct().toList();
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, Publisher> publishers = new HashMap<>();
+        for (Publisher publisher : publisherRepository.findAllByIdForUpdate(ids)) {
+            publisher.increaseBooksVersion();
+            publishers.put(publisher.getId(), publisher);
+        }
+        return publishers;
+    }
+
+    private static Publisher requirePublisher(Map<Long, Publisher> publishers, Long id) {
+        Publisher publisher = publishers.get(id);
+        if (publisher == null) {
+            throw new BusinessException(ErrorCode.RESOURCE_NOT_FOUND, "Publisher", "id", id);
+        }
+        return publisher;
+    }
+
+    // 다른 출판사로 옮기면 두 출판사의 도서 수가 바뀝니다.
+    private void evictBookCountsIfMoved(Long previousPublisherId, Long publisherId) {
+        if (!Objects.equals(previousPublisherId, publisherId)) {
+            bookCacheEvictor.evictPublisherBookCounts(previousPublisherId, publisherId);
+        }
+    }
+
+    // 지연 로딩 프록시의 id 는 초기화 없이 읽힙니다.
+    private static Long publisherIdOf(Book book) {
+        return book.getPublisher() != null ? book.getPublisher().getId() : null;
+    }
+
+    // ISBN 필터가 "없음" 이라고 답하면 DB 조회를 생략합니다. 그 사이 다른 요청이 같은 ISBN 을 등록하는 경합은
+    // isbn_key UNIQUE 제약이 막습니다. (DataIntegrityViolationException → 409)
+    private boolean isIsbnTaken(Isbn isbn) {
+        if (!isbnFilter.mightContain(isbn.key())) {
+            return false;
+        }
+        boolean taken = bookRepository.existsByIsbnKey(isbn.key());
+        if (!taken) {
+            isbnFilter.recordFalsePositive();
+        }
+        return taken;
+    }
+
+    // 새 키는 바로 넣고, 이전 키는 커밋된 뒤에 뺍니다.
+    private void changeIsbnInFilter(Long previousKey, Isbn isbn) {
+        isbnFilter.add(isbn.key());
+        isbnFilter.removeAfterCommit(previousKey);
+    }
+
+    // 백필 전의 기존 행은 isbn_key 가 비어 있을 수 있으므로 정규화한 문자열로도 비교합니다.
+    private static boolean isSameIsbn(Book book, Isbn isbn) {
+        return book.getIsbnKey() != null ? book.getIsbnKey() == isbn.key()
+                : isbn.toString().equals(Isbn.normalizeOrRaw(book.getIsbn()));
     }
 
     @Transactional
     public void deleteBook(Long id) {
-        if (!bookRepository.existsById(id)) {
-            throw new BusinessException(ErrorCode.RESOURCE_NOT_FOUND, "Book", "id", id);
-        }
-        bookRepository.deleteById(id);
+        Book book = bookRepository.findById(id)
+                .orElseThrow(() -> new BusinessException(ErrorCode.RESOURCE_NOT_FOUND, "Book", "id", id));
+        bookCacheEvictor.evictBook(id, book.getIsbn());
+        bookCacheEvictor.evictPublisherBookCounts(publisherIdOf(book));
+        increaseBooksVersion(publisherIdOf(book));
+        bookRepository.delete(book);
+        isbnFilter.removeAfterCommit(book.getIsbnKey());
+        changeOutbox.record(ChangeEvent.AggregateType.BOOK, id, ChangeEvent.ChangeType.DELETED);
     }
 }
\ No newline at end of file
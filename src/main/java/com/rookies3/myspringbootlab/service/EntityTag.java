@@ -0,0 +1,35 @@
+package com.rookies3.myspringbootlab.service;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * 엔티티 버전 값으로 만드는 강한 ETag 와 If-Match 비교.
+ */
+final class EntityTag {
+
+    private EntityTag() {
+    }
+
+    // 예: "3-0-1-12"
+    static String of(Object... versions) {
+        return Arrays.stream(versions)
+                .map(String::valueOf)
+                .collect(Collectors.joining("-", "\"", "\""));
+    }
+
+    // If-Match: "*" 또는 쉼표로 구분한 ETag 목록. 약한 ETag(W/)는 강한 비교에서 일치하지 않습니다.
+    // validator 는 쓰기가 보호하는 버전만으로 만든 값이고, 응답 ETag 는 그 뒤에 연관 엔티티의 버전을 이어 붙인 값입니다.
+    // 후보의 앞부분이 validator 와 같으면 일치로 봅니다. 예: validator "3-0" 는 "3-0-1-12" 와 일치합니다.
+    static boolean matches(String ifMatch, String validator) {
+        String prefix = validator.substring(0, validator.length() - 1) + "-";
+        for (String candidate : ifMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*") || value.equals(validator)
+                    || value.startsWith(prefix) && value.endsWith("\"")) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,55 +1,112 @@
 package com.rookies3.myspringbootlab.service;
 
+import com.rookies3.myspringbootlab.config.MetricsConfig;
+import com.rookies3.myspringbootlab.controller.dto.BookDTO;
 import com.rookies3.myspringbootlab.controller.dto.PublisherDTO;
+import com.rookies3.myspringbootlab.entity.ChangeEvent;
 import com.rookies3.myspringbootlab.entity.Publisher;
 import com.rookies3.myspringbootlab.exception.BusinessException;
 import com.rookies3.myspringbootlab.exception.ErrorCode;
 import com.rookies3.myspringbootlab.repository.BookRepository;
 import com.rookies3.myspringbootlab.repository.PublisherRepository;
+import com.rookies3.myspringbootlab.service.change.ChangeOutbox;
+import com.rookies3.myspringbootlab.service.coalesce.LoadCoalescer;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
+@Timed(value = MetricsConfig.SERVICE_TIMER, histogram = true)
 public class PublisherService {
 
+    // 출판사 상세 응답에 포함할 도서 수
+    private static final int BOOKS_PAGE_SIZE = 20;
+
     private final PublisherRepository publisherRepository;
     private final BookRepository bookRepository;
+    private final BookCacheEvictor bookCacheEvictor;
+    private final ChangeOutbox changeOutbox;
+    private final LoadCoalescer loadCoalescer;
 
     public List<PublisherDTO.SimpleResponse> getAllPublishers() {
-        List<Publisher> departments = publisherRepository.findAll();
-
-        return departments.stream()
-                .map(publisher -> {
-                    // 학생 수만 별도로 조회하여 students 컬렉션에 접근하지 않음
-                    Long bookCount = bookRepository.countByPublisherId(publisher.getId());
-                    return PublisherDTO.SimpleResponse.builder()
-                            .id(publisher.getId())
-                            .name(publisher.getName())
-                            .establishedDate(publisher.getEstablishedDate())
-                            .address(publisher.getAddress())
-                            .bookCount(bookCount)
-                            .build();
-                })
-                .toList();
+        // 도서 수를 출판사마다 따로 COUNT 하지 않고, 집계 쿼리 한 번으로 DTO 까지 바로 매핑합니다.
+        return publisherRepository.findAllWithBookCount();
+    }
+
+    public Page<PublisherDTO.SimpleResponse> getPublishers(Pageable pageable) {
+        return publisherRepository.findAllWithBookCount(pageable);
     }
 
+    // 같은 출판사를 동시에 조회하면 출판사 + 도서 수 + 첫 페이지 쿼리는 한 번만 실행합니다. (LoadCoalescer 참고)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public PublisherDTO.Response getPublisherById(Long id) {
-        Publisher publisher = publisherRepository.findByIdWithBooks(id)
-                .orElseThrow(() -> new BusinessException(ErrorCode.RESOURCE_NOT_FOUND,
-                        "Publisher", "id", id));
-        return PublisherDTO.Response.fromEntity(publisher);
+        return loadCoalescer.load("publisher-by-id", id, () -> {
+            // books 컬렉션 전체를 fetch join 하지 않고, 도서 수 + 첫 페이지만 조회합니다.
+            Publisher publisher = publisherRepository.findById(id)
+                    .orElseThrow(() -> new BusinessException(ErrorCode.RESOURCE_NOT_FOUND,
+                            "Publisher", "id", id));
+            return toResponse(publisher);
+        });
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public PublisherDTO.Response getPublisherByName(String name) {
-        Publisher publisher = publisherRepository.findByName(name)
+        return loadCoalescer.load("publisher-by-name", name, () -> {
+            Publisher publisher = publisherRepository.findByName(name)
+                    .orElseThrow(() -> new BusinessException(ErrorCode.RESOURCE_NOT_FOUND,
+                            "Publisher", "name", name));
+            return toResponse(publisher);
+        });
+    }
+
+    // GET /api/publishers/{id} 의 ETag - 출판사 버전과 소속 도서가 바뀔 때마다 올라가는 booksVersion 만 PK 로 읽습니다.
+    public String getPublisherETag(Long id) {
+        return publisherETag(findVersion(id));
+    }
+
+    private PublisherRepository.PublisherVersion findVersion(Long id) {
+        return publisherRepository.findVersionById(id)
                 .orElseThrow(() -> new BusinessException(ErrorCode.RESOURCE_NOT_FOUND,
-                        "Publisher", "name", name));
-        return PublisherDTO.Response.fromEntity(publisher);
+                        "Publisher", "id", id));
+    }
+
+    private static String publisherETag(PublisherRepository.PublisherVersion version) {
+        return EntityTag.of(version.getPublisherVersion(), version.getBooksVersion());
+    }
+
+    // 저장(flush)한 엔티티의 버전으로 만드는 ETag - findVersionById 로 만든 값과 같습니다.
+    private static String publisherETag(Publisher publisher) {
+        return EntityTag.of(publisher.getVersion(), publisher.getBooksVersion());
+    }
+
+    // If-Match 로 보호하는 값 - 수정이 덮어쓰는 출판사 버전만 봅니다. (ETag 의 앞부분)
+    // 소속 도서가 등록/수정/삭제되어도 출판사 수정은 412 가 되지 않습니다.
+    private static String publisherValidator(Long publisherVersion) {
+        return EntityTag.of(publisherVersion);
+    }
+
+    private PublisherDTO.Response toResponse(Publisher publisher) {
+        Long bookCount = bookRepository.countByPublisherId(publisher.getId());
+        List<BookDTO.SimpleResponse> books = bookRepository.findSimplePageByPublisherIdAfterId(
+                publisher.getId(), 0L, PageRequest.of(0, BOOKS_PAGE_SIZE + 1));
+
+        String nextBooksCursor = null;
+        if (books.size() > BOOKS_PAGE_SIZE) {
+            books = books.subList(0, BOOKS_PAGE_SIZE);
+            nextBooksCursor = new BookCursor(BookCursor.SortKey.ID,
+                    books.get(BOOKS_PAGE_SIZE - 1).getId(), null, null).encode();
+        }
+        return PublisherDTO.Response.fromEntity(publisher, bookCount, books, nextBooksCursor);
     }
 
     @Transactional
@@ -68,15 +125,37 @@ public class PublisherService {
         // ------------------------------------
 
         Publisher savedPublisher = publisherRepository.save(publisher);
-        return PublisherDTO.Response.fromEntity(savedPublisher);
+        changeOutbox.record(ChangeEvent.AggregateType.PUBLISHER, savedPublisher.getId(),
+                ChangeEvent.ChangeType.CREATED);
+        // 새로 만든 출판사에는 도서가 없습니다.
+        return PublisherDTO.Response.fromEntity(savedPublisher, 0L, List.of(), null);
     }
 
     @Transactional
     public PublisherDTO.Response updatePublisher(Long id, PublisherDTO.Request request) {
+        return updatePublisher(id, request, null).response();
+    }
+
+    // ifMatch 가 있으면 출판사 버전이 일치할 때만 수정합니다. (불일치 시 412, 응답에는 현재 ETag 전체를 담습니다)
+    // 본문과 함께 수정된 버전으로 만든 ETag 를 반환합니다.
+    @Transactional
+    public TaggedResponse updatePublisher(Long id, PublisherDTO.Request request, String ifMatch) {
+        PublisherRepository.PublisherVersion checked = null;
+        if (ifMatch != null) {
+            checked = findVersion(id);
+            if (!EntityTag.matches(ifMatch, publisherValidator(checked.getPublisherVersion()))) {
+                throw new BusinessException(ErrorCode.PRECONDITION_FAILED, "Publisher", id, publisherETag(checked));
+            }
+        }
+
         // Find the publisher
         Publisher publisher = publisherRepository.findById(id)
                 .orElseThrow(() -> new BusinessException(ErrorCode.RESOURCE_NOT_FOUND,
                         "Publisher", "id", id));
+        // 비교 이후 엔티티를 읽기 전에 다른 요청이 먼저 커밋한 경우 - 그 뒤의 동시 수정은 @Version 이 막습니다.
+        if (checked != null && !Objects.equals(publisher.getVersion(), checked.getPublisherVersion())) {
+            throw new BusinessException(ErrorCode.PRECONDITION_FAILED, "Publisher", id, getPublisherETag(id));
+        }
 
         // Check if another publisher already has the name
         if (!publisher.getName().equals(request.getName()) &&
@@ -91,9 +170,17 @@ public class PublisherService {
         publisher.setEstablishedDate(request.getEstablishedDate()); // <-- 추가
         publisher.setAddress(request.getAddress());                 // <-- 추가
 
+        // 도서 응답에 출판사 정보가 포함되어 있으므로 도서 캐시도 비웁니다.
+        bookCacheEvictor.evictAll();
+
         // Save and return updated publisher
-        Publisher updatedPublisher = publisherRepository.save(publisher);
-        return PublisherDTO.Response.fromEntity(updatedPublisher);
+        // flush 해서 커밋될 버전이 엔티티에 반영된 뒤 같은 엔티티로 ETag 를 만듭니다. (커밋 후 다시 조회하지 않습니다)
+        Publisher updatedPublisher = publisherRepository.saveAndFlush(publisher);
+        changeOutbox.record(ChangeEvent.AggregateType.PUBLISHER, id, ChangeEvent.ChangeType.UPDATED);
+        return new TaggedResponse(publisherETag(updatedPublisher), toResponse(updatedPublisher));
+    }
+
+    public record TaggedResponse(String etag, PublisherDTO.Response response) {
     }
 
     @Transactional
@@ -110,5 +197,6 @@ public class PublisherService {
         }
 
         publisherRepository.deleteById(id);
+        changeOutbox.record(ChangeEvent.AggregateType.PUBLISHER, id, ChangeEvent.ChangeType.DELETED);
     }
 }
\ No newline at end of file
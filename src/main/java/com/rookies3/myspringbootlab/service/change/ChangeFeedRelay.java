@@ -0,0 +1,217 @@
+package com.rookies3.myspringbootlab.service.change;
+
+import com.rookies3.myspringbootlab.controller.dto.ChangeDTO;
+import com.rookies3.myspringbootlab.entity.ChangeEvent;
+import com.rookies3.myspringbootlab.exception.BusinessException;
+import com.rookies3.myspringbootlab.exception.ErrorCode;
+import com.rookies3.myspringbootlab.property.ChangeFeedProperties;
+import com.rookies3.myspringbootlab.repository.ChangeEventRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * 아웃박스(change_events)를 폴링해 SSE 구독자에게 배치 단위로 흘려보냅니다.
+ * <p>
+ * 폴링마다 먼저 커밋된 새 이벤트에 피드 오프셋(feedOffset)을 순서대로 매깁니다. 오랫동안 열려 있던 트랜잭션의 이벤트도
+ * 커밋된 뒤 처음 보일 때 그때까지 나간 어떤 오프셋보다 큰 값을 받으므로, 오프셋 순으로 읽는 구독자가 건너뛰지 않습니다.
+ * <p>
+ * 구독자마다 마지막으로 받은 오프셋을 들고 있고, 같은 오프셋의 구독자들은 한 번의 조회 결과를 함께 받습니다.
+ * 평소에는 모두 같은 오프셋이므로 폴링마다 쿼리 한 번이면 되고, 재연결로 뒤처진 구독자만 따로 따라잡습니다.
+ * 메시지 하나가 이벤트 배치 하나이며, SSE id 는 배치의 마지막 오프셋이라 Last-Event-ID 로 그대로 이어받을 수 있습니다.
+ * <p>
+ * 조회는 스케줄러 스레드에서, 전송은 구독자마다 가상 스레드에서 합니다. 느린 클라이언트는 자기 전송이 끝날 때까지
+ * 다음 폴링에서 빠질 뿐 다른 구독자를 막지 않고, 한 구독자에게 동시에 두 번 보내지 않습니다.
+ */
+@Slf4j
+@Component
+public class ChangeFeedRelay {
+
+    static final String EVENT_NAME = "changes";
+
+    private final ChangeEventRepository changeEventRepository;
+    private final ChangeFeedProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final ExecutorService sender =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("change-feed-", 0).factory());
+
+    public ChangeFeedRelay(ChangeEventRepository changeEventRepository, ChangeFeedProperties properties,
+                           PlatformTransactionManager transactionManager) {
+        this.changeEventRepository = changeEventRepository;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // after 가 null 이면 현재 시점 이후의 변경만 받습니다. 0 이면 보관 중인 이벤트를 처음부터 받습니다.
+    // 구독 직전에 커밋되어 아직 오프셋을 받지 못한 이벤트는 함께 받을 수 있습니다. (최소 한 번 전달)
+    public SseEmitter subscribe(Long after) {
+        if (subscribers.size() >= properties.getMaxSubscribers()) {
+            throw new BusinessException(ErrorCode.TOO_MANY_SUBSCRIBERS, properties.getMaxSubscribers());
+        }
+        long offset = after != null ? after : changeEventRepository.findLastOffset();
+        SseEmitter emitter = new SseEmitter(properties.getEmitterTimeout().toMillis());
+        Subscriber subscriber = new Subscriber(emitter, offset);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        return emitter;
+    }
+
+    @Scheduled(fixedDelayString = "${app.change-feed.poll-interval:500ms}")
+    public void relay() {
+        // 구독자가 없어도 오프셋은 매깁니다. 그래야 나중에 구독한 쪽이 구독 전 변경을 새 변경으로 받지 않습니다.
+        assignOffsets();
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        // 이전 전송이 아직 끝나지 않은 구독자는 이번 폴링에서 건너뛰고, 끝난 뒤 자기 오프셋부터 따라잡습니다.
+        Map<Long, List<Subscriber>> byOffset = subscribers.stream()
+                .filter(subscriber -> !subscriber.sending.get())
+                .collect(Collectors.groupingBy(subscriber -> subscriber.offset));
+
+        Instant heartbeatBefore = Instant.now().minus(properties.getHeartbeatInterval());
+        byOffset.forEach((offset, group) -> deliver(readBatches(offset), group, heartbeatBefore));
+    }
+
+    // 보관 기간이 지난 이벤트 정리
+    @Scheduled(cron = "${app.change-feed.cleanup-cron:0 0 * * * *}")
+    public void purgeExpired() {
+        int deleted = changeEventRepository.deleteOlderThan(Instant.now().minus(properties.getRetention()));
+        if (deleted > 0) {
+            log.info("Purged {} change events older than {}", deleted, properties.getRetention());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+    }
+
+    // 커밋되어 보이는 행에만 매기므로, 아직 커밋되지 않은 트랜잭션의 행은 다음 폴링에서 더 큰 오프셋을 받습니다.
+    private void assignOffsets() {
+        PageRequest limit = PageRequest.of(0, properties.getBatchSize() * properties.getMaxBatchesPerPoll());
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<ChangeEvent> pending = changeEventRepository.findUnsequenced(limit);
+                if (pending.isEmpty()) {
+                    return;
+                }
+                long next = changeEventRepository.findLastOffset();
+                for (ChangeEvent event : pending) {
+                    event.setFeedOffset(++next);
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            // 다른 인스턴스의 릴레이가 같은 오프셋을 먼저 매겼습니다. 다음 폴링에서 다시 매깁니다.
+            log.debug("Change feed offsets were assigned concurrently: {}", e.getMessage());
+        }
+    }
+
+    private List<Batch> readBatches(long offset) {
+        PageRequest page = PageRequest.of(0, properties.getBatchSize());
+        List<Batch> batches = new ArrayList<>();
+        for (int i = 0; i < properties.getMaxBatchesPerPoll(); i++) {
+            List<ChangeEvent> events = changeEventRepository.findBatchAfter(offset, page);
+            if (events.isEmpty()) {
+                break;
+            }
+            offset = events.getLast().getFeedOffset();
+            batches.add(new Batch(offset, events.stream().map(ChangeDTO.Event::fromEntity).toList()));
+            if (events.size() < properties.getBatchSize()) {
+                break;
+            }
+        }
+        return batches;
+    }
+
+    private void deliver(List<Batch> batches, List<Subscriber> group, Instant heartbeatBefore) {
+        for (Subscriber subscriber : group) {
+            if (batches.isEmpty() && subscriber.lastSentAt.isAfter(heartbeatBefore)) {
+                continue;
+            }
+            if (!subscriber.sending.compareAndSet(false, true)) {
+                continue;
+            }
+            try {
+                sender.execute(() -> {
+                    try {
+                        sendAll(subscriber, batches);
+                    } finally {
+                        subscriber.sending.set(false);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // 종료 중
+                subscriber.sending.set(false);
+            }
+        }
+    }
+
+    private void sendAll(Subscriber subscriber, List<Batch> batches) {
+        if (batches.isEmpty()) {
+            send(subscriber, SseEmitter.event().comment("heartbeat"), subscriber.offset);
+            return;
+        }
+        for (Batch batch : batches) {
+            // 이벤트 빌더는 build() 할 때 내용이 누적되므로 구독자마다 새로 만듭니다.
+            SseEmitter.SseEventBuilder event = SseEmitter.event()
+                    .id(Long.toString(batch.lastOffset()))
+                    .name(EVENT_NAME)
+                    .data(batch.events(), MediaType.APPLICATION_JSON);
+            if (!send(subscriber, event, batch.lastOffset())) {
+                return;
+            }
+        }
+    }
+
+    private boolean send(Subscriber subscriber, SseEmitter.SseEventBuilder event, long offset) {
+        try {
+            subscriber.emitter.send(event);
+            subscriber.offset = offset;
+            subscriber.lastSentAt = Instant.now();
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            // 클라이언트가 끊긴 경우 - 재연결 시 Last-Event-ID 부터 다시 받습니다.
+            log.debug("Dropping change feed subscriber: {}", e.getMessage());
+            subscribers.remove(subscriber);
+            subscriber.emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    private record Batch(long lastOffset, List<ChangeDTO.Event> events) {
+    }
+
+    private static class Subscriber {
+        private final SseEmitter emitter;
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private volatile long offset;
+        private volatile Instant lastSentAt = Instant.now();
+
+        private Subscriber(SseEmitter emitter, long offset) {
+            this.emitter = emitter;
+            this.offset = offset;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.rookies3.myspringbootlab.service.change;
+
+import com.rookies3.myspringbootlab.entity.ChangeEvent;
+import com.rookies3.myspringbootlab.repository.ChangeEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+
+/**
+ * 변경 이벤트를 아웃박스 테이블에 기록합니다.
+ * 호출한 서비스의 트랜잭션에 참여해야 하므로 트랜잭션 밖에서 부르면 예외가 납니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Transactional(propagation = Propagation.MANDATORY)
+public class ChangeOutbox {
+
+    private final ChangeEventRepository changeEventRepository;
+
+    public void record(ChangeEvent.AggregateType aggregateType, Long aggregateId, ChangeEvent.ChangeType changeType) {
+        changeEventRepository.save(newEvent(aggregateType, aggregateId, changeType, Instant.now()));
+    }
+
+    public void recordAll(ChangeEvent.AggregateType aggregateType, Collection<Long> aggregateIds,
+                          ChangeEvent.ChangeType changeType) {
+        Instant now = Instant.now();
+        changeEventRepository.saveAll(aggregateIds.stream()
+                .map(id -> newEvent(aggregateType, id, changeType, now))
+                .toList());
+    }
+
+    private static ChangeEvent newEvent(ChangeEvent.AggregateType aggregateType, Long aggregateId,
+                                        ChangeEvent.ChangeType changeType, Instant occurredAt) {
+        return ChangeEvent.builder()
+                .aggregateType(aggregateType)
+                .aggregateId(aggregateId)
+                .changeType(changeType)
+                .occurredAt(occurredAt)
+                .build();
+    }
+}
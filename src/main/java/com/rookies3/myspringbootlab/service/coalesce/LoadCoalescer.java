@@ -0,0 +1,146 @@
+package com.rookies3.myspringbootlab.service.coalesce;
+
+import com.rookies3.myspringbootlab.property.CoalescingProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 인기 도서/출판사 단건 조회의 캐시 미스가 한꺼번에 DB 로 몰리지 않도록, 같은 키의 동시 로드를 하나로 합칩니다.
+ * <p>
+ * 합쳐서 기다리는 호출이 각자 트랜잭션(커넥션)을 잡고 있으면 합치는 의미가 없으므로, 호출하는 서비스 메서드는
+ * propagation = SUPPORTS 로 두고 대표 로드만 여기서 읽기 전용 트랜잭션을 열어 실행합니다.
+ * 합치기를 끈 경우에도 로드는 같은 읽기 전용 트랜잭션에서 실행하므로 replica 라우팅과 지연 로딩이 그대로 동작합니다.
+ * 이미 트랜잭션 안에서 호출되면 자기 트랜잭션이 쓴 내용을 봐야 하므로 합치지 않고 그 트랜잭션에서 바로 로드합니다.
+ * <p>
+ * 캐시를 함께 쓰는 조회(loadCached)는 캐시에 넣는 일도 여기서 합니다. 도서/출판사 쓰기가 커밋되면 BookCacheEvictor 가
+ * invalidateAfterCommit() 으로 generation 을 올리고, 그 전에 시작된 로드는 쓰기 전 값을 읽었을 수 있으므로
+ * 새 호출이 합류하지 않고 결과도 캐시에 넣지 않습니다.
+ * <p>
+ * 조회 종류(flight)별로 app.coalescing.loads(실제 로드), app.coalescing.deduplicated(다른 호출의 로드 결과를 받은 수),
+ * app.coalescing.timeouts(대기 시간 초과) 를 기록합니다.
+ */
+@Component
+public class LoadCoalescer {
+
+    private final CoalescingProperties properties;
+    private final TransactionTemplate readOnlyTransaction;
+    private final CacheManager cacheManager;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final Map<String, SingleFlight<Object, Object>> flights = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    public LoadCoalescer(CoalescingProperties properties, PlatformTransactionManager transactionManager,
+                         CacheManager cacheManager, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.properties = properties;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.cacheManager = cacheManager;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <V> V load(String flight, Object key, Supplier<V> loader) {
+        return load(flight, null, key, loader);
+    }
+
+    // cacheName 캐시를 먼저 보고, 없으면 로드해서 넣습니다. (@Cacheable 대신 - 무효화된 로드의 결과를 넣지 않기 위해)
+    @SuppressWarnings("unchecked")
+    public <V> V loadCached(String flight, String cacheName, Object key, Supplier<V> loader) {
+        Cache cache = cacheManager.getCache(cacheName);
+        // SUPPORTS 메서드 안에서는 트랜잭션 동기화가 켜져 있어 트랜잭션 인식 캐시의 put 이 메서드가 끝날 때까지 미뤄집니다.
+        // 무효화 여부를 확인한 직후에 넣어야 하므로 원본 캐시를 씁니다. (실제 트랜잭션 안에서는 넣지 않습니다)
+        if (cache instanceof TransactionAwareCacheDecorator decorator) {
+            cache = decorator.getTargetCache();
+        }
+        Cache.ValueWrapper cached = cache != null ? cache.get(key) : null;
+        if (cached != null) {
+            return (V) cached.get();
+        }
+        return load(flight, cache, key, loader);
+    }
+
+    // 쓰기 트랜잭션이 커밋된 뒤 generation 을 올립니다. 캐시 삭제보다 먼저 등록해야 삭제 전에 올라갑니다.
+    public void invalidateAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            generation.incrementAndGet();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                generation.incrementAndGet();
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private <V> V load(String flight, Cache cache, Object key, Supplier<V> loader) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            // 커밋 전의 자기 변경이 보일 수 있으므로 캐시에 넣지 않습니다.
+            return loader.get();
+        }
+        long observed = generation.get();
+        Supplier<V> leader = () -> {
+            V value = readOnlyTransaction.execute(status -> loader.get());
+            putUnlessInvalidated(cache, key, value, observed);
+            return value;
+        };
+        if (!properties.isEnabled()) {
+            return leader.get();
+        }
+        return (V) flights.computeIfAbsent(flight, this::create)
+                .load(key, observed, (Supplier<Object>) leader);
+    }
+
+    private void putUnlessInvalidated(Cache cache, Object key, Object value, long observed) {
+        if (cache == null || value == null || generation.get() != observed) {
+            return;
+        }
+        cache.put(key, value);
+        // 확인과 put 사이에 무효화(와 캐시 삭제)가 지나갔다면 방금 넣은 값을 지웁니다.
+        if (generation.get() != observed) {
+            cache.evict(key);
+        }
+    }
+
+    private SingleFlight<Object, Object> create(String flight) {
+        Duration timeout = properties.getTimeouts().getOrDefault(flight, properties.getTimeout());
+        SingleFlight<Object, Object> singleFlight = new SingleFlight<>(flight, timeout.toNanos());
+        meterRegistry.ifAvailable(registry -> bind(singleFlight, registry));
+        return singleFlight;
+    }
+
+    private static void bind(SingleFlight<Object, Object> flight, MeterRegistry registry) {
+        FunctionCounter.builder("app.coalescing.loads", flight, SingleFlight::getLoads)
+                .description("Loads that actually ran against the database")
+                .tag("flight", flight.getName())
+                .register(registry);
+        FunctionCounter.builder("app.coalescing.deduplicated", flight, SingleFlight::getDeduplicated)
+                .description("Calls served by another caller's in-flight load for the same key")
+                .tag("flight", flight.getName())
+                .register(registry);
+        FunctionCounter.builder("app.coalescing.timeouts", flight, SingleFlight::getTimeouts)
+                .description("Calls that gave up waiting for an in-flight load")
+                .tag("flight", flight.getName())
+                .register(registry);
+        Gauge.builder("app.coalescing.inflight", flight, SingleFlight::getInFlight)
+                .description("Keys with a load currently in flight")
+                .tag("flight", flight.getName())
+                .register(registry);
+    }
+}
@@ -0,0 +1,128 @@
+package com.rookies3.myspringbootlab.service.coalesce;
+
+import com.rookies3.myspringbootlab.exception.BusinessException;
+import com.rookies3.myspringbootlab.exception.ErrorCode;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 같은 키로 동시에 들어온 로드를 하나로 합칩니다.
+ * <p>
+ * 처음 들어온 호출이 자기 스레드에서 로드하고, 그동안 같은 키로 들어온 호출은 그 결과(또는 같은 예외)를 받습니다.
+ * 로드가 끝나면 바로 항목을 지우므로 결과를 보관하지는 않습니다. (보관은 캐시의 몫)
+ * 대기는 로드 시작 시점부터 timeout 까지만 하며, 그 뒤에 들어온 호출은 멈춘 로드를 기다리지 않고 새로 로드합니다.
+ * 호출마다 넘기는 generation 은 쓰기가 커밋될 때마다 커지는 값입니다. 이전 generation 에 시작된 로드는 쓰기 전 값을
+ * 읽었을 수 있으므로, 더 새로운 generation 의 호출은 그 로드에 합류하지 않고 새로 로드합니다.
+ */
+class SingleFlight<K, V> {
+
+    private final String name;
+    private final long timeoutNanos;
+    private final ConcurrentHashMap<K, Flight<V>> flights = new ConcurrentHashMap<>();
+
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder deduplicated = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    SingleFlight(String name, long timeoutNanos) {
+        this.name = name;
+        this.timeoutNanos = timeoutNanos;
+    }
+
+    V load(K key, Supplier<V> loader) {
+        return load(key, 0L, loader);
+    }
+
+    V load(K key, long generation, Supplier<V> loader) {
+        Flight<V> flight = new Flight<>(System.nanoTime() + timeoutNanos, generation);
+        while (true) {
+            Flight<V> existing = flights.putIfAbsent(key, flight);
+            if (existing == null) {
+                return lead(key, flight, loader);
+            }
+            if (!existing.isExpired() && existing.generation >= generation) {
+                return await(key, existing);
+            }
+            if (flights.replace(key, existing, flight)) {
+                return lead(key, flight, loader);
+            }
+        }
+    }
+
+    private V lead(K key, Flight<V> flight, Supplier<V> loader) {
+        loads.increment();
+        try {
+            V value = loader.get();
+            flight.result.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(key, flight);
+        }
+    }
+
+    private V await(K key, Flight<V> flight) {
+        deduplicated.increment();
+        try {
+            return flight.result.get(flight.deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            // 대표 로드가 던진 예외를 그대로 다시 던져서, 예외 처리(404 등)가 직접 로드한 경우와 같게 합니다.
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            timeouts.increment();
+            throw new BusinessException(ErrorCode.LOAD_TIMEOUT, name, key);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException(ErrorCode.LOAD_TIMEOUT, name, key);
+        }
+    }
+
+    String getName() {
+        return name;
+    }
+
+    long getLoads() {
+        return loads.sum();
+    }
+
+    long getDeduplicated() {
+        return deduplicated.sum();
+    }
+
+    long getTimeouts() {
+        return timeouts.sum();
+    }
+
+    int getInFlight() {
+        return flights.size();
+    }
+
+    private static final class Flight<V> {
+        private final CompletableFuture<V> result = new CompletableFuture<>();
+        private final long deadlineNanos;
+        private final long generation;
+
+        private Flight(long deadlineNanos, long generation) {
+            this.deadlineNanos = deadlineNanos;
+            this.generation = generation;
+        }
+
+        private boolean isExpired() {
+            return System.nanoTime() - deadlineNanos >= 0;
+        }
+    }
+}
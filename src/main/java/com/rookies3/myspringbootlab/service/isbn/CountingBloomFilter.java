@@ -0,0 +1,133 @@
+package com.rookies3.myspringbootlab.service.isbn;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * long 키에 대한 counting Bloom filter - 삭제를 지원하고, 잠금 없이 CAS 로 갱신합니다.
+ * <p>
+ * 위치마다 4비트 카운터를 두고 long 하나에 16개씩 담습니다. (키 하나당 약 4.8바이트 @ 1% 오탐률)
+ * 카운터가 15 에 도달하면 포화된 것으로 보고 더 이상 늘리거나 줄이지 않습니다.
+ * 포화나 중복 추가는 오탐(false positive)만 늘릴 뿐, 있는 키를 "없음" 으로 답하게 만들지는 않습니다.
+ * 단, 추가한 적 없는 키를 remove 하면 다른 키의 카운터가 줄어드므로 호출하는 쪽에서 막아야 합니다.
+ */
+final class CountingBloomFilter {
+
+    private static final int COUNTER_BITS = 4;
+    private static final int COUNTERS_PER_WORD = Long.SIZE / COUNTER_BITS;
+    private static final long MAX_COUNT = (1L << COUNTER_BITS) - 1;
+
+    private final AtomicLongArray words;
+    private final long counters;
+    private final int hashes;
+    private final AtomicLong nonZeroCounters = new AtomicLong();
+
+    CountingBloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("expectedInsertions must be positive and 0 < falsePositiveRate < 1");
+        }
+        // 최적 크기 m = -n ln p / (ln 2)^2, 해시 수 k = m/n ln 2
+        double optimal = -expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        long wordCount = Math.min(Integer.MAX_VALUE - 8L,
+                Math.max(1L, (long) Math.ceil(optimal / COUNTERS_PER_WORD)));
+        this.words = new AtomicLongArray((int) wordCount);
+        this.counters = wordCount * COUNTERS_PER_WORD;
+        this.hashes = Math.max(1, (int) Math.round((double) counters / expectedInsertions * Math.log(2)));
+    }
+
+    void add(long key) {
+        long h1 = mix(key);
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashes; i++) {
+            increment(Math.floorMod(h1 + i * h2, counters));
+        }
+    }
+
+    void remove(long key) {
+        long h1 = mix(key);
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashes; i++) {
+            decrement(Math.floorMod(h1 + i * h2, counters));
+        }
+    }
+
+    // false 이면 키가 확실히 없습니다. true 이면 있을 수도 있습니다.
+    boolean mightContain(long key) {
+        long h1 = mix(key);
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashes; i++) {
+            if (count(Math.floorMod(h1 + i * h2, counters)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // 현재 채워진 비율로 추정한 오탐률 - (0 이 아닌 카운터 비율)^k
+    double estimatedFalsePositiveRate() {
+        return Math.pow((double) nonZeroCounters.get() / counters, hashes);
+    }
+
+    long memoryBytes() {
+        return (long) words.length() * Long.BYTES;
+    }
+
+    int hashes() {
+        return hashes;
+    }
+
+    private long count(long index) {
+        return (words.get((int) (index / COUNTERS_PER_WORD)) >>> shift(index)) & MAX_COUNT;
+    }
+
+    private void increment(long index) {
+        int word = (int) (index / COUNTERS_PER_WORD);
+        int shift = shift(index);
+        while (true) {
+            long current = words.get(word);
+            long count = (current >>> shift) & MAX_COUNT;
+            if (count == MAX_COUNT) {
+                return;
+            }
+            if (words.compareAndSet(word, current, current + (1L << shift))) {
+                if (count == 0) {
+                    nonZeroCounters.incrementAndGet();
+                }
+                return;
+            }
+        }
+    }
+
+    private void decrement(long index) {
+        int word = (int) (index / COUNTERS_PER_WORD);
+        int shift = shift(index);
+        while (true) {
+            long current = words.get(word);
+            long count = (current >>> shift) & MAX_COUNT;
+            // 포화된 카운터는 실제 개수를 알 수 없으므로 줄이지 않습니다.
+            if (count == 0 || count == MAX_COUNT) {
+                return;
+            }
+            if (words.compareAndSet(word, current, current - (1L << shift))) {
+                if (count == 1) {
+                    nonZeroCounters.decrementAndGet();
+                }
+                return;
+            }
+        }
+    }
+
+    private static int shift(long index) {
+        return (int) (index % COUNTERS_PER_WORD) * COUNTER_BITS;
+    }
+
+    // MurmurHash3 fmix64 - 연속된 ISBN 키도 고르게 퍼지도록 섞습니다.
+    private static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xFF51AFD7ED558CCDL;
+        key ^= key >>> 33;
+        key *= 0xC4CEB9FE1A85EC53L;
+        key ^= key >>> 33;
+        return key;
+    }
+}
@@ -0,0 +1,142 @@
+package com.rookies3.myspringbootlab.service.isbn;
+
+import com.rookies3.myspringbootlab.property.IsbnFilterProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 등록된 모든 ISBN 키(books.isbn_key)에 대한 인메모리 Bloom filter.
+ * <p>
+ * 새 ISBN 은 대부분 실제로 처음 보는 값이므로, 필터가 "없음" 이라고 답하면 등록/수정 전의 ISBN 중복 확인 쿼리를 생략합니다.
+ * 필터를 통과한 동시 등록 경합은 isbn_key UNIQUE 제약이 최종적으로 막습니다.
+ * 기동 후 IsbnFilterLoader 가 적재를 마치기 전까지는 항상 "있을 수 있음" 으로 답해서 DB 로 확인하게 합니다.
+ */
+@Component
+public class IsbnFilter implements MeterBinder {
+
+    private final CountingBloomFilter filter;
+    private volatile boolean ready;
+
+    private final LongAdder keys = new LongAdder();
+    private final LongAdder absent = new LongAdder();
+    private final LongAdder maybePresent = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+
+    public IsbnFilter(IsbnFilterProperties properties) {
+        this.filter = properties.isEnabled()
+                ? new CountingBloomFilter(properties.getExpectedInsertions(), properties.getFalsePositiveRate())
+                : null;
+    }
+
+    public boolean isEnabled() {
+        return filter != null;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // false 이면 해당 ISBN 은 확실히 등록되어 있지 않습니다.
+    public boolean mightContain(long isbnKey) {
+        if (!ready) {
+            return true;
+        }
+        if (filter.mightContain(isbnKey)) {
+            maybePresent.increment();
+            return true;
+        }
+        absent.increment();
+        return false;
+    }
+
+    // mightContain 이 true 였지만 DB 에 없었던 경우 - 관측 오탐률 지표에 사용합니다. (적재 전의 "있을 수 있음" 은 제외)
+    public void recordFalsePositive() {
+        if (ready) {
+            falsePositives.increment();
+        }
+    }
+
+    // 추가는 즉시 반영합니다. 롤백되어 남은 키는 오탐만 늘릴 뿐 중복 검사를 건너뛰게 만들지 않습니다.
+    public void add(Long isbnKey) {
+        if (filter == null || isbnKey == null) {
+            return;
+        }
+        filter.add(isbnKey);
+        keys.increment();
+    }
+
+    // 삭제는 커밋 이후에만 반영합니다. 롤백될 삭제를 먼저 빼면 남아 있는 ISBN 을 "없음" 으로 답하게 됩니다.
+    public void removeAfterCommit(Long isbnKey) {
+        if (filter == null || isbnKey == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            remove(isbnKey);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                remove(isbnKey);
+            }
+        });
+    }
+
+    // 적재가 끝나기 전에는 아직 넣지 않은 키일 수 있으므로 빼지 않습니다. (남은 카운트는 오탐만 늘립니다)
+    private void remove(long isbnKey) {
+        if (!ready) {
+            return;
+        }
+        filter.remove(isbnKey);
+        keys.decrement();
+    }
+
+    void markReady() {
+        ready = true;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (filter == null) {
+            return;
+        }
+        Gauge.builder("book.isbn.filter.memory", filter, CountingBloomFilter::memoryBytes)
+                .description("Memory held by the ISBN Bloom filter counters")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("book.isbn.filter.keys", keys, LongAdder::sum)
+                .description("ISBN keys currently counted in the filter (approximate)")
+                .register(registry);
+        Gauge.builder("book.isbn.filter.fpp.estimated", filter, CountingBloomFilter::estimatedFalsePositiveRate)
+                .description("False-positive rate estimated from the filter fill ratio")
+                .register(registry);
+        // 없는 ISBN 을 물었을 때 "있을 수 있음" 으로 답한 비율 = 오탐 / (오탐 + 확실히 없음)
+        Gauge.builder("book.isbn.filter.fpp.observed", this, IsbnFilter::observedFalsePositiveRate)
+                .description("False-positive rate observed on the write path")
+                .register(registry);
+        FunctionCounter.builder("book.isbn.filter.checks", absent, LongAdder::sum)
+                .description("ISBN existence checks answered by the filter")
+                .tag("result", "absent")
+                .register(registry);
+        FunctionCounter.builder("book.isbn.filter.checks", maybePresent, LongAdder::sum)
+                .description("ISBN existence checks answered by the filter")
+                .tag("result", "maybe")
+                .register(registry);
+        FunctionCounter.builder("book.isbn.filter.false.positives", falsePositives, LongAdder::sum)
+                .description("Filter hits that the database reported as absent")
+                .register(registry);
+    }
+
+    private double observedFalsePositiveRate() {
+        long positives = falsePositives.sum();
+        long negatives = positives + absent.sum();
+        return negatives == 0 ? 0.0 : (double) positives / negatives;
+    }
+}
@@ -0,0 +1,63 @@
+package com.rookies3.myspringbootlab.service.isbn;
+
+import com.rookies3.myspringbootlab.property.IsbnFilterProperties;
+import com.rookies3.myspringbootlab.repository.BookRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 애플리케이션 기동 후 books.isbn_key 를 키셋 단위로 읽어 ISBN 필터를 채웁니다.
+ * 적재 중에 등록된 도서는 서비스가 직접 추가하므로, 같은 키가 두 번 들어가더라도 오탐만 조금 늘어납니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IsbnFilterLoader {
+
+    private final IsbnFilter isbnFilter;
+    private final BookRepository bookRepository;
+    private final IsbnFilterProperties properties;
+
+    // 기동을 막지 않도록 applicationTaskExecutor 에서 비동기로 적재합니다.
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (!isbnFilter.isEnabled()) {
+            log.info("ISBN filter is disabled, ISBN duplicate checks always query the database");
+            return;
+        }
+        load();
+    }
+
+    void load() {
+        long started = System.currentTimeMillis();
+        try {
+            long lastId = 0L;
+            long loaded = 0L;
+            List<BookRepository.IsbnKeyRow> rows;
+            do {
+                rows = bookRepository.findIsbnKeyRowsAfterId(lastId, PageRequest.of(0, properties.getLoadBatchSize()));
+                for (BookRepository.IsbnKeyRow row : rows) {
+                    if (row.getIsbnKey() != null) {
+                        isbnFilter.add(row.getIsbnKey());
+                        loaded++;
+                    }
+                    lastId = row.getId();
+                }
+            } while (!rows.isEmpty());
+
+            isbnFilter.markReady();
+            log.info("ISBN filter loaded: {} keys in {} ms", loaded, System.currentTimeMillis() - started);
+        } catch (RuntimeException e) {
+            // 준비되지 않은 상태로 남으므로 중복 검사는 계속 DB 로 처리됩니다.
+            log.error("Failed to load ISBN filter", e);
+        }
+    }
+}
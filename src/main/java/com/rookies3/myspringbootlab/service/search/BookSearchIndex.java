@@ -0,0 +1,260 @@
+package com.rookies3.myspringbootlab.service.search;
+
+import com.rookies3.myspringbootlab.property.BookSearchProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 도서 제목/저자에 대한 인메모리 역색인.
+ * <p>
+ * 정규화(NFKC + 소문자)한 문자열을 문자 bigram 으로 잘라 posting list 를 만듭니다.
+ * 형태소 분석 없이도 한글을 포함한 임의의 부분 문자열 검색이 가능하고,
+ * 후보는 항상 원문 contains 로 검증하므로 결과는 기존 LIKE '%x%' 검색과 같습니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookSearchIndex {
+
+    public enum Field { TITLE, AUTHOR }
+
+    private final BookSearchProperties properties;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final Map<Field, Map<String, PostingList>> postings = new EnumMap<>(Map.of(
+            Field.TITLE, new HashMap<>(),
+            Field.AUTHOR, new HashMap<>()));
+
+    // 초기 적재 중에 엔티티 리스너가 먼저 반영한 id - 적재 스레드가 오래된 값으로 덮어쓰지 않도록 기록합니다.
+    private final Set<Long> touchedWhileLoading = new HashSet<>();
+    private boolean loading;
+    private volatile boolean ready;
+
+    public boolean isEnabled() {
+        return properties.isIndexEnabled();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void startLoading() {
+        lock.writeLock().lock();
+        try {
+            loading = true;
+            ready = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void finishLoading() {
+        lock.writeLock().lock();
+        try {
+            loading = false;
+            touchedWhileLoading.clear();
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 초기 적재용 - 적재 도중 변경/삭제된 도서는 건너뜁니다.
+    void load(Long id, String title, String author) {
+        lock.writeLock().lock();
+        try {
+            if (!touchedWhileLoading.contains(id)) {
+                putInternal(id, title, author);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void put(Long id, String title, String author) {
+        if (!isEnabled()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (loading) {
+                touchedWhileLoading.add(id);
+            }
+            putInternal(id, title, author);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        if (!isEnabled()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (loading) {
+                touchedWhileLoading.add(id);
+            }
+            removeInternal(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 관련도 순으로 정렬된 도서 id 한 페이지를 반환합니다.
+     * 정확히 일치 > 접두 일치 > 단어 시작 일치 > 부분 일치 순이며, 같은 등급이면 앞쪽에서 일치하고 짧은 값이 먼저입니다.
+     */
+    public List<Long> search(Field field, String query, int page, int size) {
+        String normalized = normalize(query);
+
+        lock.readLock().lock();
+        try {
+            List<Hit> hits = new ArrayList<>();
+            for (long id : candidates(field, normalized)) {
+                Document document = documents.get(id);
+                String value = document != null ? document.get(field) : null;
+                if (value == null) {
+                    continue;
+                }
+                int position = value.indexOf(normalized);
+                if (position >= 0) {
+                    hits.add(new Hit(id, rank(value, normalized, position), position, value.length()));
+                }
+            }
+            hits.sort(Comparator.comparingInt(Hit::rank)
+                    .thenComparingInt(Hit::position)
+                    .thenComparingInt(Hit::length)
+                    .thenComparingLong(Hit::id));
+
+            int from = (int) Math.min((long) page * size, hits.size());
+            int to = Math.min(from + size, hits.size());
+            return hits.subList(from, to).stream().map(Hit::id).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 가장 짧은 posting list 하나만 후보로 쓰고, 나머지 조건은 contains 검증에 맡깁니다.
+    private long[] candidates(Field field, String normalized) {
+        if (normalized.length() < 2) {
+            return documents.keySet().stream().mapToLong(Long::longValue).toArray();
+        }
+        Map<String, PostingList> fieldPostings = postings.get(field);
+        PostingList smallest = null;
+        for (String gram : bigrams(normalized)) {
+            PostingList list = fieldPostings.get(gram);
+            if (list == null) {
+                return new long[0];
+            }
+            if (smallest == null || list.size < smallest.size) {
+                smallest = list;
+            }
+        }
+        return smallest == null ? new long[0] : Arrays.copyOf(smallest.ids, smallest.size);
+    }
+
+    private static int rank(String value, String query, int position) {
+        if (value.equals(query)) {
+            return 0;
+        }
+        if (position == 0) {
+            return 1;
+        }
+        if (!Character.isLetterOrDigit(value.charAt(position - 1))) {
+            return 2;
+        }
+        return 3;
+    }
+
+    private void putInternal(Long id, String title, String author) {
+        removeInternal(id);
+        Document document = new Document(normalize(title), normalize(author));
+        documents.put(id, document);
+        for (Field field : Field.values()) {
+            Map<String, PostingList> fieldPostings = postings.get(field);
+            for (String gram : bigrams(document.get(field))) {
+                fieldPostings.computeIfAbsent(gram, g -> new PostingList()).add(id);
+            }
+        }
+    }
+
+    private void removeInternal(Long id) {
+        Document previous = documents.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (Field field : Field.values()) {
+            Map<String, PostingList> fieldPostings = postings.get(field);
+            for (String gram : bigrams(previous.get(field))) {
+                PostingList list = fieldPostings.get(gram);
+                if (list != null && list.remove(id) && list.size == 0) {
+                    fieldPostings.remove(gram);
+                }
+            }
+        }
+    }
+
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        return Normalizer.normalize(value, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+    }
+
+    static Set<String> bigrams(String normalized) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + 2 <= normalized.length(); i++) {
+            grams.add(normalized.substring(i, i + 2));
+        }
+        return grams;
+    }
+
+    private record Document(String title, String author) {
+        String get(Field field) {
+            return field == Field.TITLE ? title : author;
+        }
+    }
+
+    private record Hit(long id, int rank, int position, int length) {
+    }
+
+    // boxing 없이 id 를 담는 가변 배열 - 삭제는 마지막 원소와 자리를 바꿔 O(n) 한 번으로 끝냅니다.
+    private static final class PostingList {
+        private long[] ids = new long[4];
+        private int size;
+
+        void add(long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        boolean remove(long id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    ids[i] = ids[--size];
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
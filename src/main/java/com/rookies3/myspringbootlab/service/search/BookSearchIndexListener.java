@@ -0,0 +1,57 @@
+package com.rookies3.myspringbootlab.service.search;
+
+import com.rookies3.myspringbootlab.entity.Book;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Consumer;
+
+/**
+ * Book 엔티티 변경을 검색 색인에 반영하는 JPA 엔티티 리스너.
+ * 롤백된 변경이 색인에 남지 않도록 트랜잭션 커밋 이후에만 반영합니다.
+ * Hibernate 가 Spring 빈 컨테이너로 생성하며, 색인 빈이 없는 테스트 슬라이스에서는 아무것도 하지 않습니다.
+ */
+public class BookSearchIndexListener {
+
+    private final ObjectProvider<BookSearchIndex> searchIndexProvider;
+
+    public BookSearchIndexListener(ObjectProvider<BookSearchIndex> searchIndexProvider) {
+        this.searchIndexProvider = searchIndexProvider;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Book book) {
+        Long id = book.getId();
+        String title = book.getTitle();
+        String author = book.getAuthor();
+        afterCommit(index -> index.put(id, title, author));
+    }
+
+    @PostRemove
+    public void onRemove(Book book) {
+        Long id = book.getId();
+        afterCommit(index -> index.remove(id));
+    }
+
+    private void afterCommit(Consumer<BookSearchIndex> action) {
+        BookSearchIndex index = searchIndexProvider.getIfAvailable();
+        if (index == null || !index.isEnabled()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.accept(index);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.accept(index);
+            }
+        });
+    }
+}
@@ -0,0 +1,61 @@
+package com.rookies3.myspringbootlab.service.search;
+
+import com.rookies3.myspringbootlab.property.BookSearchProperties;
+import com.rookies3.myspringbootlab.repository.BookRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 애플리케이션 기동 후 books 테이블을 키셋 단위로 읽어 검색 색인을 채웁니다.
+ * 적재가 끝나기 전까지 BookService 는 DB LIKE 검색으로 대체합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookSearchIndexLoader {
+
+    private final BookSearchIndex searchIndex;
+    private final BookRepository bookRepository;
+    private final BookSearchProperties properties;
+
+    // 기동을 막지 않도록 applicationTaskExecutor 에서 비동기로 적재합니다.
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (!properties.isIndexEnabled()) {
+            log.info("Book search index is disabled, title/author search uses the database");
+            return;
+        }
+        load();
+    }
+
+    void load() {
+        long started = System.currentTimeMillis();
+        searchIndex.startLoading();
+        try {
+            long lastId = 0L;
+            List<BookRepository.SearchRow> rows;
+            do {
+                rows = bookRepository.findSearchRowsAfterId(lastId, PageRequest.of(0, properties.getLoadBatchSize()));
+                for (BookRepository.SearchRow row : rows) {
+                    searchIndex.load(row.getId(), row.getTitle(), row.getAuthor());
+                    lastId = row.getId();
+                }
+            } while (!rows.isEmpty());
+
+            searchIndex.finishLoading();
+            log.info("Book search index loaded: {} books in {} ms",
+                    searchIndex.size(), System.currentTimeMillis() - started);
+        } catch (RuntimeException e) {
+            // 색인이 준비되지 않은 상태로 남으므로 검색은 계속 DB 로 처리됩니다.
+            log.error("Failed to load book search index", e);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+-- book_details 를 books 와 같은 기본 키(book_id)를 쓰도록 바꾸는 MariaDB 마이그레이션
+--
+-- BookDetail 이 @MapsId 로 book_id 를 PK 로 사용하게 되면서 book_detail_id(AUTO_INCREMENT) 컬럼이 없어집니다.
+-- spring.jpa.hibernate.ddl-auto=update 는 기본 키를 바꾸지 않으므로, 새 버전을 배포하기 전에 한 번 실행해야 합니다.
+-- 실행 전에 백업하고, 애플리케이션이 book_details 에 쓰지 않는 상태에서 실행하세요.
+--
+--   mariadb -u lab -p lab_db < book_details_shared_primary_key.sql
+
+-- 1. 도서와 연결되지 않은 상세 행은 새 구조에서 표현할 수 없으므로 삭제합니다.
+--    (book_id 는 UNIQUE 였으므로 한 도서에 상세가 둘 이상인 경우는 없습니다.)
+DELETE FROM book_details WHERE book_id IS NULL;
+
+-- 2. book_detail_id 를 없애고 book_id 를 기본 키로 만듭니다. FK(book_id → books.book_id)는 그대로 유지됩니다.
+ALTER TABLE book_details
+    DROP PRIMARY KEY,
+    DROP COLUMN book_detail_id,
+    MODIFY book_id BIGINT NOT NULL,
+    ADD PRIMARY KEY (book_id);
+
+-- 3. 기본 키와 중복되는 기존 UNIQUE(book_id) 인덱스를 삭제합니다. 이름은 Hibernate 가 만든 UK... 이므로 조회해서 지웁니다.
+SET @unique_index := (SELECT s.INDEX_NAME
+                      FROM information_schema.STATISTICS s
+                      WHERE s.TABLE_SCHEMA = DATABASE()
+                        AND s.TABLE_NAME = 'book_details'
+                        AND s.COLUMN_NAME = 'book_id'
+                        AND s.NON_UNIQUE = 0
+                        AND s.INDEX_NAME <> 'PRIMARY'
+                      LIMIT 1);
+SET @drop_unique_index := IF(@unique_index IS NULL, 'SELECT 1',
+                             CONCAT('ALTER TABLE book_details DROP INDEX `', @unique_index, '`'));
+PREPARE stmt FROM @drop_unique_index;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- 4. 확인 - 아래 두 결과가 같아야 합니다. (모든 상세 행이 존재하는 도서를 가리킴)
+SELECT COUNT(*) AS detail_rows FROM book_details;
+SELECT COUNT(*) AS detail_rows_with_book FROM book_details d JOIN books b ON b.book_id = d.book_id;
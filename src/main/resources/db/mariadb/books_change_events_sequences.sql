@@ -0,0 +1,25 @@
+-- books / change_events 의 id 를 AUTO_INCREMENT(IDENTITY)에서 시퀀스로 옮기는 MariaDB 마이그레이션 (MariaDB 10.3 이상)
+--
+-- IDENTITY 는 INSERT 를 실행해야 id 를 알 수 있어 Hibernate 가 JDBC 배치를 쓰지 못합니다. Book/ChangeEvent 는 이제
+-- books_seq / change_events_seq 에서 50 개씩(allocationSize) 미리 받아 대량 등록을 배치 INSERT 로 보냅니다.
+-- spring.jpa.hibernate.ddl-auto=update 가 시퀀스를 만들면 1 부터 시작해 기존 id 와 겹치므로,
+-- 새 버전을 배포하기 전에 한 번 실행해서 기존 최대 id 다음부터 시작하도록 만듭니다.
+-- INCREMENT BY 는 엔티티의 allocationSize 와 같아야 합니다. (다르면 기동 시 Hibernate 가 실패합니다)
+--
+--   mariadb -u lab -p lab_db < books_change_events_sequences.sql
+
+-- 1. books_seq - Hibernate 는 시퀀스 값을 50 개 묶음의 끝으로 쓰므로 최대 id + 50 이상에서 시작합니다.
+SET @start := (SELECT COALESCE(MAX(book_id), 0) + 51 FROM books);
+SET @ddl := CONCAT('CREATE SEQUENCE IF NOT EXISTS books_seq START WITH ', @start, ' INCREMENT BY 50');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- 2. change_events_seq
+SET @start := (SELECT COALESCE(MAX(change_event_id), 0) + 51 FROM change_events);
+SET @ddl := CONCAT('CREATE SEQUENCE IF NOT EXISTS change_events_seq START WITH ', @start, ' INCREMENT BY 50');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- book_id / change_event_id 컬럼의 AUTO_INCREMENT 는 남아 있어도 id 를 직접 넣으므로 쓰이지 않습니다.
@@ -0,0 +1,33 @@
+-- books.isbn_key(정규화된 ISBN-13 숫자 키)로 유일성을 옮기는 MariaDB 마이그레이션
+--
+-- spring.jpa.hibernate.ddl-auto=update 가 isbn_key 컬럼(BIGINT, NULL 허용)과 UNIQUE 인덱스를 추가하고,
+-- 기동 시 BookIsbnKeyBackfill 이 기존 행의 isbn 을 ISBN-13 으로 정규화하면서 isbn_key 를 채웁니다.
+-- 백필이 끝난 뒤(아래 1번 결과가 0 건일 때) 한 번 실행해서 NOT NULL 제약을 걸고 가변 길이 isbn UNIQUE 인덱스를 지웁니다.
+--
+--   mariadb -u lab -p lab_db < books_isbn_key.sql
+
+-- 1. 확인 - 결과가 없어야 합니다. 남은 행은 체크섬이 틀렸거나 다른 도서와 같은 ISBN 이므로 직접 고친 뒤
+--    애플리케이션을 다시 기동하면 백필이 이어서 채웁니다.
+SELECT book_id, isbn FROM books WHERE isbn_key IS NULL;
+
+-- 2. 모든 행이 키를 갖게 되었으므로 NOT NULL 로 바꿉니다. (남은 행이 있으면 여기서 실패합니다)
+ALTER TABLE books MODIFY isbn_key BIGINT NOT NULL;
+
+-- 3. isbn_key UNIQUE 와 중복되는 기존 UNIQUE(isbn) 인덱스를 삭제합니다. 이름은 Hibernate 가 만든 UK... 이므로 조회해서 지웁니다.
+SET @unique_index := (SELECT s.INDEX_NAME
+                      FROM information_schema.STATISTICS s
+                      WHERE s.TABLE_SCHEMA = DATABASE()
+                        AND s.TABLE_NAME = 'books'
+                        AND s.COLUMN_NAME = 'isbn'
+                        AND s.NON_UNIQUE = 0
+                      LIMIT 1);
+SET @drop_unique_index := IF(@unique_index IS NULL, 'SELECT 1',
+                             CONCAT('ALTER TABLE books DROP INDEX `', @unique_index, '`'));
+PREPARE stmt FROM @drop_unique_index;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- 4. 확인 - books 의 UNIQUE 인덱스는 PRIMARY 와 isbn_key 두 개만 남아야 합니다.
+SELECT INDEX_NAME, COLUMN_NAME
+FROM information_schema.STATISTICS
+WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'books' AND NON_UNIQUE = 0;
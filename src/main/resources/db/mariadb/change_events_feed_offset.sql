@@ -0,0 +1,17 @@
+-- 변경 피드 오프셋을 change_event_id 에서 릴레이가 매기는 feed_offset 으로 옮기는 MariaDB 마이그레이션
+--
+-- IDENTITY 값은 INSERT 순서로 정해지므로, 오래 걸린 트랜잭션의 이벤트가 이미 보낸 id 보다 작은 id 로 늦게 커밋되면
+-- id 를 오프셋으로 쓰는 릴레이가 그 이벤트를 건너뜁니다. 이제 ChangeFeedRelay 가 커밋된 행을 처음 볼 때 feed_offset 을 매깁니다.
+-- 새 버전을 배포하기 전에 한 번 실행합니다. 기존 행은 feed_offset = change_event_id 로 채워서,
+-- 클라이언트가 들고 있는 Last-Event-ID 를 그대로 이어받을 수 있게 합니다.
+--
+--   mariadb -u lab -p lab_db < change_events_feed_offset.sql
+
+-- 1. 컬럼 추가 (NULL = 릴레이가 아직 보지 못한 행)
+ALTER TABLE change_events ADD COLUMN IF NOT EXISTS feed_offset BIGINT NULL;
+
+-- 2. 기존 행은 id 를 그대로 오프셋으로 사용합니다.
+UPDATE change_events SET feed_offset = change_event_id WHERE feed_offset IS NULL;
+
+-- 3. 오프셋 조회/중복 방지용 UNIQUE 인덱스 (NULL 은 여러 개 허용)
+CREATE UNIQUE INDEX IF NOT EXISTS uk_change_events_feed_offset ON change_events (feed_offset);
@@ -0,0 +1,121 @@
+package com.rookies3.myspringbootlab.admission;
+
+import com.rookies3.myspringbootlab.property.AdmissionControlProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AdaptiveConcurrencyLimiterTest {
+
+    private static final long MILLIS = 1_000_000L;
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    public void rejectsImmediatelyWhenLimitIsReached() {
+        AdaptiveConcurrencyLimiter limiter = limiter(2, 1, 10);
+
+        AdaptiveConcurrencyLimiter.Permit first = limiter.tryAcquire();
+        AdaptiveConcurrencyLimiter.Permit second = limiter.tryAcquire();
+        assertThat(first).isNotNull();
+        assertThat(second).isNotNull();
+        assertThat(limiter.tryAcquire()).isNull();
+        assertThat(limiter.getRejected()).isEqualTo(1);
+
+        first.release(false, false);
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+        assertThat(limiter.tryAcquire()).isNotNull();
+    }
+
+    @Test
+    public void growsWhileLatencyStaysAtBaselineAndBacksOffWhenItRises() {
+        AdaptiveConcurrencyLimiter limiter = limiter(4, 2, 10);
+
+        // 한도를 꽉 채운 채로 빠르게 끝나면 한도가 늘어납니다.
+        for (int round = 0; round < 20; round++) {
+            completeAll(acquireAll(limiter), 10);
+        }
+        assertThat(limiter.getLimit()).isGreaterThan(4);
+        int grown = limiter.getLimit();
+
+        // 계속 느려지면 한도를 줄입니다. 한꺼번에 느려진 요청들은 한 라운드에 한 번만 줄입니다.
+        long decreases = 0;
+        for (int round = 0; round < 10; round++) {
+            completeAll(acquireAll(limiter), 50);
+            long after = (long) limiter.snapshot().get("decreases");
+            assertThat(after - decreases).isLessThanOrEqualTo(1);
+            decreases = after;
+        }
+        assertThat(decreases).isPositive();
+        assertThat(limiter.getLimit()).isLessThan(grown);
+
+        // 계속 느리면 최소 한도까지 내려가되 그 아래로는 가지 않습니다.
+        for (int round = 0; round < 30; round++) {
+            completeAll(acquireAll(limiter), 50);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    public void keepsTheLimitUnderBimodalCacheHitAndMissLatencies() {
+        AdaptiveConcurrencyLimiter limiter = limiter(32, 8, 256);
+
+        // 평소 부하: 다섯 건 중 네 건은 0.2ms 캐시 적중, 한 건은 5ms DB 조회입니다.
+        for (int round = 0; round < 200; round++) {
+            completeMixed(acquireAll(limiter), 200_000, 5 * MILLIS);
+        }
+        assertThat(limiter.snapshot()).containsEntry("decreases", 0L);
+        assertThat(limiter.getLimit()).isGreaterThan(32);
+        int grown = limiter.getLimit();
+
+        // 적중과 미스가 모두 열 배 느려지면 과부하로 보고 한도를 줄입니다.
+        for (int round = 0; round < 20; round++) {
+            completeMixed(acquireAll(limiter), 2 * MILLIS, 50 * MILLIS);
+        }
+        assertThat(limiter.getLimit()).isLessThan(grown);
+    }
+    @Test
+    public void doesNotGrowWhileMostOfTheLimitIsUnused() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 1, 100);
+
+        for (int i = 0; i < 100; i++) {
+            AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire();
+            clock.addAndGet(10 * MILLIS);
+            permit.release(false, true);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(10);
+    }
+
+    private List<AdaptiveConcurrencyLimiter.Permit> acquireAll(AdaptiveConcurrencyLimiter limiter) {
+        List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        AdaptiveConcurrencyLimiter.Permit permit;
+        while ((permit = limiter.tryAcquire()) != null) {
+            permits.add(permit);
+        }
+        return permits;
+    }
+
+    private void completeAll(List<AdaptiveConcurrencyLimiter.Permit> permits, long latencyMillis) {
+        clock.addAndGet(latencyMillis * MILLIS);
+        permits.forEach(permit -> permit.release(false, true));
+    }
+
+    // 다섯 번째 요청마다 느린 쪽 지연으로 끝냅니다. 적중과 미스가 섞인 순서로 끝나도록 요청마다 시계를 맞춥니다.
+    private void completeMixed(List<AdaptiveConcurrencyLimiter.Permit> permits, long fastNanos, long slowNanos) {
+        long start = clock.get();
+        for (int i = 0; i < permits.size(); i++) {
+            clock.set(start + (i % 5 == 4 ? slowNanos : fastNanos));
+            permits.get(i).release(false, true);
+        }
+        clock.set(start + slowNanos);
+    }
+
+    private AdaptiveConcurrencyLimiter limiter(int initialLimit, int minLimit, int maxLimit) {
+        return new AdaptiveConcurrencyLimiter("test",
+                new AdmissionControlProperties.Limit(initialLimit, minLimit, maxLimit), clock::get);
+    }
+}
@@ -0,0 +1,129 @@
+package com.rookies3.myspringbootlab.datasource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 서로 다른 H2 인메모리 DB 두 개를 primary / replica 로 두고, 각 DB 의 node 테이블에 자기 이름을 넣어
+ * 어느 쪽에서 읽었는지 확인합니다.
+ */
+public class ReadWriteRoutingDataSourceTest {
+
+    private static final String WHO_AM_I = "SELECT name FROM node";
+
+    private SwitchableDataSource replica;
+    private ReadWriteRoutingDataSource routing;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    public void setUp() {
+        DataSource primary = h2("routing-primary", "primary");
+        replica = new SwitchableDataSource(h2("routing-replica", "replica"));
+        routing = new ReadWriteRoutingDataSource(primary, Map.of("replica-1", replica), true, 2, 2);
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    public void sendsReadOnlyTransactionsToReplicaAndOthersToPrimary() {
+        assertThat(whoAmI(readOnly)).isEqualTo("replica");
+        assertThat(whoAmI(readWrite)).isEqualTo("primary");
+        // 트랜잭션 밖의 연결도 primary 입니다.
+        assertThat(whoAmI()).isEqualTo("primary");
+    }
+
+    @Test
+    public void keepsReadsOnPrimaryForTheRestOfTheRequestAfterAWrite() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        assertThat(whoAmI(readOnly)).isEqualTo("replica");
+
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("UPDATE node SET name = name"));
+        assertThat(whoAmI(readOnly)).isEqualTo("primary");
+
+        // 다음 요청은 다시 replica 로 읽습니다.
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        assertThat(whoAmI(readOnly)).isEqualTo("replica");
+    }
+
+    @Test
+    public void ejectsFailingReplicaAndRestoresItAfterRecovery() {
+        replica.down = true;
+        routing.checkReplicas(Duration.ofSeconds(1));
+        // 한 번 실패로는 빠지지 않고, 이번 연결만 primary 로 넘어갑니다.
+        assertThat(whoAmI(readOnly)).isEqualTo("primary");
+        assertThat(routing.replicaHealth()).containsEntry("replica-1", false);
+        assertThat(whoAmI(readOnly)).isEqualTo("primary");
+
+        replica.down = false;
+        routing.checkReplicas(Duration.ofSeconds(1));
+        assertThat(routing.replicaHealth()).containsEntry("replica-1", false);
+        routing.checkReplicas(Duration.ofSeconds(1));
+        assertThat(routing.replicaHealth()).containsEntry("replica-1", true);
+        assertThat(whoAmI(readOnly)).isEqualTo("replica");
+    }
+
+    private String whoAmI() {
+        return jdbcTemplate.queryForObject(WHO_AM_I, String.class);
+    }
+
+    private String whoAmI(TransactionTemplate transactionTemplate) {
+        return transactionTemplate.execute(status -> whoAmI());
+    }
+
+    private static DataSource h2(String database, String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS node");
+        jdbcTemplate.execute("CREATE TABLE node (name VARCHAR(20))");
+        jdbcTemplate.update("INSERT INTO node (name) VALUES (?)", name);
+        return dataSource;
+    }
+
+    // replica 장애를 흉내 내기 위해 연결 획득을 실패시킬 수 있는 DataSource
+    private static class SwitchableDataSource extends DelegatingDataSource {
+        private volatile boolean down;
+
+        SwitchableDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (down) {
+                throw new SQLException("replica is down");
+            }
+            return super.getConnection();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.rookies3.myspringbootlab.entity;
+
+import com.rookies3.myspringbootlab.property.BookCompressionProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CompressedTextConverterTest {
+
+    private static final String[] WORDS = {"소프트웨어", "장인", "정신", "clean", "code", "refactoring",
+            "테스트", "design", "agile", "책", "개발자", "pattern", "구조", "architecture"};
+
+    @Test
+    public void compressesLongTextAboveThresholdAndRestoresIt() {
+        CompressedTextConverter converter = new CompressedTextConverter(properties(true, 1024));
+        String text = prose(4096);
+
+        String stored = converter.convertToDatabaseColumn(text);
+
+        assertThat(stored).startsWith(CompressedTextConverter.PREFIX);
+        assertThat(utf8Length(stored)).isLessThan(utf8Length(text));
+        assertThat(converter.convertToEntityAttribute(stored)).isEqualTo(text);
+    }
+
+    @Test
+    public void comparesKoreanTextByUtf8BytesNotCharacters() {
+        CompressedTextConverter converter = new CompressedTextConverter(properties(true, 1024));
+        // 반복이 적은 한글 - 압축본(Base64)은 원문보다 글자 수는 많지만 바이트 수는 적습니다.
+        Random random = new Random(42);
+        String text = IntStream.range(0, 2048)
+                .mapToObj(i -> String.valueOf((char) ('가' + random.nextInt(512))))
+                .collect(Collectors.joining());
+
+        String stored = converter.convertToDatabaseColumn(text);
+
+        assertThat(stored).startsWith(CompressedTextConverter.PREFIX);
+        assertThat(stored.length()).isGreaterThan(text.length());
+        assertThat(utf8Length(stored)).isLessThan(utf8Length(text));
+        assertThat(converter.convertToEntityAttribute(stored)).isEqualTo(text);
+    }
+
+    @Test
+    public void keepsShortTextAndDisabledModeAsPlainText() {
+        String text = prose(4096);
+
+        assertThat(new CompressedTextConverter(properties(true, 1024)).convertToDatabaseColumn("short"))
+                .isEqualTo("short");
+        assertThat(new CompressedTextConverter(properties(false, 1024)).convertToDatabaseColumn(text))
+                .isEqualTo(text);
+        // 압축을 꺼도 이미 압축된 값은 읽을 수 있어야 합니다.
+        String stored = new CompressedTextConverter(properties(true, 1024)).convertToDatabaseColumn(text);
+        assertThat(new CompressedTextConverter(properties(false, 1024)).convertToEntityAttribute(stored))
+                .isEqualTo(text);
+    }
+
+    @Test
+    public void plainTextStartingWithPrefixSurvivesRoundTrip() {
+        CompressedTextConverter converter = new CompressedTextConverter(properties(false, 1024));
+        String text = CompressedTextConverter.PREFIX + "not really compressed";
+
+        assertThat(converter.convertToEntityAttribute(converter.convertToDatabaseColumn(text))).isEqualTo(text);
+    }
+
+    private static BookCompressionProperties properties(boolean enabled, long thresholdBytes) {
+        BookCompressionProperties properties = new BookCompressionProperties();
+        properties.setEnabled(enabled);
+        properties.setThreshold(DataSize.ofBytes(thresholdBytes));
+        return properties;
+    }
+
+    private static int utf8Length(String text) {
+        return text.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    private static String prose(int length) {
+        Random random = new Random(42);
+        String text = IntStream.range(0, length)
+                .mapToObj(i -> WORDS[random.nextInt(WORDS.length)])
+                .collect(Collectors.joining(" "));
+        return text.substring(0, length);
+    }
+}
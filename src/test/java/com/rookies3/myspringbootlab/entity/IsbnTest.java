@@ -0,0 +1,40 @@
+package com.rookies3.myspringbootlab.entity;
+
+import com.rookies3.myspringbootlab.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class IsbnTest {
+
+    @Test
+    public void normalizesHyphenatedAndIsbn10FormsToTheSameKey() {
+        Isbn isbn13 = Isbn.parse("9780132350884");
+
+        assertThat(isbn13.key()).isEqualTo(9780132350884L);
+        assertThat(Isbn.parse("978-0-13-235088-4")).isEqualTo(isbn13);
+        assertThat(Isbn.parse("0-13-235088-2")).isEqualTo(isbn13);
+        // ISBN-10 의 마지막 자리 X(=10) 도 ISBN-13 체크 숫자로 다시 계산합니다.
+        assertThat(Isbn.parse("0-8044-2957-x").toString()).isEqualTo("9780804429573");
+    }
+
+    @Test
+    public void rejectsWrongChecksumsAndPrefixes() {
+        assertThat(Isbn.tryParse("9780132350885")).isEmpty();
+        assertThat(Isbn.tryParse("0132350883")).isEmpty();
+        assertThat(Isbn.tryParse("9770132350881")).isEmpty();
+        assertThat(Isbn.tryParse("978013235088")).isEmpty();
+        assertThat(Isbn.tryParse("97801323508844")).isEmpty();
+        assertThat(Isbn.tryParse(null)).isEmpty();
+        assertThatThrownBy(() -> Isbn.parse("978-0-13-235088-5"))
+                .isInstanceOf(BusinessException.class);
+    }
+
+    @Test
+    public void normalizeOrRawKeepsInvalidInput() {
+        assertThat(Isbn.normalizeOrRaw("0-13-235088-2")).isEqualTo("9780132350884");
+        assertThat(Isbn.normalizeOrRaw("not-an-isbn")).isEqualTo("not-an-isbn");
+        assertThat(Isbn.withCheckDigit("979000000001")).isEqualTo("9790000000018");
+    }
+}
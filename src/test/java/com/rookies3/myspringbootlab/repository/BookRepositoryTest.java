@@ -2,9 +2,14 @@ package com.rookies3.myspringbootlab.repository;
 
 import com.rookies3.myspringbootlab.entity.Book;
 import com.rookies3.myspringbootlab.entity.BookDetail;
+import com.rookies3.myspringbootlab.entity.Isbn;
+import com.rookies3.myspringbootlab.support.SqlStatementCounter;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.Rollback;
 import org.springframework.transaction.annotation.Transactional;
@@ -24,6 +29,12 @@ public class BookRepositoryTest {
     @Autowired
     private BookDetailRepository bookDetailRepository;
 
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @Test
     public void createBookWithBookDetail() {
         // Given
@@ -90,6 +101,10 @@ public class BookRepositoryTest {
         // Then
         assertThat(foundBook).isPresent();
         assertThat(foundBook.get().getTitle()).isEqualTo("Clean Code");
+        // 하이픈이나 ISBN-10 표기로 조회해도 같은 숫자 키로 찾습니다.
+        assertThat(bookRepository.findByIsbn("978-0-13-235088-4")).contains(foundBook.get());
+        assertThat(bookRepository.findByIsbn("0-13-235088-2")).contains(foundBook.get());
+        assertThat(bookRepository.findByIsbn("9780132350885")).isEmpty();
     }
 
     @Test
@@ -188,4 +203,59 @@ public class BookRepositoryTest {
         assertThat(foundBookDetail).isPresent();
         assertThat(foundBookDetail.get().getDescription()).contains("agile software craftsmanship");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void findAllDoesNotLoadBookDetails() {
+        // Given - 상세가 있는 도서를 1, 10, 50 권으로 늘려 가며
+        SqlStatementCounter counter = SqlStatementCounter.of(entityManagerFactory);
+        int[] seeded = {0};
+
+        // When / Then - 도서 수와 무관하게 books 조회 한 번만 나가고, 상세는 초기화되지 않습니다.
+        counter.expectConstant(1, new int[]{1, 10, 50}, size -> {
+            while (seeded[0] < size) {
+                entityManager.persist(bookWithDetail(seeded[0]++));
+            }
+            entityManager.flush();
+            entityManager.clear();
+        }, size -> {
+            List<Book> books = bookRepository.findAll();
+            assertThat(books).hasSize(size);
+            assertThat(books).noneMatch(book -> Hibernate.isPropertyInitialized(book, "bookDetail"));
+        });
+    }
+
+    @Test
+    public void bookDetailSharesPrimaryKeyAndLoadsOnDemand() {
+        // Given
+        Long bookId = entityManager.persistAndGetId(bookWithDetail(0), Long.class);
+        entityManager.flush();
+        entityManager.clear();
+        SqlStatementCounter counter = SqlStatementCounter.of(entityManagerFactory);
+        Book book = bookRepository.findById(bookId).orElseThrow();
+
+        // When - 상세에 처음 접근할 때 PK 조회 한 번
+        BookDetail bookDetail = counter.expectExactly(1, book::getBookDetail);
+
+        // Then
+        assertThat(bookDetail.getId()).isEqualTo(bookId);
+        assertThat(bookDetail.getDescription()).isEqualTo("Description 0");
+        assertThat(bookDetailRepository.findById(bookId)).isPresent();
+    }
+
+    private static Book bookWithDetail(int n) {
+        Book book = Book.builder()
+                .title("Book " + n)
+                .author("Author " + n)
+                .isbn(Isbn.withCheckDigit(String.format("979%09d", n)))
+                .price(10000)
+                .publishDate(LocalDate.of(2020, 1, 1))
+                .build();
+        book.setBookDetail(BookDetail.builder()
+                .description("Description " + n)
+                .language("Korean")
+                .pageCount(300)
+                .book(book)
+                .build());
+        return book;
+    }
+}
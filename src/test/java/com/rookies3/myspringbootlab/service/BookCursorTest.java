@@ -0,0 +1,107 @@
+package com.rookies3.myspringbootlab.service;
+
+import com.rookies3.myspringbootlab.exception.BusinessException;
+import com.rookies3.myspringbootlab.exception.ErrorCode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class BookCursorTest {
+
+    @Test
+    public void roundTripsIdCursor() {
+        BookCursor decoded = BookCursor.decode(
+                new BookCursor(BookCursor.SortKey.ID, 42L, "ignored", null).encode(), BookCursor.SortKey.ID);
+
+        assertThat(decoded.getSortKey()).isEqualTo(BookCursor.SortKey.ID);
+        assertThat(decoded.getLastId()).isEqualTo(42L);
+        assertThat(decoded.getLastTitle()).isNull();
+        assertThat(decoded.isFirst()).isFalse();
+    }
+
+    @Test
+    public void roundTripsTitleCursorContainingSeparatorAndKorean() {
+        String title = "자바 | 스프링 부트|3판";
+        BookCursor decoded = BookCursor.decode(
+                new BookCursor(BookCursor.SortKey.TITLE, 7L, title, null).encode(), BookCursor.SortKey.TITLE);
+
+        assertThat(decoded.getLastId()).isEqualTo(7L);
+        assertThat(decoded.getLastTitle()).isEqualTo(title);
+    }
+
+    @Test
+    public void roundTripsPublishDateCursorWithAndWithoutDate() {
+        BookCursor dated = BookCursor.decode(new BookCursor(BookCursor.SortKey.PUBLISH_DATE, 3L, null,
+                LocalDate.of(2024, 2, 29)).encode(), BookCursor.SortKey.PUBLISH_DATE);
+        assertThat(dated.getLastId()).isEqualTo(3L);
+        assertThat(dated.getLastPublishDate()).isEqualTo(LocalDate.of(2024, 2, 29));
+
+        // publishDate 가 NULL 인 구간의 커서는 날짜 없이 id 만 담습니다.
+        BookCursor undated = BookCursor.decode(new BookCursor(BookCursor.SortKey.PUBLISH_DATE, 5L, null,
+                null).encode(), BookCursor.SortKey.PUBLISH_DATE);
+        assertThat(undated.getLastId()).isEqualTo(5L);
+        assertThat(undated.getLastPublishDate()).isNull();
+    }
+
+    @Test
+    public void acceptsNumericAfterOnlyForIdSort() {
+        BookCursor cursor = BookCursor.decode("123", BookCursor.SortKey.ID);
+        assertThat(cursor.getSortKey()).isEqualTo(BookCursor.SortKey.ID);
+        assertThat(cursor.getLastId()).isEqualTo(123L);
+
+        // 다른 정렬에서는 숫자도 Base64 토큰으로 해석하므로 거절됩니다.
+        assertInvalidCursor("123", BookCursor.SortKey.TITLE);
+    }
+
+    @Test
+    public void startsFromTheBeginningWithoutAfter() {
+        assertThat(BookCursor.decode(null, BookCursor.SortKey.TITLE).isFirst()).isTrue();
+        assertThat(BookCursor.decode(" ", BookCursor.SortKey.PUBLISH_DATE).isFirst()).isTrue();
+    }
+
+    @Test
+    public void parsesSortKeyParameter() {
+        assertThat(BookCursor.SortKey.from(null)).isEqualTo(BookCursor.SortKey.ID);
+        assertThat(BookCursor.SortKey.from("publishdate")).isEqualTo(BookCursor.SortKey.PUBLISH_DATE);
+        assertThatThrownBy(() -> BookCursor.SortKey.from("price"))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage(ErrorCode.INVALID_SORT_KEY.formatMessage("price"));
+    }
+
+    @Test
+    public void rejectsCursorIssuedForAnotherSortKey() {
+        String titleCursor = new BookCursor(BookCursor.SortKey.TITLE, 1L, "Java", null).encode();
+
+        assertInvalidCursor(titleCursor, BookCursor.SortKey.ID);
+        assertInvalidCursor(titleCursor, BookCursor.SortKey.PUBLISH_DATE);
+    }
+
+    @Test
+    public void rejectsBadBase64() {
+        assertInvalidCursor("not base64!", BookCursor.SortKey.TITLE);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"garbage", "PRICE|1", "ID", "ID|abc", "ID|-1", "TITLE|1", "PUBLISH_DATE|1|2024-13-01"})
+    public void rejectsGarbageValues(String raw) {
+        String cursor = Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        BookCursor.SortKey sortKey = raw.startsWith("TITLE") ? BookCursor.SortKey.TITLE
+                : raw.startsWith("PUBLISH_DATE") ? BookCursor.SortKey.PUBLISH_DATE
+                : BookCursor.SortKey.ID;
+
+        assertInvalidCursor(cursor, sortKey);
+    }
+
+    private static void assertInvalidCursor(String after, BookCursor.SortKey sortKey) {
+        assertThatThrownBy(() -> BookCursor.decode(after, sortKey))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage(ErrorCode.INVALID_CURSOR.formatMessage(after));
+    }
+}
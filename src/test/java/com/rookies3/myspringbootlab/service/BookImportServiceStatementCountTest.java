@@ -0,0 +1,89 @@
+package com.rookies3.myspringbootlab.service;
+
+import com.rookies3.myspringbootlab.config.CacheConfig;
+import com.rookies3.myspringbootlab.controller.dto.BookDTO;
+import com.rookies3.myspringbootlab.entity.Isbn;
+import com.rookies3.myspringbootlab.entity.Publisher;
+import com.rookies3.myspringbootlab.property.BookCacheProperties;
+import com.rookies3.myspringbootlab.property.BookImportProperties;
+import com.rookies3.myspringbootlab.property.CoalescingProperties;
+import com.rookies3.myspringbootlab.property.IsbnFilterProperties;
+import com.rookies3.myspringbootlab.service.change.ChangeOutbox;
+import com.rookies3.myspringbootlab.service.coalesce.LoadCoalescer;
+import com.rookies3.myspringbootlab.service.isbn.IsbnFilter;
+import com.rookies3.myspringbootlab.support.SqlStatementCounter;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 대량 등록이 JDBC 배치로 INSERT 하는지 확인합니다.
+ * 한 청크의 행 수가 hibernate.jdbc.batch_size(50) 이하이면 도서/상세/아웃박스 INSERT 가 테이블마다 한 번씩만 준비됩니다.
+ */
+@DataJpaTest
+@ImportAutoConfiguration({JacksonAutoConfiguration.class, ValidationAutoConfiguration.class})
+@Import({BookImportService.class, BookImportProperties.class, BookCacheEvictor.class, ChangeOutbox.class,
+        CacheConfig.class, BookCacheProperties.class, IsbnFilter.class, IsbnFilterProperties.class,
+        LoadCoalescer.class, CoalescingProperties.class})
+public class BookImportServiceStatementCountTest {
+
+    private static final int[] SIZES = {1, 10, 50};
+
+    @Autowired
+    private BookImportService bookImportService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private SqlStatementCounter counter;
+    private Publisher publisher;
+    private int sequence;
+
+    @BeforeEach
+    public void setUp() {
+        counter = SqlStatementCounter.of(entityManagerFactory);
+        publisher = entityManager.persist(Publisher.builder()
+                .name("Hanbit")
+                .establishedDate(LocalDate.of(2000, 1, 1))
+                .address("Seoul")
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    public void importCsv() {
+        // 출판사 IN(FOR UPDATE) 1번 + ISBN 중복 확인 IN 1번 + 도서/상세/아웃박스 배치 INSERT 각 1번 + 출판사 booksVersion UPDATE 1번
+        counter.expectConstant(6, SIZES, size -> entityManager.clear(), size -> {
+            BookDTO.ImportResult result = bookImportService.importCsv(csv(size));
+            assertThat(result.getImportedRows()).isEqualTo(size);
+        });
+    }
+
+    private ByteArrayInputStream csv(int rows) {
+        StringBuilder csv = new StringBuilder("title,author,isbn,price,publishDate,publisher,description\n");
+        for (int i = 0; i < rows; i++) {
+            int n = sequence++;
+            csv.append("Book ").append(n).append(",Author,")
+                    .append(Isbn.withCheckDigit(String.format("979%09d", n))).append(",10000,2020-01-01,")
+                    .append(publisher.getId()).append(",Description ").append(n).append('\n');
+        }
+        return new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,123 @@
+package com.rookies3.myspringbootlab.service;
+
+import com.rookies3.myspringbootlab.config.CacheConfig;
+import com.rookies3.myspringbootlab.controller.dto.BookDTO;
+import com.rookies3.myspringbootlab.entity.Isbn;
+import com.rookies3.myspringbootlab.entity.Publisher;
+import com.rookies3.myspringbootlab.property.BookCacheProperties;
+import com.rookies3.myspringbootlab.property.BookSearchProperties;
+import com.rookies3.myspringbootlab.property.CoalescingProperties;
+import com.rookies3.myspringbootlab.property.IsbnFilterProperties;
+import com.rookies3.myspringbootlab.repository.BookRepository;
+import com.rookies3.myspringbootlab.repository.ChangeEventRepository;
+import com.rookies3.myspringbootlab.repository.PublisherRepository;
+import com.rookies3.myspringbootlab.service.change.ChangeOutbox;
+import com.rookies3.myspringbootlab.service.coalesce.LoadCoalescer;
+import com.rookies3.myspringbootlab.service.isbn.IsbnFilter;
+import com.rookies3.myspringbootlab.service.search.BookSearchIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 단건 조회 캐시에 든 도서 응답의 출판사 도서 수가 같은 출판사의 다른 도서 등록/삭제/이동을 따라가는지 확인합니다.
+ * 캐시는 트랜잭션 밖의 조회만 채우므로 테스트 트랜잭션 없이 실행하고, 끝나면 저장한 행을 지웁니다.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({BookService.class, BookSearchIndex.class, BookSearchProperties.class,
+        BookCacheEvictor.class, ChangeOutbox.class, CacheConfig.class, BookCacheProperties.class,
+        IsbnFilter.class, IsbnFilterProperties.class, LoadCoalescer.class, CoalescingProperties.class})
+public class BookLookupCacheTest {
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private PublisherRepository publisherRepository;
+
+    @Autowired
+    private ChangeEventRepository changeEventRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Publisher hanbit;
+    private Publisher wiley;
+    private int sequence;
+
+    @BeforeEach
+    public void setUp() {
+        hanbit = publisherRepository.save(publisher("Hanbit"));
+        wiley = publisherRepository.save(publisher("Wiley"));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        bookRepository.deleteAll();
+        publisherRepository.deleteAll();
+        changeEventRepository.deleteAll();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    public void cachedBookFollowsSiblingBookCount() {
+        BookDTO.Response created = bookService.createBook(request("Spring Boot", hanbit));
+        Long id = created.getId();
+        String isbn = created.getIsbn();
+        assertBookCount(id, isbn, 1L);
+
+        // 캐시된 응답에는 도서 수를 담지 않고 읽을 때 채웁니다.
+        Cache.ValueWrapper cached = cacheManager.getCache(CacheConfig.BOOKS_BY_ID).get(id);
+        assertThat(cached).isNotNull();
+        assertThat(((BookDTO.Response) cached.get()).getPublisher().getBookCount()).isNull();
+
+        Long sibling = bookService.createBook(request("Spring Data", hanbit)).getId();
+        assertBookCount(id, isbn, 2L);
+
+        bookService.partialUpdateBook(sibling, BookDTO.PatchRequest.builder().publisher(wiley.getId()).build());
+        assertBookCount(id, isbn, 1L);
+        assertThat(bookService.getBookById(sibling).getPublisher().getBookCount()).isEqualTo(1L);
+
+        bookService.createBook(request("Hibernate", hanbit));
+        bookService.deleteBook(sibling);
+        assertBookCount(id, isbn, 2L);
+    }
+
+    private void assertBookCount(Long id, String isbn, long bookCount) {
+        assertThat(bookService.getBookById(id).getPublisher().getBookCount()).isEqualTo(bookCount);
+        assertThat(bookService.getBookByIsbn(isbn).getPublisher().getBookCount()).isEqualTo(bookCount);
+    }
+
+    private BookDTO.Request request(String title, Publisher publisher) {
+        return BookDTO.Request.builder()
+                .title(title)
+                .author("Kim")
+                .isbn(Isbn.withCheckDigit(String.format("979%09d", sequence++)))
+                .price(10000)
+                .publisher(publisher.getId())
+                .build();
+    }
+
+    private static Publisher publisher(String name) {
+        return Publisher.builder()
+                .name(name)
+                .establishedDate(LocalDate.of(2000, 1, 1))
+                .address("Seoul")
+                .build();
+    }
+}
@@ -0,0 +1,127 @@
+package com.rookies3.myspringbootlab.service;
+
+import com.rookies3.myspringbootlab.config.CacheConfig;
+import com.rookies3.myspringbootlab.controller.dto.BookDTO;
+import com.rookies3.myspringbootlab.entity.Book;
+import com.rookies3.myspringbootlab.entity.Isbn;
+import com.rookies3.myspringbootlab.entity.Publisher;
+import com.rookies3.myspringbootlab.property.BookCacheProperties;
+import com.rookies3.myspringbootlab.property.BookSearchProperties;
+import com.rookies3.myspringbootlab.property.CoalescingProperties;
+import com.rookies3.myspringbootlab.property.IsbnFilterProperties;
+import com.rookies3.myspringbootlab.service.change.ChangeOutbox;
+import com.rookies3.myspringbootlab.service.coalesce.LoadCoalescer;
+import com.rookies3.myspringbootlab.service.isbn.IsbnFilter;
+import com.rookies3.myspringbootlab.service.search.BookSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 커서 페이지를 끝까지 따라가면 정렬 순서대로 모든 도서를 정확히 한 번씩 받는지 확인합니다.
+ * 페이지 크기를 바꿔 가며 페이지 경계가 NULL 구간과 같은 값 구간의 가운데에 걸리도록 합니다.
+ */
+@DataJpaTest
+@Import({BookService.class, BookSearchIndex.class, BookSearchProperties.class,
+        BookCacheEvictor.class, ChangeOutbox.class, CacheConfig.class, BookCacheProperties.class,
+        IsbnFilter.class, IsbnFilterProperties.class, LoadCoalescer.class, CoalescingProperties.class})
+public class BookServiceCursorPagingTest {
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Publisher publisher;
+    private int sequence;
+
+    @BeforeEach
+    public void setUp() {
+        publisher = entityManager.persist(Publisher.builder()
+                .name("Hanbit")
+                .establishedDate(LocalDate.of(2000, 1, 1))
+                .address("Seoul")
+                .build());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3, 10})
+    public void pagesByPublishDateWithUndatedBooksFirst(int limit) {
+        Long first = saveBook("A", LocalDate.of(2020, 1, 3));
+        Long undated1 = saveBook("B", null);
+        Long earliest = saveBook("C", LocalDate.of(2020, 1, 1));
+        Long undated2 = saveBook("D", null);
+        Long sameDay = saveBook("E", LocalDate.of(2020, 1, 3));
+        flushAndClear();
+
+        // publishDate 가 NULL 인 도서가 id 순으로 먼저, 그다음 (publishDate, id) 순입니다.
+        assertThat(readAll("publishDate", limit)).containsExactly(undated1, undated2, earliest, first, sameDay);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 10})
+    public void pagesByTitleWithTiesBrokenById(int limit) {
+        Long spring = saveBook("Spring", null);
+        Long java1 = saveBook("Java", null);
+        Long korean = saveBook("자바", null);
+        Long java2 = saveBook("Java", null);
+        flushAndClear();
+
+        assertThat(readAll("title", limit)).containsExactly(java1, java2, spring, korean);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 3})
+    public void pagesByIdAndAcceptsNumericAfter(int limit) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            ids.add(saveBook("Book " + i, null));
+        }
+        flushAndClear();
+
+        assertThat(readAll(null, limit)).containsExactlyElementsOf(ids);
+        assertThat(bookService.getBooksPage(String.valueOf(ids.get(1)), 10, "id").getContent())
+                .extracting(BookDTO.Response::getId)
+                .containsExactlyElementsOf(ids.subList(2, 4));
+    }
+
+    private List<Long> readAll(String sort, int limit) {
+        List<Long> ids = new ArrayList<>();
+        String after = null;
+        BookDTO.CursorResponse<BookDTO.Response> page;
+        do {
+            page = bookService.getBooksPage(after, limit, sort);
+            page.getContent().forEach(book -> ids.add(book.getId()));
+            after = page.getNextCursor();
+        } while (page.isHasNext());
+        return ids;
+    }
+
+    private Long saveBook(String title, LocalDate publishDate) {
+        int n = sequence++;
+        return entityManager.persist(Book.builder()
+                .title(title)
+                .author("Author")
+                .isbn(Isbn.withCheckDigit(String.format("979%09d", n)))
+                .price(10000)
+                .publishDate(publishDate)
+                .publisher(publisher)
+                .build()).getId();
+    }
+
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
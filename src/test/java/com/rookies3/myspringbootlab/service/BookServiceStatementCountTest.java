@@ -0,0 +1,251 @@
+package com.rookies3.myspringbootlab.service;
+
+import com.rookies3.myspringbootlab.config.CacheConfig;
+import com.rookies3.myspringbootlab.controller.dto.BookDTO;
+import com.rookies3.myspringbootlab.entity.Book;
+import com.rookies3.myspringbootlab.entity.BookDetail;
+import com.rookies3.myspringbootlab.entity.Isbn;
+import com.rookies3.myspringbootlab.entity.Publisher;
+import com.rookies3.myspringbootlab.property.BookCacheProperties;
+import com.rookies3.myspringbootlab.property.BookSearchProperties;
+import com.rookies3.myspringbootlab.property.CoalescingProperties;
+import com.rookies3.myspringbootlab.property.IsbnFilterProperties;
+import com.rookies3.myspringbootlab.service.change.ChangeOutbox;
+import com.rookies3.myspringbootlab.service.coalesce.LoadCoalescer;
+import com.rookies3.myspringbootlab.service.isbn.IsbnFilter;
+import com.rookies3.myspringbootlab.service.search.BookSearchIndex;
+import com.rookies3.myspringbootlab.support.SqlStatementCounter;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * BookService 의 모든 public 메서드가 데이터 크기(출판사의 도서 수)와 무관하게 일정한 수의 SQL 을 실행하는지 확인합니다.
+ * 검색 색인은 적재하지 않으므로 제목/저자 검색은 DB LIKE 경로를 탑니다.
+ */
+@DataJpaTest
+@Import({BookService.class, BookSearchIndex.class, BookSearchProperties.class,
+        BookCacheEvictor.class, ChangeOutbox.class, CacheConfig.class, BookCacheProperties.class,
+        IsbnFilter.class, IsbnFilterProperties.class, LoadCoalescer.class, CoalescingProperties.class})
+public class BookServiceStatementCountTest {
+
+    private static final int[] SIZES = {1, 10, 50};
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private SqlStatementCounter counter;
+    private Publisher publisher;
+    private final List<Long> bookIds = new ArrayList<>();
+    private int sequence;
+
+    @BeforeEach
+    public void setUp() {
+        counter = SqlStatementCounter.of(entityManagerFactory);
+        publisher = entityManager.persist(Publisher.builder()
+                .name("Hanbit")
+                .establishedDate(LocalDate.of(2000, 1, 1))
+                .address("Seoul")
+                .build());
+    }
+
+    @Test
+    public void getAllBooks() {
+        counter.expectConstant(2, SIZES, this::growTo,
+                size -> assertThat(bookService.getAllBooks()).hasSize(size));
+    }
+
+    @ParameterizedTest
+    @CsvSource({"id, 2", "title, 2", "publishDate, 3"})
+    public void getBooksPage(String sort, long maxStatements) {
+        counter.expectConstant(maxStatements, SIZES, this::growTo,
+                size -> assertThat(bookService.getBooksPage(null, 100, sort).getContent()).hasSize(size));
+    }
+
+    @Test
+    public void getBookById() {
+        counter.expectConstant(2, SIZES, this::growTo,
+                size -> assertThat(bookService.getBookById(bookIds.get(0)).getPublisher().getBookCount())
+                        .isEqualTo(size));
+    }
+
+    @Test
+    public void getBookWithETag() {
+        // 도서 fetch join 1번 + 도서 수 1번, 비교용 버전 쿼리(getBookETag) 1번
+        // 본문과 같은 읽기에서 만든 ETag 는 버전 쿼리로 구한 ETag 와 같아야 합니다.
+        counter.expectConstant(3, SIZES, this::growTo, size -> {
+            BookService.TaggedResponse book = bookService.getBookWithETag(bookIds.get(0));
+            assertThat(book.response().getPublisher().getBookCount()).isEqualTo(size);
+            assertThat(book.etag()).isEqualTo(bookService.getBookETag(bookIds.get(0)));
+        });
+    }
+
+    @Test
+    public void getBookByIsbn() {
+        // bookDetail 만 fetch join 하므로 출판사 프록시 초기화가 한 번 더 나갑니다.
+        counter.expectConstant(3, SIZES, this::growTo,
+                size -> assertThat(bookService.getBookByIsbn(isbn(0)).getPublisher().getBookCount())
+                        .isEqualTo(size));
+    }
+
+    @Test
+    public void getBooksByAuthor() {
+        counter.expectConstant(2, SIZES, this::growTo,
+                size -> assertThat(bookService.getBooksByAuthor("author", 0, 100)).hasSize(size));
+    }
+
+    @Test
+    public void getBooksByTitle() {
+        counter.expectConstant(2, SIZES, this::growTo,
+                size -> assertThat(bookService.getBooksByTitle("book", 0, 100)).hasSize(size));
+    }
+
+    @Test
+    public void getBooksByPublisherId() {
+        counter.expectConstant(3, SIZES, this::growTo,
+                size -> assertThat(bookService.getBooksByPublisherId(publisher.getId())).hasSize(size));
+    }
+
+    @Test
+    public void getBooksByPublisherIdPage() {
+        counter.expectConstant(3, SIZES, this::growTo,
+                size -> assertThat(bookService.getBooksByPublisherIdPage(publisher.getId(), null, 100)
+                        .getContent()).hasSize(size));
+    }
+
+    @Test
+    public void getBooksBatch() {
+        // id IN 1번 + isbn IN 1번 + 출판사별 도서 수 1번
+        counter.expectConstant(3, SIZES, this::growTo, size -> {
+            List<Long> ids = new ArrayList<>(bookIds);
+            ids.add(-1L);
+            List<String> isbns = IntStream.range(0, size).mapToObj(BookServiceStatementCountTest::isbn)
+                    .collect(Collectors.toCollection(ArrayList::new));
+            isbns.add("unknown");
+            BookDTO.BatchResponse response = bookService.getBooksBatch(BookDTO.BatchRequest.builder()
+                    .ids(ids)
+                    .isbns(isbns)
+                    .build());
+            assertThat(response.getFound()).isEqualTo(size * 2);
+            assertThat(response.getNotFound()).isEqualTo(2);
+            assertThat(response.getItems().get(size).isFound()).isFalse();
+        });
+    }
+
+    @Test
+    public void createBook() {
+        // 출판사 조회가 잠금 조회(FOR UPDATE)로 바뀌고, booksVersion UPDATE 가 1번 더 나갑니다.
+        counter.expectConstant(7, SIZES, this::growTo, size -> {
+            bookService.createBook(BookDTO.Request.builder()
+                    .title("New Book " + size)
+                    .author("New Author")
+                    .isbn(Isbn.withCheckDigit(String.format("978%09d", size)))
+                    .price(10000)
+                    .publisher(publisher.getId())
+                    .detailRequest(detailDTO("Created " + size))
+                    .build());
+            entityManager.flush();
+        });
+    }
+
+    @Test
+    public void updateBook() {
+        counter.expectConstant(8, SIZES, this::growTo, size -> {
+            bookService.updateBook(bookIds.get(0), BookDTO.Request.builder()
+                    .title("Updated " + size)
+                    .author("Author")
+                    .isbn(isbn(0))
+                    .price(size)
+                    .publisher(publisher.getId())
+                    .detailRequest(detailDTO("Updated " + size))
+                    .build());
+            entityManager.flush();
+        });
+    }
+
+    @Test
+    public void partialUpdateBook() {
+        // 출판사 잠금 조회가 응답용 출판사 프록시 초기화를 대신하고, booksVersion UPDATE 가 1번 더 나갑니다.
+        counter.expectConstant(7, SIZES, this::growTo, size -> {
+            bookService.partialUpdateBook(bookIds.get(0), BookDTO.PatchRequest.builder()
+                    .title("Patched " + size)
+                    .build());
+            entityManager.flush();
+        });
+    }
+
+    @Test
+    public void updateBookDetail() {
+        counter.expectConstant(6, SIZES, this::growTo, size -> {
+            bookService.updateBookDetail(bookIds.get(0), BookDTO.BookDetailPatchRequest.builder()
+                    .description("Patched " + size)
+                    .build());
+            entityManager.flush();
+        });
+    }
+
+    @Test
+    public void deleteBook() {
+        // 출판사 잠금 조회 + booksVersion UPDATE
+        counter.expectConstant(7, SIZES, this::growTo, size -> {
+            bookService.deleteBook(bookIds.remove(0));
+            entityManager.flush();
+        });
+    }
+
+    // 출판사의 도서 수가 size 가 되도록 채운 뒤 영속성 컨텍스트를 비웁니다.
+    private void growTo(int size) {
+        while (bookIds.size() < size) {
+            int n = sequence++;
+            Book book = Book.builder()
+                    .title("Book " + n)
+                    .author("Author " + n)
+                    .isbn(isbn(n))
+                    .price(10000)
+                    .publishDate(LocalDate.of(2020, 1, 1).plusDays(n))
+                    .publisher(publisher)
+                    .build();
+            book.setBookDetail(BookDetail.builder()
+                    .description("Description " + n)
+                    .language("Korean")
+                    .pageCount(300)
+                    .book(book)
+                    .build());
+            bookIds.add(entityManager.persist(book).getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private static String isbn(int n) {
+        return Isbn.withCheckDigit(String.format("979%09d", n));
+    }
+
+    private static BookDTO.BookDetailDTO detailDTO(String description) {
+        return BookDTO.BookDetailDTO.builder()
+                .description(description)
+                .language("Korean")
+                .pageCount(300)
+                .build();
+    }
+}
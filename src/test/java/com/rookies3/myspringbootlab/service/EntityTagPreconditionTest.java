@@ -0,0 +1,176 @@
+package com.rookies3.myspringbootlab.service;
+
+import com.rookies3.myspringbootlab.config.CacheConfig;
+import com.rookies3.myspringbootlab.controller.dto.BookDTO;
+import com.rookies3.myspringbootlab.controller.dto.PublisherDTO;
+import com.rookies3.myspringbootlab.entity.Book;
+import com.rookies3.myspringbootlab.entity.Isbn;
+import com.rookies3.myspringbootlab.entity.Publisher;
+import com.rookies3.myspringbootlab.exception.BusinessException;
+import com.rookies3.myspringbootlab.exception.ErrorCode;
+import com.rookies3.myspringbootlab.property.BookCacheProperties;
+import com.rookies3.myspringbootlab.property.BookSearchProperties;
+import com.rookies3.myspringbootlab.property.CoalescingProperties;
+import com.rookies3.myspringbootlab.property.IsbnFilterProperties;
+import com.rookies3.myspringbootlab.service.change.ChangeOutbox;
+import com.rookies3.myspringbootlab.service.coalesce.LoadCoalescer;
+import com.rookies3.myspringbootlab.service.isbn.IsbnFilter;
+import com.rookies3.myspringbootlab.service.search.BookSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 조회 ETag 는 응답에 들어가는 모든 버전으로, If-Match 는 쓰기가 덮어쓰는 엔티티의 버전으로만 비교하는지 확인합니다.
+ */
+@DataJpaTest
+@Import({BookService.class, PublisherService.class, BookSearchIndex.class, BookSearchProperties.class,
+        BookCacheEvictor.class, ChangeOutbox.class, CacheConfig.class, BookCacheProperties.class,
+        IsbnFilter.class, IsbnFilterProperties.class, LoadCoalescer.class, CoalescingProperties.class})
+public class EntityTagPreconditionTest {
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private PublisherService publisherService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Publisher publisher;
+    private Long bookId;
+    private int sequence;
+
+    @BeforeEach
+    public void setUp() {
+        publisher = entityManager.persist(Publisher.builder()
+                .name("Hanbit")
+                .establishedDate(LocalDate.of(2000, 1, 1))
+                .address("Seoul")
+                .build());
+        bookId = entityManager.persist(Book.builder()
+                .title("Spring Boot")
+                .author("Kim")
+                .isbn(nextIsbn())
+                .price(10000)
+                .publisher(publisher)
+                .build()).getId();
+        flushAndClear();
+    }
+
+    @Test
+    public void siblingBookChangesETagsButNotPreconditions() {
+        String bookETag = bookService.getBookETag(bookId);
+        String publisherETag = publisherService.getPublisherETag(publisher.getId());
+
+        // 같은 출판사에 도서가 추가되면 도서 응답의 출판사 도서 수와 출판사 응답의 도서 목록이 바뀝니다.
+        bookService.createBook(bookRequest("Sibling"));
+        flushAndClear();
+        assertThat(bookService.getBookETag(bookId)).isNotEqualTo(bookETag);
+        assertThat(publisherService.getPublisherETag(publisher.getId())).isNotEqualTo(publisherETag);
+
+        // 하지만 이 도서와 출판사 자체는 바뀌지 않았으므로 이전 ETag 로 수정할 수 있습니다.
+        bookService.updateBook(bookId, bookRequest("Spring Boot 3"), bookETag);
+        publisherService.updatePublisher(publisher.getId(), publisherRequest("Hanbit Media"), publisherETag);
+    }
+
+    @Test
+    public void writeReturnsETagOfTheSavedVersions() {
+        String etag = bookService.getBookETag(bookId);
+
+        BookService.TaggedResponse updated = bookService.partialUpdateBook(bookId,
+                BookDTO.PatchRequest.builder().title("Spring Boot 3").build(), etag);
+        flushAndClear();
+        assertThat(updated.etag()).isNotEqualTo(etag).isEqualTo(bookService.getBookETag(bookId));
+
+        PublisherService.TaggedResponse updatedPublisher = publisherService.updatePublisher(publisher.getId(),
+                publisherRequest("Hanbit Media"), publisherService.getPublisherETag(publisher.getId()));
+        flushAndClear();
+        assertThat(updatedPublisher.etag()).isEqualTo(publisherService.getPublisherETag(publisher.getId()));
+    }
+
+    @Test
+    public void rejectsETagOfAnOlderBookVersion() {
+        String etag = bookService.getBookETag(bookId);
+        bookService.updateBookDetail(bookId, BookDTO.BookDetailPatchRequest.builder()
+                .description("Updated")
+                .build());
+        flushAndClear();
+
+        String current = bookService.getBookETag(bookId);
+        assertThatThrownBy(() -> bookService.updateBook(bookId, bookRequest("Stale"), etag))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage(ErrorCode.PRECONDITION_FAILED.formatMessage("Book", bookId, current));
+        // 약한 ETag 는 강한 비교에서 일치하지 않습니다.
+        assertThatThrownBy(() -> bookService.updateBook(bookId, bookRequest("Weak"), "W/" + current))
+                .isInstanceOf(BusinessException.class);
+        bookService.updateBook(bookId, bookRequest("Fresh"), "\"0-0\", " + current);
+    }
+
+    @Test
+    public void bookEditsChangePublisherETagButDetailEditsDoNot() {
+        String publisherETag = publisherService.getPublisherETag(publisher.getId());
+
+        bookService.updateBookDetail(bookId, BookDTO.BookDetailPatchRequest.builder()
+                .description("Not listed on the publisher")
+                .build());
+        flushAndClear();
+        assertThat(publisherService.getPublisherETag(publisher.getId())).isEqualTo(publisherETag);
+
+        bookService.partialUpdateBook(bookId, BookDTO.PatchRequest.builder().price(20000).build());
+        flushAndClear();
+        String afterEdit = publisherService.getPublisherETag(publisher.getId());
+        assertThat(afterEdit).isNotEqualTo(publisherETag);
+
+        bookService.deleteBook(bookId);
+        flushAndClear();
+        assertThat(publisherService.getPublisherETag(publisher.getId())).isNotEqualTo(afterEdit);
+    }
+
+    @Test
+    public void publisherUpdateKeepsBooksVersionIncreasedByBookWrites() {
+        publisherService.updatePublisher(publisher.getId(), publisherRequest("Hanbit Media"));
+        bookService.createBook(bookRequest("Sibling"));
+        flushAndClear();
+
+        Publisher reloaded = entityManager.find(Publisher.class, publisher.getId());
+        assertThat(reloaded.getVersion()).isEqualTo(1L);
+        assertThat(reloaded.getBooksVersion()).isEqualTo(1L);
+    }
+
+    private BookDTO.Request bookRequest(String title) {
+        return BookDTO.Request.builder()
+                .title(title)
+                .author("Kim")
+                .isbn(nextIsbn())
+                .price(10000)
+                .publisher(publisher.getId())
+                .build();
+    }
+
+    private static PublisherDTO.Request publisherRequest(String name) {
+        return PublisherDTO.Request.builder()
+                .name(name)
+                .establishedDate(LocalDate.of(2000, 1, 1))
+                .address("Seoul")
+                .build();
+    }
+
+    private String nextIsbn() {
+        return Isbn.withCheckDigit(String.format("979%09d", sequence++));
+    }
+
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
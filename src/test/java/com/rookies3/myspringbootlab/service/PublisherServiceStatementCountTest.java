@@ -0,0 +1,160 @@
+package com.rookies3.myspringbootlab.service;
+
+import com.rookies3.myspringbootlab.config.CacheConfig;
+import com.rookies3.myspringbootlab.controller.dto.PublisherDTO;
+import com.rookies3.myspringbootlab.entity.Book;
+import com.rookies3.myspringbootlab.entity.Isbn;
+import com.rookies3.myspringbootlab.entity.Publisher;
+import com.rookies3.myspringbootlab.property.BookCacheProperties;
+import com.rookies3.myspringbootlab.property.CoalescingProperties;
+import com.rookies3.myspringbootlab.service.change.ChangeOutbox;
+import com.rookies3.myspringbootlab.service.coalesce.LoadCoalescer;
+import com.rookies3.myspringbootlab.support.SqlStatementCounter;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * PublisherService 의 모든 public 메서드가 데이터 크기(출판사 수, 출판사의 도서 수)와 무관하게
+ * 일정한 수의 SQL 을 실행하는지 확인합니다.
+ */
+@DataJpaTest
+@Import({PublisherService.class, BookCacheEvictor.class, ChangeOutbox.class, CacheConfig.class,
+        BookCacheProperties.class, LoadCoalescer.class, CoalescingProperties.class})
+public class PublisherServiceStatementCountTest {
+
+    private static final int[] SIZES = {1, 10, 50};
+
+    @Autowired
+    private PublisherService publisherService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private SqlStatementCounter counter;
+    private Publisher publisher;
+    private int publishers;
+    private int publisherBooks;
+    private int sequence;
+    private Long emptyPublisherId;
+
+    @BeforeEach
+    public void setUp() {
+        counter = SqlStatementCounter.of(entityManagerFactory);
+        publisher = savePublisher("Hanbit");
+        publishers = 1;
+    }
+
+    @Test
+    public void getAllPublishers() {
+        counter.expectConstant(1, SIZES, this::growTo,
+                size -> assertThat(publisherService.getAllPublishers()).hasSize(size));
+    }
+
+    @Test
+    public void getPublishers() {
+        // 목록 집계 쿼리 + 전체 건수 쿼리
+        counter.expectConstant(2, SIZES, this::growTo,
+                size -> assertThat(publisherService.getPublishers(PageRequest.of(0, 100)).getContent())
+                        .hasSize(size));
+    }
+
+    @Test
+    public void getPublisherById() {
+        // 출판사 + 도서 수 + 도서 첫 페이지
+        counter.expectConstant(3, SIZES, this::growTo, size -> {
+            PublisherDTO.Response response = publisherService.getPublisherById(publisher.getId());
+            assertThat(response.getBookCount()).isEqualTo(size);
+            assertThat(response.getBooks()).hasSize(Math.min(size, 20));
+        });
+    }
+
+    @Test
+    public void getPublisherByName() {
+        counter.expectConstant(3, SIZES, this::growTo,
+                size -> assertThat(publisherService.getPublisherByName("Hanbit").getBookCount())
+                        .isEqualTo(size));
+    }
+
+    @Test
+    public void createPublisher() {
+        counter.expectConstant(3, SIZES, this::growTo, size -> {
+            publisherService.createPublisher(PublisherDTO.Request.builder()
+                    .name("New Publisher " + size)
+                    .establishedDate(LocalDate.of(2010, 1, 1))
+                    .address("Busan")
+                    .build());
+            entityManager.flush();
+        });
+    }
+
+    @Test
+    public void updatePublisher() {
+        counter.expectConstant(6, SIZES, this::growTo, size -> {
+            publisherService.updatePublisher(publisher.getId(), PublisherDTO.Request.builder()
+                    .name("Hanbit " + size)
+                    .establishedDate(LocalDate.of(2000, 1, 1))
+                    .address("Seoul")
+                    .build());
+            entityManager.flush();
+        });
+    }
+
+    @Test
+    public void deletePublisher() {
+        counter.expectConstant(6, SIZES, size -> {
+            growTo(size);
+            // 도서가 없는 출판사만 삭제할 수 있습니다.
+            emptyPublisherId = savePublisher("Empty Press " + size).getId();
+            entityManager.flush();
+            entityManager.clear();
+        }, size -> {
+            publisherService.deletePublisher(emptyPublisherId);
+            entityManager.flush();
+        });
+    }
+
+    // 출판사 수와 첫 출판사의 도서 수가 각각 size 가 되도록 채운 뒤 영속성 컨텍스트를 비웁니다.
+    private void growTo(int size) {
+        while (publishers < size) {
+            Publisher other = savePublisher("Publisher " + publishers++);
+            saveBook(other);
+        }
+        while (publisherBooks < size) {
+            saveBook(publisher);
+            publisherBooks++;
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private Publisher savePublisher(String name) {
+        return entityManager.persist(Publisher.builder()
+                .name(name)
+                .establishedDate(LocalDate.of(2000, 1, 1))
+                .address("Seoul")
+                .build());
+    }
+
+    private void saveBook(Publisher owner) {
+        int n = sequence++;
+        entityManager.persist(Book.builder()
+                .title("Book " + n)
+                .author("Author")
+                .isbn(Isbn.withCheckDigit(String.format("979%09d", n)))
+                .publisher(owner)
+                .build());
+    }
+}
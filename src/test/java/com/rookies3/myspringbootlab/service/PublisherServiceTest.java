@@ -0,0 +1,118 @@
+package com.rookies3.myspringbootlab.service;
+
+import com.rookies3.myspringbootlab.config.CacheConfig;
+import com.rookies3.myspringbootlab.controller.dto.PublisherDTO;
+import com.rookies3.myspringbootlab.entity.Book;
+import com.rookies3.myspringbootlab.entity.Isbn;
+import com.rookies3.myspringbootlab.entity.Publisher;
+import com.rookies3.myspringbootlab.property.BookCacheProperties;
+import com.rookies3.myspringbootlab.property.CoalescingProperties;
+import com.rookies3.myspringbootlab.service.change.ChangeOutbox;
+import com.rookies3.myspringbootlab.service.coalesce.LoadCoalescer;
+import com.rookies3.myspringbootlab.support.SqlStatementCounter;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({PublisherService.class, BookCacheEvictor.class, ChangeOutbox.class, CacheConfig.class,
+        BookCacheProperties.class, LoadCoalescer.class, CoalescingProperties.class})
+public class PublisherServiceTest {
+
+    @Autowired
+    private PublisherService publisherService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private SqlStatementCounter counter;
+    private int publishers;
+
+    @BeforeEach
+    public void setUp() {
+        counter = SqlStatementCounter.of(entityManagerFactory);
+    }
+
+    @Test
+    public void getAllPublishersReturnsBookCounts() {
+        // Given
+        Publisher hanbit = savePublisher("Hanbit");
+        savePublisher("Empty Press");
+        saveBook(hanbit, "9780132350884");
+        saveBook(hanbit, "9780134494166");
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        List<PublisherDTO.SimpleResponse> publishers = publisherService.getAllPublishers();
+
+        // Then
+        assertThat(publishers).extracting(PublisherDTO.SimpleResponse::getName)
+                .containsExactly("Hanbit", "Empty Press");
+        assertThat(publishers).extracting(PublisherDTO.SimpleResponse::getBookCount)
+                .containsExactly(2L, 0L);
+    }
+
+    @Test
+    public void getAllPublishersStatementCountDoesNotGrowWithPublishers() {
+        counter.expectConstant(1, new int[]{3, 50}, this::createPublishersWithBooks,
+                size -> assertThat(publisherService.getAllPublishers()).hasSize(size));
+    }
+
+    @Test
+    public void getPublishersPageUsesAggregateAndCountQueriesOnly() {
+        // Given
+        createPublishersWithBooks(30);
+
+        // When - 목록 집계 쿼리 + 전체 건수 쿼리
+        Page<PublisherDTO.SimpleResponse> page = counter.expectExactly(2,
+                () -> publisherService.getPublishers(PageRequest.of(1, 10)));
+
+        // Then
+        assertThat(page.getContent()).hasSize(10);
+        assertThat(page.getTotalElements()).isEqualTo(30);
+        assertThat(page.getContent()).allSatisfy(p -> assertThat(p.getBookCount()).isEqualTo(1L));
+    }
+
+    // 도서 한 권씩 가진 출판사가 count 개가 되도록 채운 뒤 영속성 컨텍스트를 비웁니다.
+    private void createPublishersWithBooks(int count) {
+        while (publishers < count) {
+            int i = publishers++;
+            Publisher publisher = savePublisher("Publisher " + i);
+            saveBook(publisher, Isbn.withCheckDigit(String.format("978%09d", i)));
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private Publisher savePublisher(String name) {
+        return entityManager.persist(Publisher.builder()
+                .name(name)
+                .establishedDate(LocalDate.of(2000, 1, 1))
+                .address("Seoul")
+                .build());
+    }
+
+    private void saveBook(Publisher publisher, String isbn) {
+        entityManager.persist(Book.builder()
+                .title("Book " + isbn)
+                .author("Author")
+                .isbn(isbn)
+                .publisher(publisher)
+                .build());
+    }
+}
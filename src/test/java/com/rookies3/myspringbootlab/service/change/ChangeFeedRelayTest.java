@@ -0,0 +1,191 @@
+package com.rookies3.myspringbootlab.service.change;
+
+import com.rookies3.myspringbootlab.controller.ChangeFeedController;
+import com.rookies3.myspringbootlab.entity.ChangeEvent;
+import com.rookies3.myspringbootlab.property.ChangeFeedProperties;
+import com.rookies3.myspringbootlab.repository.ChangeEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * 릴레이가 매기는 피드 오프셋과 구독자 전송을 확인합니다.
+ * relay() 는 스케줄러 대신 테스트가 직접 부르며, 테스트 트랜잭션에 참여하므로 매 테스트 뒤 이벤트는 롤백됩니다.
+ */
+@DataJpaTest
+@Import({ChangeFeedRelay.class, ChangeFeedProperties.class})
+public class ChangeFeedRelayTest {
+
+    private static final Pattern OFFSET = Pattern.compile("\"offset\":(\\d+)");
+    private static final Pattern EVENT_ID = Pattern.compile("(?m)^id:(\\d+)$");
+
+    @Autowired
+    private ChangeFeedRelay relay;
+
+    @Autowired
+    private ChangeFeedProperties properties;
+
+    @Autowired
+    private ChangeEventRepository changeEventRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void setUp() {
+        properties.setBatchSize(2);
+        properties.setHeartbeatInterval(Duration.ofMinutes(1));
+        mockMvc = MockMvcBuilders.standaloneSetup(new ChangeFeedController(relay)).build();
+    }
+
+    @Test
+    public void numbersLateCommittedEventsAboveDeliveredOffsets() {
+        List<Long> ids = record(2);
+        relay.relay();
+        assertThat(offsetsOf(ids)).containsExactly(1L, 2L);
+
+        // 먼저 INSERT 했지만 늦게 커밋된 트랜잭션의 행 - id 는 이미 오프셋을 받은 행들보다 작습니다.
+        long lateId = ids.get(0) - 1;
+        entityManager.getEntityManager().createNativeQuery("""
+                        INSERT INTO change_events (change_event_id, aggregate_type, aggregate_id, change_type, occurred_at)
+                        VALUES (:id, 'BOOK', 99, 'UPDATED', :occurredAt)""")
+                .setParameter("id", lateId)
+                .setParameter("occurredAt", Instant.now())
+                .executeUpdate();
+        relay.relay();
+
+        assertThat(offsetsOf(List.of(lateId))).containsExactly(3L);
+        assertThat(changeEventRepository.findBatchAfter(2L, PageRequest.of(0, 10)))
+                .extracting(ChangeEvent::getId)
+                .containsExactly(lateId);
+    }
+
+    @Test
+    public void resumesWithExactlyTheEventsAfterTheGivenOffset() throws Exception {
+        record(5);
+        relay.relay();
+
+        MockHttpServletResponse response = subscribe("/api/changes?after=2");
+        relay.relay();
+
+        String body = awaitBody(response, content -> content.contains("id:5"));
+        assertThat(matches(OFFSET, body)).containsExactly(3L, 4L, 5L);
+        // batchSize=2 이므로 메시지 두 개로 나뉘고, SSE id 는 각 배치의 마지막 오프셋입니다.
+        assertThat(matches(EVENT_ID, body)).containsExactly(4L, 5L);
+    }
+
+    @Test
+    public void resumesFromLastEventIdHeader() throws Exception {
+        record(3);
+        relay.relay();
+
+        MockHttpServletResponse response = subscribe(get("/api/changes").header("Last-Event-ID", "1"));
+        relay.relay();
+
+        String body = awaitBody(response, content -> content.contains("id:3"));
+        assertThat(matches(OFFSET, body)).containsExactly(2L, 3L);
+    }
+
+    @Test
+    public void sendsOnlyNewEventsToSubscribersWithoutOffset() throws Exception {
+        record(2);
+        relay.relay();
+
+        MockHttpServletResponse response = subscribe("/api/changes");
+        record(1);
+        relay.relay();
+
+        String body = awaitBody(response, content -> content.contains("id:3"));
+        assertThat(matches(OFFSET, body)).containsExactly(3L);
+    }
+
+    @Test
+    public void sendsHeartbeatWhenThereIsNothingNew() throws Exception {
+        properties.setHeartbeatInterval(Duration.ZERO);
+        record(1);
+        relay.relay();
+
+        MockHttpServletResponse response = subscribe("/api/changes?after=1");
+        relay.relay();
+
+        String body = awaitBody(response, content -> content.contains(":heartbeat"));
+        assertThat(matches(OFFSET, body)).isEmpty();
+    }
+
+    private List<Long> record(int count) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ids.add(changeEventRepository.save(ChangeEvent.builder()
+                    .aggregateType(ChangeEvent.AggregateType.BOOK)
+                    .aggregateId((long) i)
+                    .changeType(ChangeEvent.ChangeType.CREATED)
+                    .occurredAt(Instant.now())
+                    .build()).getId());
+        }
+        entityManager.flush();
+        return ids;
+    }
+
+    private List<Long> offsetsOf(List<Long> ids) {
+        entityManager.flush();
+        entityManager.clear();
+        return ids.stream()
+                .map(id -> changeEventRepository.findById(id).orElseThrow().getFeedOffset())
+                .toList();
+    }
+
+    private MockHttpServletResponse subscribe(String uri) throws Exception {
+        return subscribe(get(uri));
+    }
+
+    private MockHttpServletResponse subscribe(RequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return result.getResponse();
+    }
+
+    // 전송은 구독자마다 가상 스레드에서 하고 한 메시지도 나눠 쓰므로, 메시지 끝의 빈 줄까지 기다립니다.
+    private static String awaitBody(MockHttpServletResponse response, Predicate<String> done) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        String content = response.getContentAsString();
+        while (!(done.test(content) && content.endsWith("\n\n")) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            content = response.getContentAsString();
+        }
+        return content;
+    }
+
+    private static List<Long> matches(Pattern pattern, String body) {
+        List<Long> values = new ArrayList<>();
+        Matcher matcher = pattern.matcher(body);
+        while (matcher.find()) {
+            values.add(Long.parseLong(matcher.group(1)));
+        }
+        return values;
+    }
+}
@@ -0,0 +1,150 @@
+package com.rookies3.myspringbootlab.service.coalesce;
+
+import com.rookies3.myspringbootlab.exception.BusinessException;
+import com.rookies3.myspringbootlab.exception.ErrorCode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void runsOneLoadPerKeyForConcurrentCallers() throws Exception {
+        SingleFlight<Long, String> flight = new SingleFlight<>("test", Duration.ofSeconds(5).toNanos());
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = submitAll(() -> flight.load(1L, () -> {
+            loads.incrementAndGet();
+            await(release);
+            return "book-1";
+        }));
+        awaitWaiters(flight, CALLERS - 1);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("book-1");
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(flight.getLoads()).isEqualTo(1);
+        assertThat(flight.getDeduplicated()).isEqualTo(CALLERS - 1);
+        assertThat(flight.getInFlight()).isZero();
+
+        // 끝난 로드는 보관하지 않으므로 다음 호출은 다시 로드합니다.
+        assertThat(flight.load(1L, () -> "book-1 v2")).isEqualTo("book-1 v2");
+    }
+
+    @Test
+    public void givesEveryWaiterTheLeadersFailure() throws Exception {
+        SingleFlight<Long, String> flight = new SingleFlight<>("test", Duration.ofSeconds(5).toNanos());
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = submitAll(() -> flight.load(1L, () -> {
+            await(release);
+            throw new BusinessException(ErrorCode.RESOURCE_NOT_FOUND, "Book", "id", 1L);
+        }));
+        awaitWaiters(flight, CALLERS - 1);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(BusinessException.class)
+                    .hasMessageContaining("Book not found");
+        }
+        assertThat(flight.getInFlight()).isZero();
+    }
+
+    @Test
+    public void stopsWaitingAfterTimeoutAndStartsAFreshLoad() throws Exception {
+        SingleFlight<Long, String> flight = new SingleFlight<>("test", Duration.ofMillis(200).toNanos());
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> stuck = executor.submit(() -> flight.load(1L, () -> {
+            await(release);
+            return "late";
+        }));
+        awaitInFlight(flight);
+
+        assertThatThrownBy(() -> flight.load(1L, () -> "unused"))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("Timed out");
+        assertThat(flight.getTimeouts()).isEqualTo(1);
+
+        // 제한 시간이 지난 로드는 기다리지 않고 새로 로드합니다.
+        assertThat(flight.load(1L, () -> "fresh")).isEqualTo("fresh");
+        release.countDown();
+        assertThat(stuck.get(5, TimeUnit.SECONDS)).isEqualTo("late");
+        assertThat(flight.getLoads()).isEqualTo(2);
+    }
+
+    @Test
+    public void doesNotJoinALoadStartedBeforeAWrite() throws Exception {
+        SingleFlight<Long, String> flight = new SingleFlight<>("test", Duration.ofSeconds(5).toNanos());
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> before = executor.submit(() -> flight.load(1L, 0L, () -> {
+            await(release);
+            return "before write";
+        }));
+        awaitInFlight(flight);
+
+        // 쓰기 커밋으로 generation 이 올라간 뒤의 호출은 진행 중인 이전 로드를 기다리지 않습니다.
+        assertThat(flight.load(1L, 1L, () -> "after write")).isEqualTo("after write");
+        assertThat(flight.getDeduplicated()).isZero();
+        release.countDown();
+        assertThat(before.get(5, TimeUnit.SECONDS)).isEqualTo("before write");
+        assertThat(flight.getLoads()).isEqualTo(2);
+    }
+
+    private List<Future<String>> submitAll(Callable<String> call) {
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(call));
+        }
+        return results;
+    }
+
+    private static void awaitWaiters(SingleFlight<?, ?> flight, int waiters) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (flight.getDeduplicated() < waiters && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static void awaitInFlight(SingleFlight<?, ?> flight) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (flight.getInFlight() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
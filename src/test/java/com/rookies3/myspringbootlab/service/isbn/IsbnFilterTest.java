@@ -0,0 +1,74 @@
+package com.rookies3.myspringbootlab.service.isbn;
+
+import com.rookies3.myspringbootlab.property.IsbnFilterProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IsbnFilterTest {
+
+    private static final long FIRST_KEY = 9780000000000L;
+
+    @Test
+    public void answersMaybeUntilLoadedThenSkipsAbsentKeys() {
+        IsbnFilter filter = new IsbnFilter(properties(10_000, 0.01));
+        filter.add(FIRST_KEY);
+
+        // 적재 전에는 항상 DB 로 확인하게 합니다.
+        assertThat(filter.mightContain(FIRST_KEY + 1)).isTrue();
+
+        filter.markReady();
+        assertThat(filter.mightContain(FIRST_KEY)).isTrue();
+        assertThat(filter.mightContain(FIRST_KEY + 1)).isFalse();
+
+        // 트랜잭션 밖에서는 바로 빠집니다.
+        filter.removeAfterCommit(FIRST_KEY);
+        assertThat(filter.mightContain(FIRST_KEY)).isFalse();
+    }
+
+    @Test
+    public void hasNoFalseNegativesAndStaysNearTargetFalsePositiveRate() {
+        int keys = 100_000;
+        CountingBloomFilter filter = new CountingBloomFilter(keys, 0.01);
+        LongStream.range(0, keys).forEach(i -> filter.add(FIRST_KEY + i * 10));
+
+        assertThat(LongStream.range(0, keys).allMatch(i -> filter.mightContain(FIRST_KEY + i * 10))).isTrue();
+        long falsePositives = LongStream.range(0, keys)
+                .filter(i -> filter.mightContain(FIRST_KEY + i * 10 + 5))
+                .count();
+        assertThat((double) falsePositives / keys).isLessThan(0.02);
+        assertThat(filter.estimatedFalsePositiveRate()).isBetween(0.005, 0.02);
+
+        // 절반을 지워도 남은 키는 계속 "있을 수 있음" 이어야 합니다.
+        LongStream.range(0, keys / 2).forEach(i -> filter.remove(FIRST_KEY + i * 10));
+        assertThat(LongStream.range(keys / 2, keys).allMatch(i -> filter.mightContain(FIRST_KEY + i * 10))).isTrue();
+    }
+
+    @Test
+    public void exposesMemoryAndFalsePositiveMetrics() {
+        IsbnFilter filter = new IsbnFilter(properties(1_000_000, 0.01));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        filter.bindTo(registry);
+        filter.markReady();
+        filter.mightContain(FIRST_KEY);
+        filter.add(FIRST_KEY);
+        filter.mightContain(FIRST_KEY);
+        filter.recordFalsePositive();
+
+        // 1% 목표일 때 카운터 약 9.6M 개 x 4비트
+        assertThat(registry.get("book.isbn.filter.memory").gauge().value()).isBetween(4.5e6, 5.0e6);
+        assertThat(registry.get("book.isbn.filter.checks").tag("result", "absent").functionCounter().count())
+                .isEqualTo(1.0);
+        assertThat(registry.get("book.isbn.filter.fpp.observed").gauge().value()).isEqualTo(0.5);
+    }
+
+    private static IsbnFilterProperties properties(long expectedInsertions, double falsePositiveRate) {
+        IsbnFilterProperties properties = new IsbnFilterProperties();
+        properties.setExpectedInsertions(expectedInsertions);
+        properties.setFalsePositiveRate(falsePositiveRate);
+        return properties;
+    }
+}
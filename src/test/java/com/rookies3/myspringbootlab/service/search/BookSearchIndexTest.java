@@ -0,0 +1,133 @@
+package com.rookies3.myspringbootlab.service.search;
+
+import com.rookies3.myspringbootlab.property.BookSearchProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.text.Normalizer;
+
+import static com.rookies3.myspringbootlab.service.search.BookSearchIndex.Field.AUTHOR;
+import static com.rookies3.myspringbootlab.service.search.BookSearchIndex.Field.TITLE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BookSearchIndexTest {
+
+    private BookSearchIndex index;
+
+    @BeforeEach
+    public void setUp() {
+        index = new BookSearchIndex(new BookSearchProperties());
+        index.startLoading();
+        index.finishLoading();
+    }
+
+    @Test
+    public void ranksExactThenPrefixThenWordStartThenSubstring() {
+        index.put(1L, "myjava", "Kim");
+        index.put(2L, "Learn Java", "Kim");
+        index.put(3L, "Java Programming", "Kim");
+        index.put(4L, "JavaScript", "Kim");
+        index.put(5L, "Java", "Kim");
+        index.put(6L, "Python", "Kim");
+
+        // 같은 접두 일치끼리는 짧은 값이 먼저입니다.
+        assertThat(index.search(TITLE, "java", 0, 10)).containsExactly(5L, 4L, 3L, 2L, 1L);
+        // 페이지는 정렬된 결과를 자릅니다.
+        assertThat(index.search(TITLE, "JAVA", 1, 2)).containsExactly(3L, 2L);
+        assertThat(index.search(TITLE, "java", 3, 2)).isEmpty();
+    }
+
+    @Test
+    public void searchesFieldsSeparately() {
+        index.put(1L, "Spring Boot", "Martin");
+        index.put(2L, "Martin's Garden", "Lee");
+
+        assertThat(index.search(AUTHOR, "martin", 0, 10)).containsExactly(1L);
+        assertThat(index.search(TITLE, "martin", 0, 10)).containsExactly(2L);
+    }
+
+    @Test
+    public void scansAllDocumentsForQueriesShorterThanABigram() {
+        index.put(1L, "Go", "Kim");
+        index.put(2L, "Algorithms", "Kim");
+        index.put(3L, "Rust", "Kim");
+
+        assertThat(index.search(TITLE, "g", 0, 10)).containsExactly(1L, 2L);
+        // 빈 검색어는 모든 문서에 부분 일치합니다.
+        assertThat(index.search(TITLE, "", 0, 10)).containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(index.search(TITLE, "x", 0, 10)).isEmpty();
+    }
+
+    @Test
+    public void removesAndReindexesDocuments() {
+        index.put(1L, "Spring Boot", "Kim");
+        index.put(2L, "Spring Data", "Kim");
+        index.put(3L, "Spring Security", "Kim");
+
+        // posting list 의 첫 원소를 지워도 나머지는 남아 있어야 합니다.
+        index.remove(1L);
+        assertThat(index.search(TITLE, "spring", 0, 10)).containsExactly(2L, 3L);
+        assertThat(index.search(TITLE, "boot", 0, 10)).isEmpty();
+
+        // 같은 id 를 다시 넣으면 이전 제목의 bigram 은 남지 않습니다.
+        index.put(2L, "Hibernate", "Kim");
+        assertThat(index.search(TITLE, "data", 0, 10)).isEmpty();
+        assertThat(index.search(TITLE, "hibernate", 0, 10)).containsExactly(2L);
+        assertThat(index.search(TITLE, "spring", 0, 10)).containsExactly(3L);
+
+        index.put(1L, "Spring Boot", "Kim");
+        assertThat(index.search(TITLE, "spring", 0, 10)).containsExactly(1L, 3L);
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    public void matchesKoreanAndFullWidthTextAfterNfkcNormalization() {
+        // 자모로 분해된(NFD) 한글 제목과 전각 영문 저자
+        index.put(1L, Normalizer.normalize("이것이 자바다", Normalizer.Form.NFD), "ＳＨＩＮ");
+        index.put(2L, "자바의 정석", "남궁성");
+
+        assertThat(index.search(TITLE, "자바", 0, 10)).containsExactly(2L, 1L);
+        assertThat(index.search(TITLE, "자바다", 0, 10)).containsExactly(1L);
+        assertThat(index.search(AUTHOR, "shin", 0, 10)).containsExactly(1L);
+        assertThat(index.search(AUTHOR, "궁", 0, 10)).containsExactly(2L);
+    }
+
+    @Test
+    public void keepsChangesMadeWhileLoading() {
+        BookSearchIndex loading = new BookSearchIndex(new BookSearchProperties());
+        loading.startLoading();
+        assertThat(loading.isReady()).isFalse();
+
+        // 적재 스레드가 읽기 전에 엔티티 리스너가 수정/삭제를 먼저 반영한 경우
+        loading.put(1L, "Spring Boot 3", "Kim");
+        loading.remove(2L);
+
+        loading.load(1L, "Spring Boot 2", "Kim");
+        loading.load(2L, "Deleted Book", "Kim");
+        loading.load(3L, "Spring Data", "Kim");
+        loading.finishLoading();
+
+        assertThat(loading.isReady()).isTrue();
+        assertThat(loading.search(TITLE, "boot 3", 0, 10)).containsExactly(1L);
+        assertThat(loading.search(TITLE, "boot 2", 0, 10)).isEmpty();
+        assertThat(loading.search(TITLE, "deleted", 0, 10)).isEmpty();
+        assertThat(loading.search(TITLE, "spring", 0, 10)).containsExactly(3L, 1L);
+
+        // 적재가 끝난 뒤의 load 는 더 이상 막지 않습니다.
+        loading.load(2L, "Reloaded Book", "Kim");
+        assertThat(loading.search(TITLE, "reloaded", 0, 10)).containsExactly(2L);
+    }
+
+    @Test
+    public void ignoresChangesWhenDisabled() {
+        BookSearchProperties properties = new BookSearchProperties();
+        properties.setIndexEnabled(false);
+        BookSearchIndex disabled = new BookSearchIndex(properties);
+
+        disabled.put(1L, "Spring Boot", "Kim");
+
+        assertThat(disabled.isEnabled()).isFalse();
+        assertThat(disabled.isReady()).isFalse();
+        assertThat(disabled.size()).isZero();
+    }
+}
@@ -0,0 +1,133 @@
+package com.rookies3.myspringbootlab.support;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.IntegralDataTypeHolder;
+import org.hibernate.id.OptimizableGenerator;
+import org.hibernate.id.enhanced.Optimizer;
+import org.hibernate.stat.Statistics;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 호출 한 번에 실행되는 SQL 문 수를 세는 테스트 도우미.
+ * <p>
+ * Hibernate Statistics 의 prepareStatementCount(JDBC PreparedStatement 준비 횟수)를 사용합니다.
+ * SELECT 뿐 아니라 INSERT/UPDATE/DELETE 도 포함되므로, 쓰기 메서드는 측정 구간 안에서 flush 해야
+ * 커밋 시점에 나갈 문장까지 셀 수 있습니다. 통계는 SessionFactory 전역이므로 테스트는 한 스레드에서 실행해야 합니다.
+ * 시퀀스 id 묶음(allocationSize)을 새로 받아 오는 문장은 앞선 테스트가 id 를 얼마나 썼는지에 따라 가끔 끼어들 뿐
+ * 데이터 크기와 무관하므로 빼고 셉니다.
+ *
+ * <pre>
+ * SqlStatementCounter counter = SqlStatementCounter.of(entityManagerFactory);
+ * counter.expectAtMost(2, () -&gt; bookService.getBooksByPublisherId(id));
+ * counter.expectConstant(2, new int[]{1, 10, 50}, this::seedBooks, size -&gt; bookService.getAllBooks());
+ * </pre>
+ */
+public final class SqlStatementCounter {
+
+    private final Statistics statistics;
+    private final List<Optimizer> idOptimizers;
+
+    private SqlStatementCounter(Statistics statistics, List<Optimizer> idOptimizers) {
+        this.statistics = statistics;
+        this.idOptimizers = idOptimizers;
+    }
+
+    public static SqlStatementCounter of(EntityManagerFactory entityManagerFactory) {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        Statistics statistics = sessionFactory.getStatistics();
+        // hibernate.generate_statistics 설정 없이도 사용할 수 있도록 직접 켭니다.
+        statistics.setStatisticsEnabled(true);
+        List<Optimizer> idOptimizers = sessionFactory.getMappingMetamodel().streamEntityDescriptors()
+                .map(descriptor -> descriptor.getGenerator())
+                .filter(generator -> generator instanceof OptimizableGenerator)
+                .map(generator -> ((OptimizableGenerator) generator).getOptimizer())
+                .filter(optimizer -> optimizer.getIncrementSize() > 1)
+                .distinct()
+                .toList();
+        return new SqlStatementCounter(statistics, idOptimizers);
+    }
+
+    public long count(Runnable action) {
+        return measure(() -> {
+            action.run();
+            return null;
+        }).statements;
+    }
+
+    public <T> T expectExactly(long expected, Supplier<T> action) {
+        Result<T> result = measure(action);
+        assertThat(result.statements)
+                .as("SQL statements issued")
+                .isEqualTo(expected);
+        return result.value;
+    }
+
+    public <T> T expectAtMost(long max, Supplier<T> action) {
+        Result<T> result = measure(action);
+        assertThat(result.statements)
+                .as("SQL statements issued")
+                .isLessThanOrEqualTo(max);
+        return result.value;
+    }
+
+    /**
+     * 데이터 크기를 늘려 가며 같은 호출을 측정하고, 모든 크기에서 문장 수가 max 이하이며 서로 같은지 확인합니다.
+     * prepare 는 크기별 데이터를 준비한 뒤 영속성 컨텍스트를 비워야(flush/clear) 합니다.
+     *
+     * @return 크기별 측정값
+     */
+    public Map<Integer, Long> expectConstant(long max, int[] sizes, IntConsumer prepare, IntConsumer action) {
+        Map<Integer, Long> counts = new LinkedHashMap<>();
+        for (int size : sizes) {
+            prepare.accept(size);
+            counts.put(size, count(() -> action.accept(size)));
+        }
+        long first = counts.values().iterator().next();
+        assertThat(counts.values())
+                .as("SQL statements per data size %s", counts)
+                .allSatisfy(count -> assertThat(count).isLessThanOrEqualTo(max))
+                .containsOnly(first);
+        return counts;
+    }
+
+    private <T> Result<T> measure(Supplier<T> action) {
+        long idFetches = idFetches();
+        statistics.clear();
+        T value = action.get();
+        long statements = statistics.getPrepareStatementCount() - (idFetches() - idFetches);
+        return new Result<>(value, statements);
+    }
+
+    // 시퀀스에서 마지막으로 받은 값 / 묶음 크기(올림)의 합 - 늘어난 만큼 시퀀스를 조회한 것입니다.
+    // 처음에는 1 을 받은 뒤 묶음의 끝(51)을 한 번 더 받으므로, 올림해야 두 번으로 셉니다.
+    private long idFetches() {
+        long fetches = 0;
+        for (Optimizer optimizer : idOptimizers) {
+            IntegralDataTypeHolder lastValue = lastSourceValue(optimizer);
+            if (lastValue != null) {
+                fetches += Math.ceilDiv(lastValue.makeValue().longValue(), optimizer.getIncrementSize());
+            }
+        }
+        return fetches;
+    }
+
+    private static IntegralDataTypeHolder lastSourceValue(Optimizer optimizer) {
+        try {
+            return optimizer.getLastSourceValue();
+        } catch (IllegalStateException e) {
+            // 아직 한 번도 시퀀스를 조회하지 않았습니다.
+            return null;
+        }
+    }
+
+    private record Result<T>(T value, long statements) {
+    }
+}